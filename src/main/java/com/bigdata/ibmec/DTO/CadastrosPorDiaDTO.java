@@ -0,0 +1,17 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Cadastros de um dia; dias sem cadastro não aparecem
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CadastrosPorDiaDTO {
+
+    private LocalDate dia;
+    private Long quantidade;
+}
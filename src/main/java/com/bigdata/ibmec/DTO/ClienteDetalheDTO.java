@@ -0,0 +1,50 @@
+package com.bigdata.ibmec.DTO;
+
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Cópia imutável do cliente com endereços, na forma do JSON da entidade: é o que fica no cache de
+// buscarClientePorId, no lugar da entidade, que poderia ser alterada por quem a recebeu
+// A versão permite ao cache recusar uma cópia mais antiga que a já guardada (ver CacheClientes)
+@Value
+public class ClienteDetalheDTO {
+
+    Long id;
+    Long versao;
+    String nome;
+    String email;
+    String cpf;
+    LocalDate dataNascimento;
+    String telefone;
+    LocalDateTime dataCadastro;
+    List<EnderecoDetalhe> enderecos;
+
+    public static ClienteDetalheDTO de(Cliente cliente) {
+        return new ClienteDetalheDTO(cliente.getId(), cliente.getVersao(), cliente.getNome(), cliente.getEmail(),
+                cliente.getCpf(), cliente.getDataNascimento(), cliente.getTelefone(), cliente.getDataCadastro(),
+                cliente.getEnderecos().stream().map(EnderecoDetalhe::de).toList());
+    }
+
+    @Value
+    public static class EnderecoDetalhe {
+
+        Long id;
+        Long versao;
+        String rua;
+        String numero;
+        String bairro;
+        String cidade;
+        String estado;
+        String cep;
+
+        static EnderecoDetalhe de(Endereco endereco) {
+            return new EnderecoDetalhe(endereco.getId(), endereco.getVersao(), endereco.getRua(), endereco.getNumero(),
+                    endereco.getBairro(), endereco.getCidade(), endereco.getEstado(), endereco.getCep());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.bigdata.ibmec.DTO;
+
+import com.bigdata.ibmec.model.Cliente;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Uma linha do arquivo de exportação: o cliente e todos os seus endereços
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteExportacaoDTO {
+
+    private Long id;
+    private String nome;
+    private String email;
+    private String cpf;
+    private LocalDate dataNascimento;
+    private String telefone;
+    private List<EnderecoResumoDTO> enderecos;
+
+    public static ClienteExportacaoDTO de(Cliente cliente, List<EnderecoResumoDTO> enderecos) {
+        return new ClienteExportacaoDTO(cliente.getId(), cliente.getNome(), cliente.getEmail(), cliente.getCpf(),
+                cliente.getDataNascimento(), cliente.getTelefone(), enderecos);
+    }
+}
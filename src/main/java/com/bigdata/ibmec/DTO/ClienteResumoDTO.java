@@ -0,0 +1,22 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Projeção somente leitura do cliente, sem endereços (apenas a quantidade)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteResumoDTO {
+
+    private Long id;
+    private String nome;
+    private String email;
+    private String cpf;
+    private LocalDate dataNascimento;
+    private String telefone;
+    private Long quantidadeEnderecos;
+}
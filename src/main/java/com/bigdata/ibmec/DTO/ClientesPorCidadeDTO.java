@@ -0,0 +1,16 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Linha do relatório por cidade (a cidade é identificada junto com o estado)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientesPorCidadeDTO {
+
+    private String estado;
+    private String cidade;
+    private Long quantidade;
+}
@@ -0,0 +1,15 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Linha do relatório por estado: clientes distintos com endereço no estado
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientesPorEstadoDTO {
+
+    private String estado;
+    private Long quantidade;
+}
@@ -0,0 +1,21 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Projeção somente leitura do endereço, com o id do cliente em vez da entidade
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnderecoResumoDTO {
+
+    private Long id;
+    private String rua;
+    private String numero;
+    private String bairro;
+    private String cidade;
+    private String estado;
+    private String cep;
+    private Long clienteId;
+}
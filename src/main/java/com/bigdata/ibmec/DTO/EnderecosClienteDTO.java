@@ -0,0 +1,18 @@
+package com.bigdata.ibmec.DTO;
+
+import com.bigdata.ibmec.model.Endereco;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Endereços de um cliente junto com a versão do cliente lida no mesmo carregamento (o ETag da lista)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnderecosClienteDTO {
+
+    private Long versaoCliente;
+    private List<Endereco> enderecos;
+}
@@ -0,0 +1,21 @@
+package com.bigdata.ibmec.DTO;
+
+import com.bigdata.ibmec.model.Endereco;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+// Corpo das operações em lote de endereços; o limite mantém cada lote em uma transação curta
+@Data
+public class EnderecosLoteDTO {
+
+    public static final int TAMANHO_MAXIMO = 500;
+
+    @NotEmpty(message = "Lote deve conter ao menos um endereço")
+    @Size(max = TAMANHO_MAXIMO, message = "Lote deve conter no máximo " + TAMANHO_MAXIMO + " endereços")
+    @Valid
+    private List<Endereco> enderecos;
+}
@@ -0,0 +1,15 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Barra do histograma de idades: faixa (ex.: "25-34", "60+") e quantidade de clientes
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaixaEtariaDTO {
+
+    private String faixa;
+    private Long quantidade;
+}
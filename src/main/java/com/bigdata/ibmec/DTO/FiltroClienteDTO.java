@@ -0,0 +1,29 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Filtros opcionais da busca de clientes; campos nulos ou vazios são ignorados
+@Data
+public class FiltroClienteDTO {
+
+    // Prefixo do nome (usa o índice de nome com LIKE 'prefixo%')
+    private String nome;
+
+    private String email;
+
+    private String cpf;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate nascidoDe;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate nascidoAte;
+
+    // Filtros pelo endereço do cliente
+    private String cidade;
+
+    private String estado;
+}
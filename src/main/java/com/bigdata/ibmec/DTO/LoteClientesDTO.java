@@ -0,0 +1,18 @@
+package com.bigdata.ibmec.DTO;
+
+import com.bigdata.ibmec.model.Cliente;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Resposta da busca de vários clientes por id: encontrados na ordem pedida e os ids que não existem
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteClientesDTO {
+
+    private List<Cliente> clientes;
+    private List<Long> naoEncontrados;
+}
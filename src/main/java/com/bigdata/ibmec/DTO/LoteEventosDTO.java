@@ -0,0 +1,18 @@
+package com.bigdata.ibmec.DTO;
+
+import com.bigdata.ibmec.model.EventoCliente;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Trecho do fluxo de /eventos; a próxima chamada continua de proximaPosicao (igual à recebida se veio vazio)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteEventosDTO {
+
+    private List<EventoCliente> eventos;
+    private Long proximaPosicao;
+}
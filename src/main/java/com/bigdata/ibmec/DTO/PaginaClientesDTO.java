@@ -0,0 +1,19 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Página da listagem por cursor; T é Cliente ou ClienteResumoDTO, conforme a visão pedida
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaClientesDTO<T> {
+
+    private List<T> clientes;
+
+    // Token opaco para buscar a próxima página (null quando não há mais registros)
+    private String proximoCursor;
+}
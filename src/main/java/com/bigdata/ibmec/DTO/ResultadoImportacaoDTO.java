@@ -0,0 +1,27 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ResultadoImportacaoDTO {
+
+    private int totalProcessados;
+    private int totalImportados;
+    private int totalRejeitados;
+
+    // Resultado individual de cada linha recebida, na ordem do arquivo
+    private List<ResultadoRegistroDTO> registros = new ArrayList<>();
+
+    public void adicionar(ResultadoRegistroDTO registro) {
+        registros.add(registro);
+        totalProcessados++;
+        if (registro.isImportado()) {
+            totalImportados++;
+        } else {
+            totalRejeitados++;
+        }
+    }
+}
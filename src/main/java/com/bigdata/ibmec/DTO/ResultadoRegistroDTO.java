@@ -0,0 +1,26 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoRegistroDTO {
+
+    private int linha;
+    private boolean importado;
+    private Long clienteId;
+    private List<String> erros;
+
+    public static ResultadoRegistroDTO importado(int linha, Long clienteId) {
+        return new ResultadoRegistroDTO(linha, true, clienteId, List.of());
+    }
+
+    public static ResultadoRegistroDTO rejeitado(int linha, List<String> erros) {
+        return new ResultadoRegistroDTO(linha, false, null, erros);
+    }
+}
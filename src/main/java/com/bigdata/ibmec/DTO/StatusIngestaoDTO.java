@@ -0,0 +1,36 @@
+package com.bigdata.ibmec.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusIngestaoDTO {
+
+    public enum Situacao {
+        PENDENTE,
+        GRAVADO,
+        REJEITADO
+    }
+
+    private UUID id;
+    private Situacao situacao;
+    private Long clienteId;
+    private String erro;
+
+    public static StatusIngestaoDTO pendente(UUID id) {
+        return new StatusIngestaoDTO(id, Situacao.PENDENTE, null, null);
+    }
+
+    public static StatusIngestaoDTO gravado(UUID id, Long clienteId) {
+        return new StatusIngestaoDTO(id, Situacao.GRAVADO, clienteId, null);
+    }
+
+    public static StatusIngestaoDTO rejeitado(UUID id, String erro) {
+        return new StatusIngestaoDTO(id, Situacao.REJEITADO, null, erro);
+    }
+}
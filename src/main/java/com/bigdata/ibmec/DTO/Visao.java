@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.DTO;
+
+// Formato da resposta das listagens: entidade completa ou projeção enxuta montada direto no SQL
+public enum Visao {
+    COMPLETA,
+    RESUMO
+}
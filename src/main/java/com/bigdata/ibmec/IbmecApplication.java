@@ -2,8 +2,15 @@ package com.bigdata.ibmec;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
-@SpringBootApplication
+// O R2DBC no classpath é da API reativa (com.bigdata.reativo); aqui ele desligaria o DataSource do JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+// Ordem dos proxies nos serviços: cache por fora, depois a coalescência de leituras (LeiturasCoalescidas)
+// e por último a transação; acerto de cache não passa pelas outras duas e quem espera não abre transação
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class IbmecApplication {
 
 	public static void main(String[] args) {
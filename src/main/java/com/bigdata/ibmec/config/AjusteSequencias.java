@@ -0,0 +1,80 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.List;
+
+// Ids de cliente e endereço vêm de cliente_seq/endereco_seq; numa base que já existia com IDENTITY o ddl-auto
+// cria essas sequências começando em 1 e os inserts novos colidiriam com as chaves existentes
+// Na subida (antes de qualquer insert), cada sequência é levada para além do maior id da tabela; só avança,
+// então rodar de novo ou em várias instâncias ao mesmo tempo não muda nada
+@Component
+public class AjusteSequencias {
+
+    private static final Logger log = LoggerFactory.getLogger(AjusteSequencias.class);
+
+    // Nome e tamanho do bloco lidos do próprio @SequenceGenerator, para não divergirem do mapeamento
+    private static final List<Sequencia> SEQUENCIAS = List.of(
+            Sequencia.de(Cliente.class, "cliente"),
+            Sequencia.de(Endereco.class, "endereco"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialeto;
+
+    public AjusteSequencias(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialeto = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    // O otimizador pooled usa o bloco (valor - alocação, valor]: o próximo valor precisa ser ao menos maior id + alocação
+    @PostConstruct
+    void ajustar() {
+        for (Sequencia sequencia : SEQUENCIAS) {
+            long maiorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + sequencia.tabela(), Long.class);
+            if (maiorId == 0) {
+                continue;
+            }
+            long minimo = maiorId + sequencia.alocacao();
+            if (dialeto.getSequenceSupport().supportsSequences()) {
+                ajustarSequencia(sequencia.nome(), sequencia.alocacao(), minimo);
+            } else {
+                ajustarTabela(sequencia.nome(), minimo);
+            }
+        }
+    }
+
+    // Sequência de verdade (H2, PostgreSQL, MariaDB): ler o valor atual consome um bloco, o que é inofensivo
+    void ajustarSequencia(String nome, int alocacao, long minimo) {
+        long consumido = jdbcTemplate.queryForObject(dialeto.getSequenceSupport().getSequenceNextValString(nome), Long.class);
+        if (consumido + alocacao < minimo) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + nome + " RESTART WITH " + minimo);
+            log.info("Sequência {} reiniciada em {} para ficar acima dos ids existentes", nome, minimo);
+        }
+    }
+
+    // MySQL não tem sequência: o Hibernate emula com uma tabela de uma linha (next_val = próximo valor entregue)
+    void ajustarTabela(String nome, long minimo) {
+        if (jdbcTemplate.update("UPDATE " + nome + " SET next_val = ? WHERE next_val < ?", minimo, minimo) > 0) {
+            log.info("Tabela de sequência {} avançada para {} para ficar acima dos ids existentes", nome, minimo);
+        }
+    }
+
+    private record Sequencia(String nome, String tabela, int alocacao) {
+
+        static Sequencia de(Class<?> entidade, String tabela) {
+            SequenceGenerator gerador = ReflectionUtils.findField(entidade, "id").getAnnotation(SequenceGenerator.class);
+            return new Sequencia(gerador.sequenceName(), tabela, gerador.allocationSize());
+        }
+    }
+}
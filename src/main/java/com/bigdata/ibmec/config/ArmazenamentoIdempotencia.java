@@ -0,0 +1,20 @@
+package com.bigdata.ibmec.config;
+
+import java.util.Optional;
+
+// Onde ficam as respostas das requisições com Idempotency-Key (ibmec.idempotencia.armazenamento=memoria ou jdbc)
+// Requisições simultâneas com a mesma chave na mesma instância já são unificadas pelo IdempotenciaFilter;
+// a reserva serve para o caso de várias instâncias compartilharem o armazenamento
+public interface ArmazenamentoIdempotencia {
+
+    // Resposta já concluída e ainda dentro do TTL
+    Optional<RespostaIdempotente> buscar(String chave);
+
+    // Marca a chave como em execução; false quando outra instância já a reservou
+    boolean reservar(String chave, String impressao);
+
+    void gravar(String chave, RespostaIdempotente resposta);
+
+    // Desfaz a reserva de uma execução cuja resposta não deve ser repetida (ex.: erro 5xx)
+    void liberar(String chave);
+}
@@ -0,0 +1,91 @@
+package com.bigdata.ibmec.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Respostas na tabela idempotencia, compartilhada entre as instâncias (ibmec.idempotencia.armazenamento=jdbc)
+// A chave primária faz a reserva: só uma instância consegue inserir a linha de uma chave
+@Component
+@ConditionalOnProperty(name = "ibmec.idempotencia.armazenamento", havingValue = "jdbc")
+public class ArmazenamentoIdempotenciaJdbc implements ArmazenamentoIdempotencia {
+
+    // Fora do ddl-auto do Hibernate, que só conhece as entidades; o mesmo DDL serve para MySQL e H2
+    private static final String CRIAR_TABELA = "CREATE TABLE IF NOT EXISTS idempotencia ("
+            + "chave VARCHAR(255) PRIMARY KEY, "
+            + "impressao VARCHAR(64) NOT NULL, "
+            + "status INT, "
+            + "content_type VARCHAR(255), "
+            + "etag VARCHAR(255), "
+            + "location VARCHAR(1024), "
+            + "corpo BLOB, "
+            + "expira_em BIGINT NOT NULL)";
+
+    // Intervalo mínimo entre as limpezas das linhas expiradas, feitas junto com as reservas
+    private static final long INTERVALO_LIMPEZA_MS = 60_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMs;
+    private final long reservaMs;
+    private final AtomicLong proximaLimpeza = new AtomicLong();
+
+    public ArmazenamentoIdempotenciaJdbc(JdbcTemplate jdbcTemplate,
+                                         @Value("${ibmec.idempotencia.ttl:24h}") Duration ttl,
+                                         @Value("${ibmec.idempotencia.reserva:1m}") Duration reserva) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMs = ttl.toMillis();
+        this.reservaMs = reserva.toMillis();
+        jdbcTemplate.execute(CRIAR_TABELA);
+    }
+
+    @Override
+    public Optional<RespostaIdempotente> buscar(String chave) {
+        return jdbcTemplate.query("SELECT impressao, status, content_type, etag, location, corpo FROM idempotencia "
+                        + "WHERE chave = ? AND status IS NOT NULL AND expira_em > ?",
+                (rs, linha) -> new RespostaIdempotente(rs.getString("impressao"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getString("etag"), rs.getString("location"), rs.getBytes("corpo")),
+                chave, System.currentTimeMillis()).stream().findFirst();
+    }
+
+    // A reserva expira sozinha em ibmec.idempotencia.reserva, caso a instância que a fez caia no meio da execução
+    @Override
+    public boolean reservar(String chave, String impressao) {
+        long agora = System.currentTimeMillis();
+        limparExpiradas(agora);
+        jdbcTemplate.update("DELETE FROM idempotencia WHERE chave = ? AND expira_em <= ?", chave, agora);
+        try {
+            jdbcTemplate.update("INSERT INTO idempotencia (chave, impressao, expira_em) VALUES (?, ?, ?)",
+                    chave, impressao, agora + reservaMs);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void gravar(String chave, RespostaIdempotente resposta) {
+        jdbcTemplate.update("UPDATE idempotencia SET status = ?, content_type = ?, etag = ?, location = ?, corpo = ?, "
+                        + "expira_em = ? WHERE chave = ?",
+                resposta.status(), resposta.contentType(), resposta.etag(), resposta.location(), resposta.corpo(),
+                System.currentTimeMillis() + ttlMs, chave);
+    }
+
+    @Override
+    public void liberar(String chave) {
+        jdbcTemplate.update("DELETE FROM idempotencia WHERE chave = ? AND status IS NULL", chave);
+    }
+
+    // Mantém a tabela limitada ao que ainda está no TTL, no máximo uma vez por INTERVALO_LIMPEZA_MS
+    private void limparExpiradas(long agora) {
+        long prevista = proximaLimpeza.get();
+        if (agora >= prevista && proximaLimpeza.compareAndSet(prevista, agora + INTERVALO_LIMPEZA_MS)) {
+            jdbcTemplate.update("DELETE FROM idempotencia WHERE expira_em <= ?", agora);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bigdata.ibmec.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Padrão: respostas em um cache Caffeine limitado pelo tamanho somado dos corpos e expirado pelo TTL
+// Vale só para uma instância; com várias atrás de um balanceador, use o armazenamento jdbc
+@Component
+@ConditionalOnProperty(name = "ibmec.idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+public class ArmazenamentoIdempotenciaMemoria implements ArmazenamentoIdempotencia {
+
+    // Estimativa do que cada entrada ocupa além do corpo (chave, impressão e cabeçalhos)
+    private static final int CUSTO_FIXO_ENTRADA = 512;
+
+    private final Cache<String, RespostaIdempotente> respostas;
+
+    public ArmazenamentoIdempotenciaMemoria(@Value("${ibmec.idempotencia.ttl:24h}") Duration ttl,
+                                            @Value("${ibmec.idempotencia.memoria-maxima:64MB}") DataSize memoriaMaxima) {
+        this.respostas = Caffeine.newBuilder()
+                .maximumWeight(memoriaMaxima.toBytes())
+                .weigher((String chave, RespostaIdempotente resposta) -> CUSTO_FIXO_ENTRADA + resposta.corpo().length)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<RespostaIdempotente> buscar(String chave) {
+        return Optional.ofNullable(respostas.getIfPresent(chave));
+    }
+
+    @Override
+    public boolean reservar(String chave, String impressao) {
+        // Numa instância só, o filtro já garante uma execução por chave
+        return true;
+    }
+
+    @Override
+    public void gravar(String chave, RespostaIdempotente resposta) {
+        respostas.put(chave, resposta);
+    }
+
+    @Override
+    public void liberar(String chave) {
+        // Nada foi guardado antes da resposta
+    }
+}
@@ -0,0 +1,22 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.service.CacheClientes;
+import com.bigdata.ibmec.service.ClienteCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClienteCacheConfig {
+
+    // Mesma configuração (spring.cache.caffeine.spec) dos demais caches, com a troca por versão do CacheClientes
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> clienteCacheCustomizer(
+            @Value("${spring.cache.caffeine.spec:}") String spec) {
+        return cacheManager -> cacheManager.registerCustomCache(ClienteCache.NOME,
+                new CacheClientes((spec.isBlank() ? Caffeine.newBuilder() : Caffeine.from(spec)).build()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.bigdata.ibmec.config;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Conta os comandos SQL executados pela thread de uma requisição; fora de requisições (trabalhadores
+// da ingestão, aquecimento do índice) não há contador aberto e nada é contado
+// Alimentado pelo ContagemSqlDataSource, que vê tanto o Hibernate quanto o JdbcTemplate
+// Consultas atendidas pelo cache de segundo nível não chegam aqui, que é justamente o que se quer medir
+public class ContadorComandosSql {
+
+    private static final ThreadLocal<Requisicao> ATUAL = new ThreadLocal<>();
+
+    // Abre um contador zerado para a thread atual
+    public void iniciar() {
+        ATUAL.set(new Requisicao());
+    }
+
+    // Fecha o contador da thread atual e devolve o que foi executado nela
+    public Requisicao encerrar() {
+        Requisicao requisicao = ATUAL.get();
+        ATUAL.remove();
+        return requisicao == null ? new Requisicao() : requisicao;
+    }
+
+    // Chamados pelo ContagemSqlDataSource a cada comando preparado ou SQL avulso
+    static void registrarComando(String sql) {
+        Requisicao requisicao = ATUAL.get();
+        if (requisicao != null) {
+            requisicao.registrar(sql);
+        }
+    }
+
+    // e em volta de cada execução (comando ou lote)
+    static void inicioExecucao() {
+        Requisicao requisicao = ATUAL.get();
+        if (requisicao != null) {
+            requisicao.inicioExecucao = System.nanoTime();
+        }
+    }
+
+    static void fimExecucao() {
+        Requisicao requisicao = ATUAL.get();
+        if (requisicao != null && requisicao.inicioExecucao != 0) {
+            requisicao.nanosJdbc += System.nanoTime() - requisicao.inicioExecucao;
+            requisicao.inicioExecucao = 0;
+        }
+    }
+
+    // SQL de uma requisição: total de comandos, tempo de execução JDBC e quantas vezes cada comando apareceu
+    public static class Requisicao {
+
+        // Comandos distintos guardados para o log; depois disso só o total continua crescendo
+        static final int LIMITE_COMANDOS_DISTINTOS = 50;
+
+        private final Map<String, Integer> vezesPorComando = new LinkedHashMap<>();
+        private int comandos;
+        private long nanosJdbc;
+        private long inicioExecucao;
+
+        private void registrar(String sql) {
+            comandos++;
+            if (vezesPorComando.size() < LIMITE_COMANDOS_DISTINTOS || vezesPorComando.containsKey(sql)) {
+                vezesPorComando.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public int getComandos() {
+            return comandos;
+        }
+
+        public long getNanosJdbc() {
+            return nanosJdbc;
+        }
+
+        // Comandos mais repetidos primeiro: um N+1 aparece como o mesmo select dezenas de vezes
+        public String descreverComandos() {
+            return vezesPorComando.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                    .map(entrada -> "  " + entrada.getValue() + "x " + entrada.getKey())
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bigdata.ibmec.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Envolve o DataSource da aplicação para que o ContadorComandosSql veja todo comando SQL, do Hibernate
+// e do JdbcTemplate (outbox de eventos, idempotência, ajuste de sequências): conta cada comando preparado
+// (um lote conta uma vez) e cada SQL avulso de um Statement, e mede o tempo de cada execução
+// Fica só em volta do bean dataSource, o mais externo: com roteamento ele é o LazyConnectionDataSourceProxy,
+// e os pools do primário e das réplicas por baixo dele não são envolvidos, então nada é contado duas vezes
+public class ContagemSqlDataSource extends DelegatingDataSource implements Closeable {
+
+    public ContagemSqlDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(obtainTargetDataSource().getConnection(), Connection.class, null);
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        return envolver(obtainTargetDataSource().getConnection(usuario, senha), Connection.class, null);
+    }
+
+    // O bean passa a ser este objeto: o close inferido pelo Spring no desligamento precisa chegar ao pool
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable pool) {
+            pool.close();
+        }
+    }
+
+    // Connection: registra o SQL ao preparar; Statement: registra o SQL avulso e mede cada execução
+    @SuppressWarnings("unchecked")
+    private static <T> T envolver(T alvo, Class<T> tipo, String sqlPreparado) {
+        return (T) Proxy.newProxyInstance(ContagemSqlDataSource.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, argumentos) -> {
+                    String nome = metodo.getName();
+                    if (alvo instanceof Connection) {
+                        Object resultado = invocar(alvo, metodo, argumentos);
+                        if (resultado instanceof CallableStatement comando) {
+                            ContadorComandosSql.registrarComando((String) argumentos[0]);
+                            return envolver(comando, CallableStatement.class, (String) argumentos[0]);
+                        }
+                        if (resultado instanceof PreparedStatement comando) {
+                            ContadorComandosSql.registrarComando((String) argumentos[0]);
+                            return envolver(comando, PreparedStatement.class, (String) argumentos[0]);
+                        }
+                        if (resultado instanceof Statement comando) {
+                            return envolver(comando, Statement.class, null);
+                        }
+                        return resultado;
+                    }
+                    if (sqlPreparado == null && argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String sql
+                            && (nome.startsWith("execute") || nome.equals("addBatch"))) {
+                        ContadorComandosSql.registrarComando(sql);
+                    }
+                    if (!nome.startsWith("execute")) {
+                        return invocar(alvo, metodo, argumentos);
+                    }
+                    ContadorComandosSql.inicioExecucao();
+                    try {
+                        return invocar(alvo, metodo, argumentos);
+                    } finally {
+                        ContadorComandosSql.fimExecucao();
+                    }
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
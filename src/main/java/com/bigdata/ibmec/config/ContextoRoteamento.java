@@ -0,0 +1,23 @@
+package com.bigdata.ibmec.config;
+
+// Guarda, por thread, o instante da última escrita vista pelo cliente atual (leitura após escrita)
+public final class ContextoRoteamento {
+
+    private static final ThreadLocal<Long> ULTIMA_ESCRITA = new ThreadLocal<>();
+
+    private ContextoRoteamento() {
+    }
+
+    public static void registrarEscrita(long instanteMs) {
+        ULTIMA_ESCRITA.set(instanteMs);
+    }
+
+    public static boolean escritaRecente(long janelaMs) {
+        Long ultimaEscrita = ULTIMA_ESCRITA.get();
+        return ultimaEscrita != null && System.currentTimeMillis() - ultimaEscrita < janelaMs;
+    }
+
+    public static void limpar() {
+        ULTIMA_ESCRITA.remove();
+    }
+}
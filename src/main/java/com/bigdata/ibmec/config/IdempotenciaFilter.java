@@ -0,0 +1,261 @@
+package com.bigdata.ibmec.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+// Idempotency-Key nos cadastros (POST /clientes e POST /enderecos/cliente/{id}): a repetição de uma requisição
+// recebe a resposta guardada sem passar pelo controller, e as repetições simultâneas esperam a primeira terminar
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO_CHAVE = "Idempotency-Key";
+
+    // Presente nas respostas devolvidas do armazenamento
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private static final Pattern ROTAS = Pattern.compile("/clientes|/enderecos/cliente/\\d+");
+
+    private final ArmazenamentoIdempotencia armazenamento;
+    private final long esperaMaximaMs;
+    private final long tamanhoMaximoResposta;
+
+    // Uma execução por chave nesta instância; quem chega depois espera o resultado dela
+    private final ConcurrentMap<String, CompletableFuture<RespostaIdempotente>> execucoes = new ConcurrentHashMap<>();
+
+    public IdempotenciaFilter(ArmazenamentoIdempotencia armazenamento,
+                              @Value("${ibmec.idempotencia.espera-maxima:10s}") Duration esperaMaxima,
+                              @Value("${ibmec.idempotencia.tamanho-maximo-resposta:64KB}") DataSize tamanhoMaximoResposta) {
+        this.armazenamento = armazenamento;
+        this.esperaMaximaMs = esperaMaxima.toMillis();
+        this.tamanhoMaximoResposta = tamanhoMaximoResposta.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(CABECALHO_CHAVE) == null
+                || !ROTAS.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String chave = request.getHeader(CABECALHO_CHAVE);
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            responderErro(response, HttpStatus.BAD_REQUEST,
+                    CABECALHO_CHAVE + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+
+        // O corpo é lido uma vez: entra na impressão e depois é entregue ao controller
+        byte[] corpo = request.getInputStream().readAllBytes();
+        String impressao = impressao(request, corpo);
+        HttpServletRequest requisicao = new RequisicaoComCorpo(request, corpo);
+
+        while (true) {
+            Optional<RespostaIdempotente> guardada = armazenamento.buscar(chave);
+            if (guardada.isPresent()) {
+                responder(guardada.get(), impressao, response);
+                return;
+            }
+
+            CompletableFuture<RespostaIdempotente> execucao = new CompletableFuture<>();
+            CompletableFuture<RespostaIdempotente> emAndamento = execucoes.putIfAbsent(chave, execucao);
+            if (emAndamento == null) {
+                executar(chave, impressao, requisicao, response, filterChain, execucao);
+                return;
+            }
+
+            RespostaIdempotente resultado;
+            try {
+                resultado = emAndamento.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                responderEmAndamento(response);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                responderEmAndamento(response);
+                return;
+            }
+            if (resultado != null) {
+                responder(resultado, impressao, response);
+                return;
+            }
+            // A execução anterior terminou sem resposta reaproveitável (ex.: 5xx): esta tenta de novo
+        }
+    }
+
+    private void executar(String chave, String impressao, HttpServletRequest requisicao, HttpServletResponse response,
+                          FilterChain filterChain, CompletableFuture<RespostaIdempotente> execucao)
+            throws ServletException, IOException {
+        RespostaIdempotente resposta = null;
+        try {
+            if (!armazenamento.reservar(chave, impressao)) {
+                // Outra instância está executando (ou acabou de concluir) a mesma chave
+                Optional<RespostaIdempotente> concluida = armazenamento.buscar(chave);
+                if (concluida.isPresent()) {
+                    resposta = concluida.get();
+                    responder(resposta, impressao, response);
+                } else {
+                    responderEmAndamento(response);
+                }
+                return;
+            }
+
+            ContentCachingResponseWrapper respostaEmCache = new ContentCachingResponseWrapper(response);
+            try {
+                filterChain.doFilter(requisicao, respostaEmCache);
+                RespostaIdempotente gerada = new RespostaIdempotente(impressao, respostaEmCache.getStatus(),
+                        respostaEmCache.getContentType(), respostaEmCache.getHeader(HttpHeaders.ETAG),
+                        respostaEmCache.getHeader(HttpHeaders.LOCATION), respostaEmCache.getContentAsByteArray());
+                if (reaproveitavel(gerada)) {
+                    armazenamento.gravar(chave, gerada);
+                    resposta = gerada;
+                } else {
+                    armazenamento.liberar(chave);
+                }
+            } catch (ServletException | IOException | RuntimeException e) {
+                armazenamento.liberar(chave);
+                throw e;
+            } finally {
+                respostaEmCache.copyBodyToResponse();
+            }
+        } finally {
+            execucoes.remove(chave, execucao);
+            execucao.complete(resposta);
+        }
+    }
+
+    // Repete sucessos e erros do cliente da API (400, 409...); erros do servidor e 429 podem dar certo na próxima tentativa
+    private boolean reaproveitavel(RespostaIdempotente resposta) {
+        return resposta.status() < 500
+                && resposta.status() != HttpStatus.TOO_MANY_REQUESTS.value()
+                && resposta.corpo().length <= tamanhoMaximoResposta;
+    }
+
+    private void responder(RespostaIdempotente resposta, String impressao, HttpServletResponse response) throws IOException {
+        // Mesma chave com outra requisição é erro do cliente da API, não uma repetição
+        if (!resposta.impressao().equals(impressao)) {
+            responderErro(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    CABECALHO_CHAVE + " já usada com outra requisição");
+            return;
+        }
+
+        response.setStatus(resposta.status());
+        response.setHeader(CABECALHO_REPETIDA, "true");
+        if (resposta.contentType() != null) {
+            response.setContentType(resposta.contentType());
+        }
+        if (resposta.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, resposta.etag());
+        }
+        if (resposta.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, resposta.location());
+        }
+        response.setContentLength(resposta.corpo().length);
+        response.getOutputStream().write(resposta.corpo());
+    }
+
+    private void responderEmAndamento(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        responderErro(response, HttpStatus.CONFLICT, "Requisição com esta " + CABECALHO_CHAVE + " ainda em execução");
+    }
+
+    private void responderErro(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(mensagem);
+    }
+
+    // SHA-256 de método, caminho e corpo
+    private static String impressao(HttpServletRequest request, byte[] corpo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(corpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Entrega ao resto da cadeia o corpo já lido pelo filtro
+    private static class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        RequisicaoComCorpo(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
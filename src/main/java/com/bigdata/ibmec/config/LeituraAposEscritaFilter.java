@@ -0,0 +1,36 @@
+package com.bigdata.ibmec.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Restaura, a partir do cookie, a última escrita do cliente para que as leituras logo após ela vão ao primário
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (RoteamentoDataSource.COOKIE_ULTIMA_ESCRITA.equals(cookie.getName())) {
+                    try {
+                        ContextoRoteamento.registrarEscrita(Long.parseLong(cookie.getValue()));
+                    } catch (NumberFormatException e) {
+                        // Cookie adulterado: ignora e segue com o roteamento normal
+                    }
+                }
+            }
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContextoRoteamento.limpar();
+        }
+    }
+}
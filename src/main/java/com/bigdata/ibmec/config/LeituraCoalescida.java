@@ -0,0 +1,18 @@
+package com.bigdata.ibmec.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Leitura por id em que chamadas simultâneas com o mesmo id (primeiro argumento) dividem uma única
+// execução; ver LeiturasCoalescidas
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LeituraCoalescida {
+
+    // Nome da operação, usado na chave e na tag "operacao" da métrica
+    String value();
+}
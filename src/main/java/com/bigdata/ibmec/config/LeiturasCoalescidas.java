@@ -0,0 +1,100 @@
+package com.bigdata.ibmec.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+// Single-flight dos métodos com @LeituraCoalescida: enquanto uma chamada carrega um id, as demais com o
+// mesmo id esperam o resultado dela (ou a mesma exceção) em vez de ir ao banco
+// Fica por fora da transação (ver ordem em IbmecApplication): quem espera não segura conexão do pool
+// A espera é um CompletableFuture, que estaciona threads virtuais sem prendê-las à thread portadora;
+// por isso não se usa computeIfAbsent, que executaria a carga dentro de um bloco synchronized do mapa
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LeiturasCoalescidas {
+
+    // Chamadas por operação (tags operacao e coalescida=true|false)
+    public static final String METRICA_CHAMADAS = "ibmec.leituras";
+
+    // Cargas em andamento no momento
+    public static final String METRICA_EM_ANDAMENTO = "ibmec.leituras.em.andamento";
+
+    private final MeterRegistry meterRegistry;
+    private final long janelaLeituraAposEscritaMs;
+
+    private final ConcurrentMap<Chave, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+
+    public LeiturasCoalescidas(MeterRegistry meterRegistry,
+                               @Value("${ibmec.datasource.janela-leitura-apos-escrita-ms:2000}") long janelaLeituraAposEscritaMs) {
+        this.meterRegistry = meterRegistry;
+        this.janelaLeituraAposEscritaMs = janelaLeituraAposEscritaMs;
+        Gauge.builder(METRICA_EM_ANDAMENTO, emAndamento, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    @Around("@annotation(leitura)")
+    public Object coalescer(ProceedingJoinPoint joinPoint, LeituraCoalescida leitura) throws Throwable {
+        Object id = joinPoint.getArgs()[0];
+        // Quem escreveu há pouco lê do primário (RoteamentoDataSource) e não pode receber uma carga feita na réplica
+        Chave chave = new Chave(leitura.value(), id, ContextoRoteamento.escritaRecente(janelaLeituraAposEscritaMs));
+
+        CompletableFuture<Object> carga = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(chave, carga);
+        if (existente != null) {
+            contar(leitura, true);
+            return aguardar(existente);
+        }
+
+        contar(leitura, false);
+        try {
+            Object resultado = joinPoint.proceed();
+            carga.complete(resultado);
+            return resultado;
+        } catch (Throwable e) {
+            carga.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, carga);
+        }
+    }
+
+    // Chamado após o commit de uma escrita no cliente: quem chegar depois dela não entra numa carga
+    // que pode ter lido a versão anterior; quem já estava esperando recebe essa carga, como receberia sem coalescer
+    public void esquecer(Object id) {
+        emAndamento.keySet().removeIf(chave -> chave.id().equals(id));
+    }
+
+    private Object aguardar(CompletableFuture<Object> carga) throws Throwable {
+        try {
+            return carga.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando leitura em andamento", e);
+        }
+    }
+
+    private void contar(LeituraCoalescida leitura, boolean coalescida) {
+        Counter.builder(METRICA_CHAMADAS)
+                .tag("operacao", leitura.value())
+                .tag("coalescida", String.valueOf(coalescida))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Chave(String operacao, Object id, boolean primario) {
+    }
+}
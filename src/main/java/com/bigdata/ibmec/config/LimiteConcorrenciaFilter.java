@@ -0,0 +1,68 @@
+package com.bigdata.ibmec.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Com threads virtuais o Tomcat não limita mais a concorrência; este filtro segura as requisições
+// antes que elas se acumulem esperando conexão no pool do Hikari
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final Semaphore permissoes;
+    private final long esperaMaximaMs;
+
+    public LimiteConcorrenciaFilter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanhoPool,
+                                    @Value("${ibmec.concorrencia.fator-pool:2}") int fatorPool,
+                                    @Value("${ibmec.concorrencia.espera-maxima-ms:2000}") long esperaMaximaMs) {
+        // Permite algumas requisições a mais que conexões, já que parte do tempo de cada uma não usa o banco
+        this.permissoes = new Semaphore(Math.max(1, tamanhoPool * fatorPool), true);
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    // Actuator precisa responder mesmo com o servidor saturado (health check do balanceador) e o
+    // long-poll de /eventos fica parado esperando eventos sem usar o pool; nenhum dos dois deve ocupar permissão
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return caminho.equals("/actuator") || caminho.startsWith("/actuator/")
+                || caminho.equals("/eventos") || caminho.startsWith("/eventos/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean adquirida;
+        try {
+            adquirida = permissoes.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquirida = false;
+        }
+
+        if (!adquirida) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Servidor sobrecarregado, tente novamente");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permissoes.release();
+        }
+    }
+}
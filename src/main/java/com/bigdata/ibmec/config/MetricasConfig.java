@@ -0,0 +1,40 @@
+package com.bigdata.ibmec.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Métricas próprias da aplicação; as de HTTP, Hikari, Hibernate e JVM vêm do Actuator
+// e os histogramas de cada uma são configurados em management.metrics.distribution.*
+@Configuration
+public class MetricasConfig {
+
+    // Timer de todos os métodos públicos dos serviços anotados com @Timed (tags class e method)
+    public static final String TIMER_SERVICOS = "ibmec.servico";
+
+    // Comandos SQL (JPA e JdbcTemplate) por requisição HTTP (tags method e uri, como http.server.requests)
+    public static final String COMANDOS_SQL = "ibmec.sql.comandos";
+
+    // Tempo de execução JDBC somado por requisição HTTP (mesmas tags)
+    public static final String TEMPO_SQL = "ibmec.sql.tempo";
+
+    @Bean
+    public ContadorComandosSql contadorComandosSql() {
+        return new ContadorComandosSql();
+    }
+
+    // Envolve o bean dataSource, usado pelo JPA e pelo JdbcTemplate, para contar e medir todo comando SQL
+    @Bean
+    public static BeanPostProcessor contagemSqlDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                return "dataSource".equals(nome) && bean instanceof DataSource dataSource
+                        ? new ContagemSqlDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
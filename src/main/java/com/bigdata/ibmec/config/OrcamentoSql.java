@@ -0,0 +1,20 @@
+package com.bigdata.ibmec.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Orçamento de SQL de uma rota; rotas sem a anotação usam ibmec.sql.orcamento.comandos e tempo-jdbc-ms
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoSql {
+
+    // Máximo de comandos SQL na requisição, do JPA e do JdbcTemplate (outbox de eventos, idempotência)
+    int comandos();
+
+    // Máximo de tempo de execução JDBC somado na requisição, em ms; negativo usa o padrão
+    long tempoJdbcMs() default -1;
+}
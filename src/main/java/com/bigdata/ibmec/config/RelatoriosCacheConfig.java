@@ -0,0 +1,27 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.service.RelatorioCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RelatoriosCacheConfig {
+
+    // spring.cache.caffeine.spec vale para todos os caches; o de relatórios ganha expiração própria, mais curta,
+    // que também limita quanto tempo um resultado calculado durante uma escrita pode ficar desatualizado
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> relatoriosCacheCustomizer(
+            @Value("${ibmec.relatorios.ttl:30s}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(RelatorioCache.NOME, Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
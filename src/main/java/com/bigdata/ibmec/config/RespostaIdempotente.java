@@ -0,0 +1,6 @@
+package com.bigdata.ibmec.config;
+
+// Resposta guardada para uma Idempotency-Key; impressao identifica a requisição original (método, caminho e corpo)
+public record RespostaIdempotente(String impressao, int status, String contentType, String etag, String location,
+                                  byte[] corpo) {
+}
@@ -0,0 +1,109 @@
+package com.bigdata.ibmec.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.http.Cookie;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Envia transações somente leitura para as réplicas e todo o resto para o primário
+// Precisa ficar atrás de um LazyConnectionDataSourceProxy para que a conexão só seja escolhida
+// depois que a transação já estiver marcada como readOnly
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARIO = "primario";
+    static final String COOKIE_ULTIMA_ESCRITA = "ibmec-ultima-escrita";
+
+    private final HikariDataSource primario;
+    private final List<HikariDataSource> replicas;
+    private final RoteamentoProperties.PoliticaLeitura politica;
+    private final long janelaLeituraAposEscritaMs;
+    private final AtomicInteger proximaReplica = new AtomicInteger();
+
+    public RoteamentoDataSource(HikariDataSource primario, List<HikariDataSource> replicas, RoteamentoProperties properties) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+        this.politica = properties.getPolitica();
+        this.janelaLeituraAposEscritaMs = properties.getJanelaLeituraAposEscritaMs();
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            destinos.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean transacaoLeitura = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (!transacaoLeitura) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                registrarEscrita();
+            }
+            return PRIMARIO;
+        }
+        if (replicas.isEmpty() || ContextoRoteamento.escritaRecente(janelaLeituraAposEscritaMs)) {
+            return PRIMARIO;
+        }
+        return escolherReplica();
+    }
+
+    Object escolherReplica() {
+        if (politica == RoteamentoProperties.PoliticaLeitura.MENOR_CARGA) {
+            int escolhida = 0;
+            int menorCarga = Integer.MAX_VALUE;
+            for (int i = 0; i < replicas.size(); i++) {
+                int carga = carga(replicas.get(i));
+                if (carga < menorCarga) {
+                    menorCarga = carga;
+                    escolhida = i;
+                }
+            }
+            return escolhida;
+        }
+        return Math.floorMod(proximaReplica.getAndIncrement(), replicas.size());
+    }
+
+    // Conexões em uso mais threads esperando por uma conexão do pool
+    private int carga(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+    }
+
+    // Marca a escrita na thread e, numa requisição HTTP, num cookie para as próximas requisições do mesmo cliente
+    private void registrarEscrita() {
+        long agora = System.currentTimeMillis();
+        ContextoRoteamento.registrarEscrita(agora);
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos
+                && atributos.getResponse() != null && !atributos.getResponse().isCommitted()
+                && atributos.getAttribute(COOKIE_ULTIMA_ESCRITA, RequestAttributes.SCOPE_REQUEST) == null) {
+            atributos.setAttribute(COOKIE_ULTIMA_ESCRITA, agora, RequestAttributes.SCOPE_REQUEST);
+            Cookie cookie = new Cookie(COOKIE_ULTIMA_ESCRITA, String.valueOf(agora));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, janelaLeituraAposEscritaMs / 1000));
+            atributos.getResponse().addCookie(cookie);
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primario.close();
+    }
+}
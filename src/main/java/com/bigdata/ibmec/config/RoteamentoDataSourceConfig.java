@@ -0,0 +1,81 @@
+package com.bigdata.ibmec.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ativado com ibmec.datasource.roteamento-habilitado=true: spring.datasource vira o primário
+// e cada ibmec.datasource.replicas[n] ganha um pool próprio com as mesmas configurações do Hikari
+@Configuration
+@EnableConfigurationProperties(RoteamentoProperties.class)
+@ConditionalOnProperty(prefix = "ibmec.datasource", name = "roteamento-habilitado", havingValue = "true")
+public class RoteamentoDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig hikariConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean(destroyMethod = "close")
+    public RoteamentoDataSource roteamentoDataSource(DataSourceProperties dataSourceProperties, HikariConfig hikariConfig,
+                                                     RoteamentoProperties roteamentoProperties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        // Os pools não são beans, então o Actuator não os encontra: as métricas hikaricp.* são ligadas aqui
+        meterRegistry.ifAvailable(registry -> hikariConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+        HikariDataSource primario = criarPool(hikariConfig, "primario", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                dataSourceProperties.determineDriverClassName(), false);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < roteamentoProperties.getReplicas().size(); i++) {
+            RoteamentoProperties.Replica replica = roteamentoProperties.getReplicas().get(i);
+            HikariDataSource pool = criarPool(hikariConfig, "replica-" + i, replica.getUrl(), replica.getUsername(),
+                    replica.getPassword(), dataSourceProperties.determineDriverClassName(), true);
+            replicas.add(pool);
+        }
+
+        return new RoteamentoDataSource(primario, replicas, roteamentoProperties);
+    }
+
+    // DataSource usado pelo JPA: a conexão real só é pedida no primeiro comando SQL
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LeituraAposEscritaFilter> leituraAposEscritaFilter() {
+        return new FilterRegistrationBean<>(new LeituraAposEscritaFilter());
+    }
+
+    private HikariDataSource criarPool(HikariConfig base, String nome, String url, String usuario, String senha, String driver,
+                                       boolean somenteLeitura) {
+        HikariConfig config = new HikariConfig();
+        base.copyStateTo(config);
+        config.setPoolName("ibmec-" + nome);
+        config.setJdbcUrl(url);
+        config.setUsername(usuario);
+        config.setPassword(senha);
+        config.setDriverClassName(driver);
+        config.setReadOnly(somenteLeitura);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bigdata.ibmec.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Configuração da separação leitura/escrita (ibmec.datasource.*)
+@Data
+@ConfigurationProperties(prefix = "ibmec.datasource")
+public class RoteamentoProperties {
+
+    // Liga o roteamento; sem isso a aplicação usa apenas spring.datasource
+    private boolean roteamentoHabilitado = false;
+
+    private PoliticaLeitura politica = PoliticaLeitura.ROUND_ROBIN;
+
+    // Depois de uma escrita, as leituras do mesmo cliente HTTP vão ao primário por este tempo
+    private long janelaLeituraAposEscritaMs = 2000;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    public enum PoliticaLeitura {
+        ROUND_ROBIN,
+        MENOR_CARGA
+    }
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,145 @@
+package com.bigdata.ibmec.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Mede o SQL de cada requisição (comandos e tempo JDBC), publica por rota e avisa quando a rota
+// passa do orçamento; um total que cresce com os dados denuncia N+1
+@Component
+public class SqlPorRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlPorRequisicaoFilter.class);
+
+    private final ContadorComandosSql contadorComandosSql;
+    private final MeterRegistry meterRegistry;
+    private final int orcamentoComandos;
+    private final long orcamentoTempoJdbcMs;
+    private final boolean estrito;
+
+    public SqlPorRequisicaoFilter(ContadorComandosSql contadorComandosSql, MeterRegistry meterRegistry,
+                                  @Value("${ibmec.sql.orcamento.comandos:30}") int orcamentoComandos,
+                                  @Value("${ibmec.sql.orcamento.tempo-jdbc-ms:500}") long orcamentoTempoJdbcMs,
+                                  @Value("${ibmec.sql.orcamento.estrito:false}") boolean estrito) {
+        this.contadorComandosSql = contadorComandosSql;
+        this.meterRegistry = meterRegistry;
+        this.orcamentoComandos = orcamentoComandos;
+        this.orcamentoTempoJdbcMs = orcamentoTempoJdbcMs;
+        this.estrito = estrito;
+    }
+
+    // No modo estrito a resposta fica retida até o fim; nas rotas assíncronas (exportação, /eventos)
+    // isso só acontece no despacho assíncrono, que por isso também passa por aqui
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return !estrito;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            // O SQL já foi medido no despacho inicial; aqui só falta liberar a resposta retida
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                liberarResposta(request, response);
+            }
+            return;
+        }
+
+        // Retida, a resposta ainda pode ser trocada por um 500 depois que a rota terminou de escrever
+        HttpServletResponse resposta = estrito ? new ContentCachingResponseWrapper(response) : response;
+        contadorComandosSql.iniciar();
+        ContadorComandosSql.Requisicao sql;
+        try {
+            try {
+                filterChain.doFilter(request, resposta);
+            } finally {
+                sql = contadorComandosSql.encerrar();
+                registrarMetricas(request, sql);
+            }
+            verificarOrcamento(request, resposta, sql);
+        } finally {
+            liberarResposta(request, resposta);
+        }
+    }
+
+    private void registrarMetricas(HttpServletRequest request, ContadorComandosSql.Requisicao sql) {
+        String rota = rota(request);
+        DistributionSummary.builder(MetricasConfig.COMANDOS_SQL)
+                .description("Comandos SQL por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", rota)
+                .register(meterRegistry)
+                .record(sql.getComandos());
+        Timer.builder(MetricasConfig.TEMPO_SQL)
+                .description("Tempo de execução JDBC somado por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", rota)
+                .register(meterRegistry)
+                .record(sql.getNanosJdbc(), TimeUnit.NANOSECONDS);
+    }
+
+    private void verificarOrcamento(HttpServletRequest request, HttpServletResponse response,
+                                    ContadorComandosSql.Requisicao sql) throws IOException {
+        OrcamentoSql orcamentoRota = orcamentoDaRota(request);
+        int limiteComandos = orcamentoRota != null ? orcamentoRota.comandos() : orcamentoComandos;
+        long limiteTempoJdbcMs = orcamentoRota != null && orcamentoRota.tempoJdbcMs() >= 0
+                ? orcamentoRota.tempoJdbcMs() : orcamentoTempoJdbcMs;
+
+        long tempoJdbcMs = TimeUnit.NANOSECONDS.toMillis(sql.getNanosJdbc());
+        if (sql.getComandos() <= limiteComandos && tempoJdbcMs <= limiteTempoJdbcMs) {
+            return;
+        }
+
+        String mensagem = String.format("%s %s excedeu o orçamento de SQL: %d comandos (limite %d), %d ms de JDBC (limite %d)%n%s",
+                request.getMethod(), rota(request), sql.getComandos(), limiteComandos, tempoJdbcMs, limiteTempoJdbcMs,
+                sql.descreverComandos());
+        log.warn(mensagem);
+        // Rota assíncrona ainda vai escrever a resposta; nela o estouro fica só no log
+        if (estrito && !request.isAsyncStarted()) {
+            response.resetBuffer();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getOutputStream().write(mensagem.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Copia para o cliente o que ficou retido, a menos que a rota assíncrona ainda esteja escrevendo
+    private static void liberarResposta(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper retida = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (retida != null && !request.isAsyncStarted()) {
+            retida.copyBodyToResponse();
+        }
+    }
+
+    private static OrcamentoSql orcamentoDaRota(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod metodo ? metodo.getMethodAnnotation(OrcamentoSql.class) : null;
+    }
+
+    // Usa o padrão da rota (/clientes/{id}), não a URI real, para não criar uma série por id
+    private static String rota(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : "UNKNOWN";
+    }
+}
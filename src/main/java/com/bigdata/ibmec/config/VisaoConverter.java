@@ -0,0 +1,18 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.DTO.Visao;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+// ?visao=resumo e ?visao=RESUMO valem o mesmo; valor desconhecido segue virando 400 pelo
+// MethodArgumentTypeMismatchException do GlobalExceptionHandler
+@Component
+public class VisaoConverter implements Converter<String, Visao> {
+
+    @Override
+    public Visao convert(String valor) {
+        return Visao.valueOf(valor.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -1,14 +1,38 @@
 package com.bigdata.ibmec.controller;
 
+import com.bigdata.ibmec.config.OrcamentoSql;
 import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.bigdata.ibmec.DTO.FiltroClienteDTO;
+import com.bigdata.ibmec.DTO.LoteClientesDTO;
+import com.bigdata.ibmec.DTO.PaginaClientesDTO;
+import com.bigdata.ibmec.DTO.ResultadoImportacaoDTO;
+import com.bigdata.ibmec.DTO.StatusIngestaoDTO;
+import com.bigdata.ibmec.DTO.Visao;
 import com.bigdata.ibmec.model.Cliente;
 import com.bigdata.ibmec.service.ClienteService;
+import com.bigdata.ibmec.service.ExportacaoClienteService;
+import com.bigdata.ibmec.service.FilaIngestaoClientes;
+import com.bigdata.ibmec.service.ImportacaoClienteService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/clientes")
@@ -17,6 +41,15 @@ public class ClienteController {
     @Autowired
     private ClienteService clienteService;
 
+    @Autowired
+    private ImportacaoClienteService importacaoClienteService;
+
+    @Autowired
+    private ExportacaoClienteService exportacaoClienteService;
+
+    @Autowired
+    private FilaIngestaoClientes filaIngestaoClientes;
+
     // Cria um cliente junto com o primeiro endereço usando o DTO
     @PostMapping
     public ResponseEntity<Cliente> adicionarCliente(@Valid @RequestBody ClienteComEnderecoDTO clienteComEnderecoDTO) {
@@ -24,25 +57,101 @@ public class ClienteController {
         return ResponseEntity.ok(novoCliente);
     }
 
-    // Lista todos os clientes
+    // Cadastro assíncrono: valida, enfileira e responde 202 com o id para acompanhar a gravação
+    @PostMapping("/ingestao")
+    public ResponseEntity<StatusIngestaoDTO> enfileirarCliente(@Valid @RequestBody ClienteComEnderecoDTO clienteComEnderecoDTO) {
+        StatusIngestaoDTO status = filaIngestaoClientes.enfileirar(clienteComEnderecoDTO);
+        return ResponseEntity.accepted().location(URI.create("/clientes/ingestao/" + status.getId())).body(status);
+    }
+
+    // Situação de um cadastro assíncrono: PENDENTE, GRAVADO (com o id do cliente) ou REJEITADO (com o erro)
+    @GetMapping("/ingestao/{id}")
+    public ResponseEntity<StatusIngestaoDTO> buscarStatusIngestao(@PathVariable UUID id) {
+        return ResponseEntity.ok(filaIngestaoClientes.buscarStatus(id));
+    }
+
+    // Importação em lote: recebe um cliente com endereço por linha (NDJSON) e devolve o resultado de cada linha
+    @PostMapping(value = "/importacao", consumes = "application/x-ndjson")
+    public ResponseEntity<ResultadoImportacaoDTO> importarClientes(InputStream corpo) throws IOException {
+        ResultadoImportacaoDTO resultado = importacaoClienteService.importarNdjson(corpo);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // Exportação completa de clientes e endereços em NDJSON, escrita direto na resposta (opcionalmente com gzip)
+    // Com gzip=true o corpo é o arquivo clientes.ndjson.gz (application/gzip), e não NDJSON com Content-Encoding:
+    // assim o cliente HTTP não descompacta sozinho e o arquivo salvo continua batendo com a extensão .gz
+    @GetMapping(value = "/exportacao", produces = {"application/x-ndjson", "application/gzip"})
+    public ResponseEntity<StreamingResponseBody> exportarClientes(@RequestParam(defaultValue = "false") boolean gzip) {
+        if (!gzip) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clientes.ndjson\"")
+                    .body(exportacaoClienteService::exportarNdjson);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clientes.ndjson.gz\"")
+                .body(saida -> {
+                    GZIPOutputStream saidaCompactada = new GZIPOutputStream(saida, 64 * 1024);
+                    exportacaoClienteService.exportarNdjson(saidaCompactada);
+                    saidaCompactada.finish();
+                });
+    }
+
+    // Lista os clientes página a página, usando o cursor retornado na página anterior
+    // visao=resumo devolve só os dados do cliente e a quantidade de endereços
+    // Duas consultas por página em qualquer tamanho (ids e clientes com endereços); a resumida usa uma
     @GetMapping
-    public ResponseEntity<List<Cliente>> listarTodos() {
-        List<Cliente> clientes = clienteService.listarTodos();
-        return ResponseEntity.ok(clientes);
+    @OrcamentoSql(comandos = 2)
+    public ResponseEntity<PaginaClientesDTO<?>> listarTodos(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "" + ClienteService.TAMANHO_PAGINA_PADRAO) int tamanho,
+                                                           @RequestParam(defaultValue = "COMPLETA") Visao visao) {
+        PaginaClientesDTO<?> pagina = visao == Visao.RESUMO
+                ? clienteService.listarPaginaResumida(cursor, tamanho)
+                : clienteService.listarPagina(cursor, tamanho);
+        return ResponseEntity.ok(pagina);
     }
 
-    // Busca cliente por ID
+    // Busca clientes por nome (prefixo), e-mail, CPF, faixa de nascimento, cidade e estado
+    // Paginação e ordenação pelos parâmetros page, size e sort (ex.: sort=nome,asc)
+    @GetMapping("/busca")
+    public ResponseEntity<PagedModel<Cliente>> buscarClientes(@ModelAttribute FiltroClienteDTO filtro,
+                                                              @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.ok(new PagedModel<>(clienteService.buscar(filtro, pageable)));
+    }
+
+    // Vários clientes em uma chamada (ex.: ?ids=7,3,12), no lugar de um GET /clientes/{id} por cliente
+    // Ids inexistentes não derrubam a chamada: voltam em naoEncontrados
+    @GetMapping("/lote")
+    @OrcamentoSql(comandos = ClienteService.LOTE_IDS_MAXIMO / ClienteService.LOTE_IDS_POR_CONSULTA)
+    public ResponseEntity<LoteClientesDTO> buscarClientesPorIds(@RequestParam(defaultValue = "") List<Long> ids) {
+        return ResponseEntity.ok(clienteService.buscarClientesPorIds(ids));
+    }
+
+    // Busca cliente por ID; com If-None-Match igual à versão atual responde 304 sem carregar o cliente
     @GetMapping("/{id}")
-    public ResponseEntity<Cliente> buscarClientePorId(@PathVariable Long id) {
-        Cliente cliente = clienteService.buscarClientePorId(id);
-        return ResponseEntity.ok(cliente);
+    public ResponseEntity<ClienteDetalheDTO> buscarClientePorId(@PathVariable Long id,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Sem If-None-Match não há o que comparar: a versão não é consultada e o acerto de cache não vai ao banco
+        if (ifNoneMatch != null) {
+            Long versao = clienteService.buscarVersao(id);
+            if (ETagVersao.corresponde(ifNoneMatch, versao)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETagVersao.de(versao)).build();
+            }
+        }
+
+        // O ETag sai da versão do próprio corpo, que pode vir do cache
+        ClienteDetalheDTO cliente = clienteService.buscarClientePorId(id);
+        return ResponseEntity.ok().eTag(ETagVersao.de(cliente.getVersao())).body(cliente);
     }
 
-    // Atualiza dados do cliente
+    // Atualiza dados do cliente; com If-Match só grava se a versão ainda for a informada (senão 412)
     @PutMapping("/{id}")
-    public ResponseEntity<Cliente> atualizarCliente(@PathVariable Long id, @Valid @RequestBody Cliente clienteAtualizado) {
-        Cliente cliente = clienteService.atualizarDadosCliente(id, clienteAtualizado);
-        return ResponseEntity.ok(cliente);
+    public ResponseEntity<Cliente> atualizarCliente(@PathVariable Long id, @Valid @RequestBody Cliente clienteAtualizado,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Cliente cliente = clienteService.atualizarDadosCliente(id, clienteAtualizado, ETagVersao.versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(ETagVersao.de(cliente.getVersao())).body(cliente);
     }
 
     // Deleta um cliente
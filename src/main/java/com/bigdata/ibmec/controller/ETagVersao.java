@@ -0,0 +1,46 @@
+package com.bigdata.ibmec.controller;
+
+import com.bigdata.ibmec.exceptions.VersaoDesatualizadaException;
+
+// ETag forte derivado da coluna @Version: "<versao>"
+final class ETagVersao {
+
+    private ETagVersao() {
+    }
+
+    static String de(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    // If-None-Match aceita "*" ou uma lista de ETags; a comparação é fraca (ignora o prefixo W/)
+    static boolean corresponde(String ifNoneMatch, Long versao) {
+        if (ifNoneMatch == null || versao == null) {
+            return false;
+        }
+        String etag = de(versao);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag) || valor.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match ausente ou "*" não exige versão (null); caso contrário devolve a versão pedida
+    // A comparação de If-Match é forte: ETag fraco ou malformado nunca corresponde
+    static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() > 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            try {
+                return Long.parseLong(valor.substring(1, valor.length() - 1));
+            } catch (NumberFormatException e) {
+                // cai no erro abaixo
+            }
+        }
+        throw new VersaoDesatualizadaException("If-Match inválido: " + ifMatch);
+    }
+}
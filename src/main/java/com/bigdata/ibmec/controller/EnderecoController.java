@@ -1,9 +1,14 @@
 package com.bigdata.ibmec.controller;
 
+import com.bigdata.ibmec.DTO.EnderecosClienteDTO;
+import com.bigdata.ibmec.DTO.EnderecosLoteDTO;
+import com.bigdata.ibmec.DTO.Visao;
 import com.bigdata.ibmec.model.Endereco;
 import com.bigdata.ibmec.service.EnderecoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,10 +22,20 @@ public class EnderecoController {
     private EnderecoService enderecoService;
 
     // Rota para buscar endereços de um cliente específico
+    // O ETag é a versão do cliente, que avança a cada mudança nos endereços; If-None-Match igual responde 304
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<Endereco>> listarEnderecosPorCliente(@PathVariable Long clienteId) {
-        List<Endereco> enderecos = enderecoService.listarEnderecosPorCliente(clienteId);
-        return ResponseEntity.ok(enderecos);
+    public ResponseEntity<List<Endereco>> listarEnderecosPorCliente(@PathVariable Long clienteId,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Só o GET condicional consulta a versão à parte; os demais levam a versão lida junto com a lista
+        if (ifNoneMatch != null) {
+            Long versao = enderecoService.buscarVersaoCliente(clienteId);
+            if (ETagVersao.corresponde(ifNoneMatch, versao)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETagVersao.de(versao)).build();
+            }
+        }
+
+        EnderecosClienteDTO enderecos = enderecoService.listarEnderecosComVersao(clienteId);
+        return ResponseEntity.ok().eTag(ETagVersao.de(enderecos.getVersaoCliente())).body(enderecos.getEnderecos());
     }
 
     // Adiciona um novo endereço a um cliente existente
@@ -30,17 +45,41 @@ public class EnderecoController {
         return ResponseEntity.ok(novoEndereco);
     }
 
-    // Lista todos os endereços
+    // Adiciona um lote de endereços ao cliente em uma única transação
+    @PostMapping("/cliente/{clienteId}/lote")
+    public ResponseEntity<List<Endereco>> adicionarEnderecos(@PathVariable Long clienteId, @Valid @RequestBody EnderecosLoteDTO lote) {
+        List<Endereco> novosEnderecos = enderecoService.adicionarEnderecos(clienteId, lote.getEnderecos());
+        return ResponseEntity.ok(novosEnderecos);
+    }
+
+    // Remove todos os endereços do cliente de uma vez
+    @DeleteMapping("/cliente/{clienteId}")
+    public ResponseEntity<Void> deletarEnderecosDoCliente(@PathVariable Long clienteId) {
+        enderecoService.deletarEnderecosDoCliente(clienteId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Lista todos os endereços (visao=resumo usa a projeção com o id do cliente)
     @GetMapping
-    public ResponseEntity<List<Endereco>> listarTodos() {
+    public ResponseEntity<List<?>> listarTodos(@RequestParam(defaultValue = "COMPLETA") Visao visao) {
+        if (visao == Visao.RESUMO) {
+            return ResponseEntity.ok(enderecoService.listarTodosResumidos());
+        }
         return ResponseEntity.ok(enderecoService.listarTodos());
     }
 
-    // Atualiza um endereço específico
+    // Atualiza um endereço específico; com If-Match só grava se a versão do endereço ainda for a informada
     @PutMapping("/{id}")
-    public ResponseEntity<Endereco> atualizarEndereco(@PathVariable Long id, @Valid @RequestBody Endereco enderecoAtualizado) {
-        Endereco endereco = enderecoService.atualizarEndereco(id, enderecoAtualizado);
-        return ResponseEntity.ok(endereco);
+    public ResponseEntity<Endereco> atualizarEndereco(@PathVariable Long id, @Valid @RequestBody Endereco enderecoAtualizado,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Endereco endereco = enderecoService.atualizarEndereco(id, enderecoAtualizado, ETagVersao.versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(ETagVersao.de(endereco.getVersao())).body(endereco);
+    }
+
+    // Atualiza um lote de endereços identificados pelo id de cada um; item sem id responde 400
+    @PutMapping("/lote")
+    public ResponseEntity<List<Endereco>> atualizarEnderecos(@Valid @RequestBody EnderecosLoteDTO lote) {
+        return ResponseEntity.ok(enderecoService.atualizarEnderecos(lote.getEnderecos()));
     }
 
     // Deleta um endereço específico
@@ -0,0 +1,29 @@
+package com.bigdata.ibmec.controller;
+
+import com.bigdata.ibmec.config.OrcamentoSql;
+import com.bigdata.ibmec.DTO.LoteEventosDTO;
+import com.bigdata.ibmec.service.EventoClienteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+// Fluxo de mudanças em clientes e endereços, no lugar de reler /clientes inteiro para achar o que mudou
+// Uso: GET /eventos?posicao=0&consumidor=indice-busca, depois sempre com a proximaPosicao recebida;
+// esperaMs faz a chamada aguardar (long-poll) quando ainda não há nada novo; a resposta é assíncrona e a
+// thread do servidor fica livre durante a espera
+@RestController
+@RequestMapping("/eventos")
+public class EventoController {
+
+    @Autowired
+    private EventoClienteService eventoClienteService;
+
+    @GetMapping
+    @OrcamentoSql(comandos = EventoClienteService.COMANDOS_MAXIMOS)
+    public DeferredResult<LoteEventosDTO> buscarEventos(@RequestParam(defaultValue = "0") long posicao,
+                                                        @RequestParam(defaultValue = "" + EventoClienteService.LIMITE_PADRAO) int limite,
+                                                        @RequestParam(defaultValue = "0") long esperaMs,
+                                                        @RequestParam(required = false) String consumidor) {
+        return eventoClienteService.aguardarEventos(posicao, limite, esperaMs, consumidor);
+    }
+}
@@ -0,0 +1,51 @@
+package com.bigdata.ibmec.controller;
+
+import com.bigdata.ibmec.config.OrcamentoSql;
+import com.bigdata.ibmec.DTO.CadastrosPorDiaDTO;
+import com.bigdata.ibmec.DTO.ClientesPorCidadeDTO;
+import com.bigdata.ibmec.DTO.ClientesPorEstadoDTO;
+import com.bigdata.ibmec.DTO.FaixaEtariaDTO;
+import com.bigdata.ibmec.service.RelatorioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Relatórios agregados para os painéis; cada rota é uma única consulta GROUP BY (ou nenhuma, vindo do cache)
+@RestController
+@RequestMapping("/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    // Quantidade de clientes com endereço em cada estado
+    @GetMapping("/clientes-por-estado")
+    @OrcamentoSql(comandos = 1)
+    public ResponseEntity<List<ClientesPorEstadoDTO>> clientesPorEstado() {
+        return ResponseEntity.ok(relatorioService.clientesPorEstado());
+    }
+
+    // Quantidade de clientes por cidade, opcionalmente só de um estado (?estado=SP)
+    @GetMapping("/clientes-por-cidade")
+    @OrcamentoSql(comandos = 1)
+    public ResponseEntity<List<ClientesPorCidadeDTO>> clientesPorCidade(@RequestParam(required = false) String estado) {
+        return ResponseEntity.ok(relatorioService.clientesPorCidade(estado));
+    }
+
+    // Histograma de idades por faixa
+    @GetMapping("/faixas-etarias")
+    @OrcamentoSql(comandos = 1)
+    public ResponseEntity<List<FaixaEtariaDTO>> faixasEtarias() {
+        return ResponseEntity.ok(relatorioService.faixasEtarias());
+    }
+
+    // Cadastros por dia nos últimos ?dias (padrão 30, máximo 366)
+    @GetMapping("/cadastros-por-dia")
+    @OrcamentoSql(comandos = 1)
+    public ResponseEntity<List<CadastrosPorDiaDTO>> cadastrosPorDia(
+            @RequestParam(defaultValue = "" + RelatorioService.DIAS_PADRAO) int dias) {
+        return ResponseEntity.ok(relatorioService.cadastrosPorDia(dias));
+    }
+}
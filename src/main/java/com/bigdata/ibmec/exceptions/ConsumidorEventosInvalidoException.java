@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class ConsumidorEventosInvalidoException extends RuntimeException {
+    public ConsumidorEventosInvalidoException(int tamanhoMaximo) {
+        super("Nome do consumidor deve ter entre 1 e " + tamanhoMaximo + " caracteres");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class DadosInvalidosException extends RuntimeException {
+    public DadosInvalidosException(String mensagens) {
+        super(mensagens);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class EmailJaCadastradoException extends RuntimeException {
+    public EmailJaCadastradoException() {
+        super("E-mail já cadastrado");
+    }
+}
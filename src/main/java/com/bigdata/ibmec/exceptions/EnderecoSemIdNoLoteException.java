@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class EnderecoSemIdNoLoteException extends RuntimeException {
+    public EnderecoSemIdNoLoteException() {
+        super("Cada endereço do lote precisa do id");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class EsperasEventosEsgotadasException extends RuntimeException {
+    public EsperasEventosEsgotadasException(int maximo) {
+        super("Já há " + maximo + " consumidores aguardando eventos, tente novamente em instantes");
+    }
+}
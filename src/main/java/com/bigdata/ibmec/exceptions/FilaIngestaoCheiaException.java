@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class FilaIngestaoCheiaException extends RuntimeException {
+    public FilaIngestaoCheiaException() {
+        super("Fila de ingestão cheia, tente novamente em instantes");
+    }
+}
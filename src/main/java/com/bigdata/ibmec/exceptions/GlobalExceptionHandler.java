@@ -1,10 +1,15 @@
 package com.bigdata.ibmec.exceptions;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+// Também é importado pela API reativa (com.bigdata.reativo): os mesmos erros viram os mesmos status
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -15,7 +20,40 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CpfJaCadastradoException.class)
     public ResponseEntity<String> handleCpfJaCadastradoException(CpfJaCadastradoException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(EmailJaCadastradoException.class)
+    public ResponseEntity<String> handleEmailJaCadastradoException(EmailJaCadastradoException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    // Duplicado que passou pela pré-checagem (gravações concorrentes): a constraint unique do banco decide
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        return new ResponseEntity<>("Registro conflita com dados já cadastrados", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<String> handleVersaoDesatualizadaException(VersaoDesatualizadaException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Duas gravações concorrentes sobre a mesma versão: a segunda perde e precisa recarregar o registro
+    // (JPA lança a subclasse ObjectOptimisticLockingFailureException; o R2DBC, a própria OptimisticLockingFailureException)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>("Registro alterado por outra requisição; recarregue e tente novamente", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(FilaIngestaoCheiaException.class)
+    public ResponseEntity<String> handleFilaIngestaoCheiaException(FilaIngestaoCheiaException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IngestaoNotFoundException.class)
+    public ResponseEntity<String> handleIngestaoNotFoundException(IngestaoNotFoundException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(ClienteNotFoundException.class)
@@ -28,6 +66,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(DadosInvalidosException.class)
+    public ResponseEntity<String> handleDadosInvalidosException(DadosInvalidosException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<String> handleCursorInvalidoException(CursorInvalidoException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OrdenacaoInvalidaException.class)
+    public ResponseEntity<String> handleOrdenacaoInvalidaException(OrdenacaoInvalidaException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(EnderecoSemIdNoLoteException.class)
+    public ResponseEntity<String> handleEnderecoSemIdNoLoteException(EnderecoSemIdNoLoteException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(LoteIdsInvalidoException.class)
+    public ResponseEntity<String> handleLoteIdsInvalidoException(LoteIdsInvalidoException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ConsumidorEventosInvalidoException.class)
+    public ResponseEntity<String> handleConsumidorEventosInvalidoException(ConsumidorEventosInvalidoException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(EsperasEventosEsgotadasException.class)
+    public ResponseEntity<String> handleEsperasEventosEsgotadasException(EsperasEventosEsgotadasException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        return new ResponseEntity<>("Valor inválido para o parâmetro " + ex.getName() + ": " + ex.getValue(), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception ex) {
         return new ResponseEntity<>("Erro interno no servidor: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,9 @@
+package com.bigdata.ibmec.exceptions;
+
+import java.util.UUID;
+
+public class IngestaoNotFoundException extends RuntimeException {
+    public IngestaoNotFoundException(UUID id) {
+        super("Ingestão com ID " + id + " não encontrada");
+    }
+}
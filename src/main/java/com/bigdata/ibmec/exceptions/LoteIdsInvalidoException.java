@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class LoteIdsInvalidoException extends RuntimeException {
+    public LoteIdsInvalidoException(int maximo) {
+        super("Informe entre 1 e " + maximo + " ids");
+    }
+}
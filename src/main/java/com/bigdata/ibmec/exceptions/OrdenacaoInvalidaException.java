@@ -0,0 +1,7 @@
+package com.bigdata.ibmec.exceptions;
+
+public class OrdenacaoInvalidaException extends RuntimeException {
+    public OrdenacaoInvalidaException(String campo) {
+        super("Não é possível ordenar clientes por " + campo);
+    }
+}
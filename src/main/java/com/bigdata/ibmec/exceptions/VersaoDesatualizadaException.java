@@ -0,0 +1,11 @@
+package com.bigdata.ibmec.exceptions;
+
+public class VersaoDesatualizadaException extends RuntimeException {
+    public VersaoDesatualizadaException(Long versaoInformada, Long versaoAtual) {
+        super("A versão informada em If-Match (\"" + versaoInformada + "\") não é a atual (\"" + versaoAtual + "\")");
+    }
+
+    public VersaoDesatualizadaException(String message) {
+        super(message);
+    }
+}
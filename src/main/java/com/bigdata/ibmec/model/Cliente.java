@@ -1,25 +1,50 @@
 package com.bigdata.ibmec.model;
 
+import com.bigdata.ibmec.validation.Cpf;
+import com.bigdata.ibmec.validation.Telefone;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cliente")
+@Table(indexes = {
+        @Index(name = "idx_cliente_nome", columnList = "nome"),
+        @Index(name = "idx_cliente_data_nascimento", columnList = "dataNascimento"),
+        @Index(name = "idx_cliente_data_cadastro", columnList = "dataCadastro")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Cliente {
 
+    // Sequência com otimizador pooled: permite agrupar os inserts em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50)
     private Long id;
 
+    // Versão para controle otimista de concorrência; também é o ETag das respostas HTTP
+    // O default 0 preenche as linhas que já existiam quando a coluna é criada pelo ddl-auto=update
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
     @NotBlank(message = "Nome é obrigatório")
     @Size(min = 3, max = 100, message = "Nome deve ter entre 3 e 100 caracteres")
     private String nome;
@@ -30,7 +55,7 @@ public class Cliente {
     private String email;
 
     @NotBlank(message = "CPF é obrigatório")
-    @Pattern(regexp = "\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}", message = "CPF deve seguir o formato XXX.XXX.XXX-XX")
+    @Cpf
     @Column(unique = true)
     private String cpf;
 
@@ -38,10 +63,18 @@ public class Cliente {
     @NotNull(message = "Data de nascimento é obrigatória")
     private LocalDate dataNascimento;
 
-    @Pattern(regexp = "\\(\\d{2}\\) \\d{4,5}-\\d{4}", message = "Telefone deve seguir o formato (XX) XXXXX-XXXX")
+    @Telefone
     private String telefone;
 
+    // Momento do insert, preenchido pelo Hibernate; base do relatório de cadastros por dia
+    // Fica nulo nas linhas gravadas antes de a coluna existir, que ficam fora desse relatório
+    @CreationTimestamp
+    @Column(updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime dataCadastro;
+
     // Inicializa a lista de endereços como um novo ArrayList
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cliente-enderecos")
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Endereco> enderecos = new ArrayList<>();  // Inicializa a lista de endereços
 }
@@ -0,0 +1,31 @@
+package com.bigdata.ibmec.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Última posição confirmada por um consumidor de /eventos; eventos até a menor posição entre os
+// consumidores ativos já foram lidos por todos e podem ser descartados
+@Entity
+@Table(name = "consumidor_eventos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumidorEventos {
+
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(nullable = false)
+    private Long posicao;
+
+    @Column(nullable = false)
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,27 @@
+package com.bigdata.ibmec.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Última posição entregue a um evento da outbox; a linha é travada por quem grava eventos até o commit
+// (EventosCliente), então as posições aparecem para os leitores na mesma ordem em que foram dadas
+// Só existe como entidade para o ddl-auto criar a tabela; leitura e escrita são em JDBC
+@Entity
+@Table(name = "contador_eventos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorEventos {
+
+    @Id
+    @Column(length = 50)
+    private String nome;
+
+    @Column(nullable = false)
+    private Long valor;
+}
@@ -1,24 +1,45 @@
 package com.bigdata.ibmec.model;
 
+import com.bigdata.ibmec.validation.Cep;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "endereco")
+@Table(indexes = {
+        @Index(name = "idx_endereco_cliente", columnList = "cliente_id"),
+        @Index(name = "idx_endereco_estado_cidade", columnList = "estado, cidade"),
+        @Index(name = "idx_endereco_cidade", columnList = "cidade")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Endereco {
 
+    // Sequência com otimizador pooled: permite agrupar os inserts em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endereco_seq")
+    @SequenceGenerator(name = "endereco_seq", sequenceName = "endereco_seq", allocationSize = 50)
     private Long id;
 
+    // Versão para controle otimista de concorrência; também é o ETag das respostas HTTP
+    // O default 0 preenche as linhas que já existiam quando a coluna é criada pelo ddl-auto=update
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
     @NotBlank(message = "Rua é obrigatória")
     @Size(min = 3, max = 255, message = "Rua deve ter entre 3 e 255 caracteres")
     private String rua;
@@ -39,7 +60,7 @@ public class Endereco {
     private String estado;
 
     @NotBlank(message = "CEP é obrigatório")
-    @Pattern(regexp = "\\d{5}-\\d{3}", message = "CEP deve seguir o formato XXXXX-XXX")
+    @Cep
     private String cep;
 
     @ManyToOne
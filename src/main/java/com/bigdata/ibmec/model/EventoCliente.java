@@ -0,0 +1,33 @@
+package com.bigdata.ibmec.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Linha da outbox de mudanças em clientes e endereços, gravada na mesma transação da mudança (EventosCliente)
+// O id é a posição do evento no fluxo, dada no fim da transação pelo contador_eventos (sem buracos, na ordem dos commits)
+@Entity
+@Table(name = "evento_cliente", indexes = @Index(name = "idx_evento_cliente_criado_em", columnList = "criado_em"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoCliente {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoEventoCliente tipo;
+
+    @Column(nullable = false)
+    private Long clienteId;
+
+    private Long enderecoId;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+}
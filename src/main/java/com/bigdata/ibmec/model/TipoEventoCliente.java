@@ -0,0 +1,12 @@
+package com.bigdata.ibmec.model;
+
+// Mudanças publicadas em /eventos; o estado atual vem de GET /clientes/lote com os clienteId recebidos
+public enum TipoEventoCliente {
+    CLIENTE_CRIADO,
+    CLIENTE_ATUALIZADO,
+    CLIENTE_REMOVIDO,
+    ENDERECO_CRIADO,
+    ENDERECO_ATUALIZADO,
+    // enderecoId nulo quando todos os endereços do cliente foram removidos de uma vez
+    ENDERECO_REMOVIDO
+}
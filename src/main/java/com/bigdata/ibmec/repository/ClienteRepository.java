@@ -1,11 +1,122 @@
 package com.bigdata.ibmec.repository;
 
+import com.bigdata.ibmec.DTO.CadastrosPorDiaDTO;
+import com.bigdata.ibmec.DTO.ClienteResumoDTO;
+import com.bigdata.ibmec.DTO.FaixaEtariaDTO;
 import com.bigdata.ibmec.model.Cliente;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, JpaSpecificationExecutor<Cliente> {
+    // Consultas por chave única ficam no cache de consultas do Hibernate (invalidado a cada escrita em cliente)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "cliente-consultas")
+    })
     Optional<Cliente> findByCpf(String cpf);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "cliente-consultas")
+    })
     Optional<Cliente> findByEmail(String email);
-}
\ No newline at end of file
+
+    // Só a versão do cliente, para responder If-None-Match sem carregar cliente e endereços
+    // Fora do cache de consultas, para sempre refletir o último incremento feito pelos endereços
+    @Query("SELECT c.versao FROM Cliente c WHERE c.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    // Carrega o cliente travando a linha (SELECT ... FOR UPDATE) e avança a versão só dele
+    // Duas transações que mexem em endereços diferentes do mesmo cliente se enfileiram no lock da linha e as duas
+    // gravam; como a linha é lida já travada, o incremento parte da versão mais recente, sem 409
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    Optional<Cliente> findComVersaoAvancadaById(@Param("id") Long id);
+
+    // Mesmo travamento para vários clientes (atualização de endereços em lote), em ordem de id contra deadlocks
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Cliente c WHERE c.id IN :ids ORDER BY c.id")
+    List<Cliente> findAllComVersaoAvancadaByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Paginação por chave (keyset): busca os ids dos próximos clientes com id maior que o cursor
+    @Query("SELECT c.id FROM Cliente c WHERE c.id > :cursor ORDER BY c.id")
+    List<Long> findIdsApos(@Param("cursor") Long cursor, Limit limit);
+
+    // Mesma paginação por chave, mas projetada direto no DTO de resumo (sem entidades gerenciadas)
+    @Query("SELECT new com.bigdata.ibmec.DTO.ClienteResumoDTO(c.id, c.nome, c.email, c.cpf, c.dataNascimento, c.telefone, "
+            + "(SELECT COUNT(e) FROM Endereco e WHERE e.cliente = c)) "
+            + "FROM Cliente c WHERE c.id > :cursor ORDER BY c.id")
+    List<ClienteResumoDTO> findResumosApos(@Param("cursor") Long cursor, Limit limit);
+
+    // Carrega um cliente com os endereços inicializados, para poder ser guardado em cache
+    @EntityGraph(attributePaths = "enderecos")
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    Optional<Cliente> findComEnderecosById(@Param("id") Long id);
+
+    // Carrega os clientes já com os endereços em uma única consulta (evita N+1 na serialização)
+    @EntityGraph(attributePaths = "enderecos")
+    @Query("SELECT c FROM Cliente c WHERE c.id IN :ids ORDER BY c.id")
+    List<Cliente> findAllComEnderecosByIdIn(@Param("ids") List<Long> ids);
+
+    // Leitura sequencial de todos os clientes para exportação: cursor do driver, sem snapshot de dirty checking
+    // Deve ser consumido dentro de uma transação e fechado ao final. CacheMode IGNORE: uma varredura
+    // completa não deve despejar os clientes quentes da região "cliente" do cache de segundo nível
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT c FROM Cliente c ORDER BY c.id")
+    Stream<Cliente> streamTodos();
+
+    // Só as colunas únicas, para carregar o índice de unicidade sem hidratar entidades
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT c.cpf FROM Cliente c")
+    Stream<String> streamCpfs();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT c.email FROM Cliente c")
+    Stream<String> streamEmails();
+
+    // Faixa de idade do cliente c em JPQL, relativa à data atual do banco
+    String FAIXA_ETARIA = "CASE "
+            + "WHEN c.dataNascimento > local date - 18 year THEN 'menos de 18' "
+            + "WHEN c.dataNascimento > local date - 25 year THEN '18-24' "
+            + "WHEN c.dataNascimento > local date - 35 year THEN '25-34' "
+            + "WHEN c.dataNascimento > local date - 45 year THEN '35-44' "
+            + "WHEN c.dataNascimento > local date - 60 year THEN '45-59' "
+            + "ELSE '60+' END";
+
+    // Histograma de idades calculado no banco: a faixa sai da data de nascimento comparada com a data atual,
+    // sem parâmetros, para que o GROUP BY repita exatamente a expressão do SELECT; das mais novas para as mais velhas
+    @Query("SELECT new com.bigdata.ibmec.DTO.FaixaEtariaDTO(" + FAIXA_ETARIA + ", COUNT(c)) "
+            + "FROM Cliente c GROUP BY " + FAIXA_ETARIA + " ORDER BY MAX(c.dataNascimento) DESC")
+    List<FaixaEtariaDTO> contarPorFaixaEtaria();
+
+    // Cadastros por dia a partir de uma data, usando o índice de dataCadastro
+    @Query("SELECT new com.bigdata.ibmec.DTO.CadastrosPorDiaDTO(CAST(c.dataCadastro AS LocalDate), COUNT(c)) "
+            + "FROM Cliente c WHERE c.dataCadastro >= :inicio "
+            + "GROUP BY CAST(c.dataCadastro AS LocalDate) ORDER BY CAST(c.dataCadastro AS LocalDate)")
+    List<CadastrosPorDiaDTO> contarCadastrosPorDia(@Param("inicio") LocalDateTime inicio);
+}
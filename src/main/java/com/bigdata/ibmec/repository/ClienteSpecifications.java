@@ -0,0 +1,67 @@
+package com.bigdata.ibmec.repository;
+
+import com.bigdata.ibmec.DTO.FiltroClienteDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Monta a consulta da busca de clientes; cada filtro corresponde a um índice declarado nas entidades
+public final class ClienteSpecifications {
+
+    private ClienteSpecifications() {
+    }
+
+    public static Specification<Cliente> comFiltro(FiltroClienteDTO filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+
+            if (preenchido(filtro.getNome())) {
+                predicados.add(cb.like(root.get("nome"), escaparLike(filtro.getNome()) + "%", '\\'));
+            }
+            if (preenchido(filtro.getEmail())) {
+                predicados.add(cb.equal(root.get("email"), filtro.getEmail()));
+            }
+            if (preenchido(filtro.getCpf())) {
+                predicados.add(cb.equal(root.get("cpf"), filtro.getCpf()));
+            }
+            if (filtro.getNascidoDe() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("dataNascimento"), filtro.getNascidoDe()));
+            }
+            if (filtro.getNascidoAte() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("dataNascimento"), filtro.getNascidoAte()));
+            }
+
+            // Cidade/estado via EXISTS para não duplicar clientes com vários endereços na mesma cidade
+            if (preenchido(filtro.getCidade()) || preenchido(filtro.getEstado())) {
+                Subquery<Long> enderecos = query.subquery(Long.class);
+                Root<Endereco> endereco = enderecos.from(Endereco.class);
+                List<Predicate> predicadosEndereco = new ArrayList<>();
+                predicadosEndereco.add(cb.equal(endereco.get("cliente"), root));
+                if (preenchido(filtro.getEstado())) {
+                    predicadosEndereco.add(cb.equal(endereco.get("estado"), filtro.getEstado()));
+                }
+                if (preenchido(filtro.getCidade())) {
+                    predicadosEndereco.add(cb.equal(endereco.get("cidade"), filtro.getCidade()));
+                }
+                enderecos.select(endereco.get("id")).where(predicadosEndereco.toArray(Predicate[]::new));
+                predicados.add(cb.exists(enderecos));
+            }
+
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    private static boolean preenchido(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,22 @@
+package com.bigdata.ibmec.repository;
+
+import com.bigdata.ibmec.model.ConsumidorEventos;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ConsumidorEventosRepository extends JpaRepository<ConsumidorEventos, String> {
+
+    // Menor posição confirmada entre os consumidores vistos desde o limite (vazio sem consumidores ativos)
+    @Query("SELECT MIN(c.posicao) FROM ConsumidorEventos c WHERE c.atualizadoEm >= :limite")
+    Optional<Long> findMenorPosicaoDesde(@Param("limite") LocalDateTime limite);
+
+    // Consumidor parado há mais que a retenção deixa de segurar o descarte
+    @Modifying
+    @Query("DELETE FROM ConsumidorEventos c WHERE c.atualizadoEm < :limite")
+    int removerInativos(@Param("limite") LocalDateTime limite);
+}
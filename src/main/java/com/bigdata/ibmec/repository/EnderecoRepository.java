@@ -1,7 +1,50 @@
 package com.bigdata.ibmec.repository;
 
+import com.bigdata.ibmec.DTO.ClientesPorCidadeDTO;
+import com.bigdata.ibmec.DTO.ClientesPorEstadoDTO;
+import com.bigdata.ibmec.DTO.EnderecoResumoDTO;
 import com.bigdata.ibmec.model.Endereco;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
-}
\ No newline at end of file
+
+    // Projeção dos endereços direto no DTO; e.cliente.id vem da própria coluna cliente_id, sem join
+    @Query("SELECT new com.bigdata.ibmec.DTO.EnderecoResumoDTO(e.id, e.rua, e.numero, e.bairro, e.cidade, e.estado, e.cep, e.cliente.id) "
+            + "FROM Endereco e ORDER BY e.id")
+    List<EnderecoResumoDTO> findAllResumos();
+
+    // Endereços de um lote de clientes em uma consulta, usada pela exportação
+    @Query("SELECT new com.bigdata.ibmec.DTO.EnderecoResumoDTO(e.id, e.rua, e.numero, e.bairro, e.cidade, e.estado, e.cep, e.cliente.id) "
+            + "FROM Endereco e WHERE e.cliente.id IN :clienteIds ORDER BY e.id")
+    List<EnderecoResumoDTO> findResumosByClienteIdIn(@Param("clienteIds") List<Long> clienteIds);
+
+    // Endereços de uma lista de ids já com o cliente (sem a lista de endereços dele) em uma consulta
+    @Query("SELECT e FROM Endereco e LEFT JOIN FETCH e.cliente WHERE e.id IN :ids")
+    List<Endereco> findAllComClienteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Só o cliente dono do endereço, para travar o cliente antes de carregar o endereço
+    @Query("SELECT e.cliente.id FROM Endereco e WHERE e.id = :id")
+    Optional<Long> findClienteIdById(@Param("id") Long id);
+
+    // Clientes donos de uma lista de endereços (atualização em lote)
+    @Query("SELECT DISTINCT e.cliente.id FROM Endereco e WHERE e.id IN :ids AND e.cliente IS NOT NULL")
+    List<Long> findClienteIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Clientes distintos por estado, agrupados no banco pelo índice (estado, cidade)
+    // Um cliente com endereços em dois estados conta nos dois
+    @Query("SELECT new com.bigdata.ibmec.DTO.ClientesPorEstadoDTO(e.estado, COUNT(DISTINCT e.cliente.id)) "
+            + "FROM Endereco e GROUP BY e.estado ORDER BY COUNT(DISTINCT e.cliente.id) DESC, e.estado")
+    List<ClientesPorEstadoDTO> contarClientesPorEstado();
+
+    // Clientes distintos por cidade; estado nulo traz as cidades de todos os estados
+    @Query("SELECT new com.bigdata.ibmec.DTO.ClientesPorCidadeDTO(e.estado, e.cidade, COUNT(DISTINCT e.cliente.id)) "
+            + "FROM Endereco e WHERE (:estado IS NULL OR e.estado = :estado) "
+            + "GROUP BY e.estado, e.cidade ORDER BY COUNT(DISTINCT e.cliente.id) DESC, e.estado, e.cidade")
+    List<ClientesPorCidadeDTO> contarClientesPorCidade(@Param("estado") String estado);
+}
@@ -0,0 +1,29 @@
+package com.bigdata.ibmec.repository;
+
+import com.bigdata.ibmec.model.EventoCliente;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventoClienteRepository extends JpaRepository<EventoCliente, Long> {
+
+    // Próximo lote do fluxo a partir da posição, pela chave primária; as posições confirmam em ordem
+    // (contador_eventos), então nada com id menor aparece depois de um id maior já lido
+    @Query("SELECT e FROM EventoCliente e WHERE e.id > :posicao ORDER BY e.id")
+    List<EventoCliente> findApos(@Param("posicao") Long posicao, Limit limit);
+
+    // Consulta barata do long-poll: só busca o lote de quem espera quando o fluxo passou da posição dele
+    @Query("SELECT MAX(e.id) FROM EventoCliente e")
+    Optional<Long> findUltimaPosicao();
+
+    // Remove os eventos já lidos por todos os consumidores e os mais antigos que a retenção
+    @Modifying
+    @Query("DELETE FROM EventoCliente e WHERE e.id <= :posicao OR e.criadoEm < :limite")
+    int descartar(@Param("posicao") Long posicao, @Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,130 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+// Cache Caffeine do ClienteCache.NOME que nunca troca uma cópia do cliente por outra mais antiga
+// Uma escrita confirmada deixa no lugar da entrada uma marca com a versão gravada (ClienteCache.evict): uma
+// busca que leu o banco antes do commit e termina depois traz versão menor e não é guardada; a remoção do
+// cliente deixa uma marca que nenhuma versão passa. A marca sai junto com a expiração normal das entradas
+// Registrado no CaffeineCacheManager por ClienteCacheConfig, por baixo do @Cacheable de buscarClientePorId
+public class CacheClientes implements Cache<Object, Object> {
+
+    private final Cache<Object, Object> cache;
+
+    public CacheClientes(Cache<Object, Object> cache) {
+        this.cache = cache;
+    }
+
+    // Marca no lugar da entrada removida: só cópias com versão >= versaoMinima entram depois dela
+    record Removido(long versaoMinima) {
+    }
+
+    void marcarRemovido(Object id, long versaoMinima) {
+        cache.asMap().merge(id, new Removido(versaoMinima), CacheClientes::maisNova);
+    }
+
+    @Override
+    public Object getIfPresent(Object key) {
+        Object valor = cache.getIfPresent(key);
+        return valor instanceof Removido ? null : valor;
+    }
+
+    @Override
+    public Object get(Object key, Function<? super Object, ?> mappingFunction) {
+        Object valor = getIfPresent(key);
+        if (valor == null) {
+            valor = mappingFunction.apply(key);
+            if (valor != null) {
+                put(key, valor);
+            }
+        }
+        return valor;
+    }
+
+    @Override
+    public Map<Object, Object> getAllPresent(Iterable<?> keys) {
+        Map<Object, Object> presentes = new LinkedHashMap<>(cache.getAllPresent(keys));
+        presentes.values().removeIf(Removido.class::isInstance);
+        return presentes;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Iterable<?> keys,
+                                      Function<? super Set<?>, ? extends Map<?, ?>> mappingFunction) {
+        throw new UnsupportedOperationException("Carga em lote não é usada no cache de clientes");
+    }
+
+    // Entre duas cópias (ou cópia e marca) fica a de versão maior; empate fica com a que chegou
+    @Override
+    public void put(Object key, Object value) {
+        cache.asMap().merge(key, value, CacheClientes::maisNova);
+    }
+
+    @Override
+    public void putAll(Map<?, ?> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll(Iterable<?> keys) {
+        cache.invalidateAll(keys);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public ConcurrentMap<Object, Object> asMap() {
+        return cache.asMap();
+    }
+
+    @Override
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @Override
+    public Policy<Object, Object> policy() {
+        return cache.policy();
+    }
+
+    private static Object maisNova(Object atual, Object nova) {
+        return versao(nova) >= versao(atual) ? nova : atual;
+    }
+
+    private static long versao(Object valor) {
+        if (valor instanceof Removido removido) {
+            return removido.versaoMinima();
+        }
+        if (valor instanceof ClienteDetalheDTO cliente && cliente.getVersao() != null) {
+            return cliente.getVersao();
+        }
+        return Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bigdata.ibmec.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheSegundoNivel {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Para mudanças que o Hibernate grava sem passar pelo cache, como o incremento forçado de versão de um lock:
+    // trava (soft lock) só a entrada da entidade até o fim da transação, como ele faz num UPDATE comum
+    // Enquanto travada, leituras começadas antes do commit não conseguem regravar o estado antigo; depois,
+    // a próxima leitura traz do banco a versão nova. O resto da região continua no cache
+    public void travarAteOFimDaTransacao(Object entidade, Object id, Object versao) {
+        SessionImplementor sessao = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = sessao.getEntityPersister(null, entidade);
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        if (cache == null) {
+            return;
+        }
+
+        Object chave = cache.generateCacheKey(id, persister, sessao.getFactory(), sessao.getTenantIdentifier());
+        SoftLock trava = cache.lockItem(sessao, chave, versao);
+        sessao.getActionQueue().registerProcess((sucesso, sessaoDaTransacao) -> cache.unlockItem(sessaoDaTransacao, chave, trava));
+    }
+}
@@ -0,0 +1,66 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.config.LeiturasCoalescidas;
+import com.bigdata.ibmec.model.Cliente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.LongSupplier;
+
+@Component
+public class ClienteCache {
+
+    // Nome do cache usado por ClienteService.buscarClientePorId (guarda ClienteDetalheDTO, ver CacheClientes)
+    public static final String NOME = "clientes";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LeiturasCoalescidas leiturasCoalescidas;
+
+    // Remove o cliente do cache quando algo que aparece na resposta dele (inclusive endereços) muda
+    // Dentro de uma transação, a remoção só acontece após o commit e deixa a versão gravada como mínima:
+    // uma leitura concorrente que leu a versão anterior não a coloca de volta; pelo mesmo motivo as leituras
+    // em andamento do cliente deixam de aceitar novas chamadas
+    // A versão é lida da entidade no commit, depois do flush que a incrementou
+    public void evict(Cliente cliente) {
+        remover(cliente.getId(), () -> cliente.getVersao() == null ? Long.MIN_VALUE : cliente.getVersao());
+    }
+
+    // Cliente removido: nenhuma leitura em andamento volta a colocá-lo no cache
+    public void evictRemovido(Long clienteId) {
+        remover(clienteId, () -> Long.MAX_VALUE);
+    }
+
+    private void remover(Long clienteId, LongSupplier versaoMinima) {
+        Cache cache = cacheManager.getCache(NOME);
+        if (cache == null || clienteId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remover(cache, clienteId, versaoMinima.getAsLong());
+                }
+            });
+        } else {
+            remover(cache, clienteId, versaoMinima.getAsLong());
+        }
+    }
+
+    private void remover(Cache cache, Long clienteId, long versaoMinima) {
+        if (cache.getNativeCache() instanceof CacheClientes clientes) {
+            clientes.marcarRemovido(clienteId, versaoMinima);
+        } else {
+            cache.evict(clienteId);
+        }
+        leiturasCoalescidas.esquecer(clienteId);
+    }
+}
@@ -1,50 +1,119 @@
 package com.bigdata.ibmec.service;
 
+import com.bigdata.ibmec.config.LeituraCoalescida;
+import com.bigdata.ibmec.config.MetricasConfig;
 import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.bigdata.ibmec.DTO.ClienteResumoDTO;
+import com.bigdata.ibmec.DTO.FiltroClienteDTO;
+import com.bigdata.ibmec.DTO.LoteClientesDTO;
+import com.bigdata.ibmec.DTO.PaginaClientesDTO;
+import com.bigdata.ibmec.exceptions.ClienteNotFoundException;
+import com.bigdata.ibmec.exceptions.CursorInvalidoException;
 import com.bigdata.ibmec.exceptions.IdadeMinimaException;
+import com.bigdata.ibmec.exceptions.LoteIdsInvalidoException;
+import com.bigdata.ibmec.exceptions.OrdenacaoInvalidaException;
+import com.bigdata.ibmec.exceptions.VersaoDesatualizadaException;
 import com.bigdata.ibmec.model.Cliente;
 import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.TipoEventoCliente;
 import com.bigdata.ibmec.repository.ClienteRepository;
-import com.bigdata.ibmec.repository.EnderecoRepository;
+import com.bigdata.ibmec.repository.ClienteSpecifications;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+// Leituras em transação somente leitura (sem dirty checking nem flush); escritas sobrescrevem com @Transactional
 @Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+@Transactional(readOnly = true)
 public class ClienteService {
 
+    public static final int TAMANHO_PAGINA_PADRAO = 50;
+    public static final int TAMANHO_PAGINA_MAXIMO = 500;
+
+    // Ids aceitos por chamada da busca em lote e quantos vão em cada IN (...), abaixo do limite de parâmetros
+    // dos drivers; o Hibernate completa a lista até a próxima potência de 2 (in_clause_parameter_padding)
+    public static final int LOTE_IDS_MAXIMO = 1000;
+    public static final int LOTE_IDS_POR_CONSULTA = 500;
+
+    // Campos de ordenação aceitos pela busca (todos indexados)
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("id", "nome", "email", "cpf", "dataNascimento");
+
     @Autowired
     private ClienteRepository clienteRepository;
 
     @Autowired
-    private EnderecoRepository enderecoRepository;
+    private ClienteCache clienteCache;
+
+    @Autowired
+    private IndiceUnicidadeCliente indiceUnicidade;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    @Autowired
+    private EventosCliente eventosCliente;
 
     // Adiciona um cliente com endereço inicial usando DTO
+    @Transactional
     public Cliente adicionarClienteComEndereco(ClienteComEnderecoDTO clienteComEnderecoDTO) {
         Cliente cliente = clienteComEnderecoDTO.getCliente();
         Endereco endereco = clienteComEnderecoDTO.getEndereco();
 
         // Validação: Verifica se o cliente tem pelo menos 18 anos
-        if (calcularIdade(cliente.getDataNascimento()) < 18) {
-            throw new IdadeMinimaException();
-        }
+        validarIdadeMinima(cliente);
+
+        // CPF/e-mail repetido vira 409 aqui, sem esperar a constraint unique falhar no insert
+        indiceUnicidade.verificarDisponivel(cliente.getCpf(), cliente.getEmail(), null);
 
         // Adiciona o cliente ao endereço
         endereco.setCliente(cliente);
         cliente.getEnderecos().add(endereco);
 
-        // Salva o cliente e endereço
+        // Salva o cliente e, em cascata, o endereço na mesma transação
         clienteRepository.save(cliente);
-        enderecoRepository.save(endereco);
+        indiceUnicidade.registrar(cliente);
+        relatorioCache.invalidar();
+        eventosCliente.registrar(TipoEventoCliente.CLIENTE_CRIADO, cliente.getId(), null);
 
         return cliente;
     }
 
+    // Regra de negócio compartilhada com a importação em lote (estática para não passar pelo proxy transacional)
+    static void validarIdadeMinima(Cliente cliente) {
+        validarIdadeMinima(cliente.getDataNascimento());
+    }
+
+    // Mesma regra a partir só da data, usada também pela API reativa (com.bigdata.reativo)
+    public static void validarIdadeMinima(LocalDate dataNascimento) {
+        if (calcularIdade(dataNascimento) < 18) {
+            throw new IdadeMinimaException();
+        }
+    }
+
     // Método auxiliar para calcular a idade com base na data de nascimento
-    private int calcularIdade(LocalDate dataNascimento) {
+    private static int calcularIdade(LocalDate dataNascimento) {
         return Period.between(dataNascimento, LocalDate.now()).getYears();
     }
 
@@ -52,14 +121,149 @@ public class ClienteService {
         return clienteRepository.findAll();
     }
 
-    public Cliente buscarClientePorId(Long id) {
-        return clienteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+    // Lista uma página de clientes a partir do cursor (paginação por chave, sem OFFSET)
+    public PaginaClientesDTO<Cliente> listarPagina(String cursor, int tamanho) {
+        long ultimoId = decodificarCursor(cursor);
+        int tamanhoPagina = limitarTamanhoPagina(tamanho);
+
+        // Busca um id a mais para saber se existe uma próxima página
+        List<Long> ids = clienteRepository.findIdsApos(ultimoId, Limit.of(tamanhoPagina + 1));
+
+        String proximoCursor = null;
+        if (ids.size() > tamanhoPagina) {
+            ids = ids.subList(0, tamanhoPagina);
+            proximoCursor = codificarCursor(ids.get(tamanhoPagina - 1));
+        }
+
+        // Segunda consulta traz os clientes da página com os endereços, sem consultas por cliente
+        List<Cliente> clientes = ids.isEmpty() ? List.of() : clienteRepository.findAllComEnderecosByIdIn(ids);
+
+        return new PaginaClientesDTO<>(clientes, proximoCursor);
+    }
+
+    // Mesma listagem por cursor, na visão resumida: uma consulta só, sem hidratar entidades
+    public PaginaClientesDTO<ClienteResumoDTO> listarPaginaResumida(String cursor, int tamanho) {
+        long ultimoId = decodificarCursor(cursor);
+        int tamanhoPagina = limitarTamanhoPagina(tamanho);
+
+        List<ClienteResumoDTO> resumos = clienteRepository.findResumosApos(ultimoId, Limit.of(tamanhoPagina + 1));
+
+        String proximoCursor = null;
+        if (resumos.size() > tamanhoPagina) {
+            resumos = resumos.subList(0, tamanhoPagina);
+            proximoCursor = codificarCursor(resumos.get(tamanhoPagina - 1).getId());
+        }
+
+        return new PaginaClientesDTO<>(resumos, proximoCursor);
+    }
+
+    private int limitarTamanhoPagina(int tamanho) {
+        return Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+    }
+
+    // Busca clientes por filtros opcionais, com ordenação e paginação
+    public Page<Cliente> buscar(FiltroClienteDTO filtro, Pageable pageable) {
+        for (Sort.Order ordem : pageable.getSort()) {
+            if (!CAMPOS_ORDENACAO.contains(ordem.getProperty())) {
+                throw new OrdenacaoInvalidaException(ordem.getProperty());
+            }
+        }
+
+        Page<Cliente> pagina = clienteRepository.findAll(ClienteSpecifications.comFiltro(filtro), pageable);
+        if (pagina.isEmpty()) {
+            return pagina;
+        }
+
+        // Recarrega a página com os endereços em uma consulta e mantém a ordem da busca
+        List<Long> ids = pagina.getContent().stream().map(Cliente::getId).toList();
+        Map<Long, Cliente> comEnderecos = clienteRepository.findAllComEnderecosByIdIn(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        List<Cliente> clientes = ids.stream().map(comEnderecos::get).toList();
+
+        return new PageImpl<>(clientes, pageable, pagina.getTotalElements());
+    }
+
+    // Busca vários clientes com os endereços, uma consulta por LOTE_IDS_POR_CONSULTA ids, na ordem pedida
+    // (ids repetidos aparecem uma vez); os que não existem voltam em naoEncontrados em vez de falhar o lote
+    public LoteClientesDTO buscarClientesPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > LOTE_IDS_MAXIMO) {
+            throw new LoteIdsInvalidoException(LOTE_IDS_MAXIMO);
+        }
+
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Cliente> encontrados = new HashMap<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += LOTE_IDS_POR_CONSULTA) {
+            List<Long> consulta = distintos.subList(inicio, Math.min(inicio + LOTE_IDS_POR_CONSULTA, distintos.size()));
+            clienteRepository.findAllComEnderecosByIdIn(consulta).forEach(cliente -> encontrados.put(cliente.getId(), cliente));
+        }
+
+        List<Cliente> clientes = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long id : distintos) {
+            Cliente cliente = encontrados.get(id);
+            if (cliente != null) {
+                clientes.add(cliente);
+            } else {
+                naoEncontrados.add(id);
+            }
+        }
+        return new LoteClientesDTO(clientes, naoEncontrados);
+    }
+
+    // O cursor é o último id da página codificado em Base64, opaco para o cliente da API
+    private String codificarCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+
+    // Consulta mais frequente da API: fica em cache até o cliente ou um endereço dele mudar
+    // Em falta no cache, buscas simultâneas pelo mesmo id fazem uma consulta só
+    // Devolve (e guarda) uma cópia imutável com a versão, não a entidade
+    @Cacheable(cacheNames = ClienteCache.NOME, key = "#id")
+    @LeituraCoalescida("cliente")
+    public ClienteDetalheDTO buscarClientePorId(Long id) {
+        return clienteRepository.findComEnderecosById(id)
+                .map(ClienteDetalheDTO::de)
+                .orElseThrow(() -> new ClienteNotFoundException(id));
     }
 
+    // Versão atual do cliente (inclui mudanças nos endereços), usada como ETag
+    public Long buscarVersao(Long id) {
+        return clienteRepository.findVersaoById(id)
+                .orElseThrow(() -> new ClienteNotFoundException(id));
+    }
+
+    @Transactional
     public Cliente atualizarDadosCliente(Long id, Cliente clienteAtualizado) {
+        return atualizarDadosCliente(id, clienteAtualizado, null);
+    }
+
+    // versaoEsperada vem do If-Match; nula quando o cliente da API não pediu controle de concorrência
+    @Transactional
+    public Cliente atualizarDadosCliente(Long id, Cliente clienteAtualizado, Long versaoEsperada) {
         Cliente clienteExistente = clienteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+                .orElseThrow(() -> new ClienteNotFoundException(id));
+
+        if (versaoEsperada != null && !versaoEsperada.equals(clienteExistente.getVersao())) {
+            throw new VersaoDesatualizadaException(versaoEsperada, clienteExistente.getVersao());
+        }
+
+        // Só checa o que mudou; manter o próprio CPF/e-mail não custa consulta
+        indiceUnicidade.verificarDisponivel(
+                Objects.equals(clienteAtualizado.getCpf(), clienteExistente.getCpf()) ? null : clienteAtualizado.getCpf(),
+                Objects.equals(clienteAtualizado.getEmail(), clienteExistente.getEmail()) ? null : clienteAtualizado.getEmail(),
+                id);
 
         clienteExistente.setNome(clienteAtualizado.getNome());
         clienteExistente.setEmail(clienteAtualizado.getEmail());
@@ -67,12 +271,21 @@ public class ClienteService {
         clienteExistente.setDataNascimento(clienteAtualizado.getDataNascimento());
         clienteExistente.setTelefone(clienteAtualizado.getTelefone());
 
-        return clienteRepository.save(clienteExistente);
+        Cliente clienteSalvo = clienteRepository.save(clienteExistente);
+        indiceUnicidade.registrar(clienteExistente);
+        clienteCache.evict(clienteExistente);
+        relatorioCache.invalidar();
+        eventosCliente.registrar(TipoEventoCliente.CLIENTE_ATUALIZADO, id, null);
+        return clienteSalvo;
     }
 
+    @Transactional
     public void deletarCliente(Long id) {
         Cliente cliente = clienteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+                .orElseThrow(() -> new ClienteNotFoundException(id));
         clienteRepository.delete(cliente);
+        clienteCache.evictRemovido(id);
+        relatorioCache.invalidar();
+        eventosCliente.registrar(TipoEventoCliente.CLIENTE_REMOVIDO, id, null);
     }
 }
@@ -1,15 +1,36 @@
 package com.bigdata.ibmec.service;
 
+import com.bigdata.ibmec.config.LeituraCoalescida;
+import com.bigdata.ibmec.config.MetricasConfig;
+import com.bigdata.ibmec.DTO.EnderecoResumoDTO;
+import com.bigdata.ibmec.DTO.EnderecosClienteDTO;
+import com.bigdata.ibmec.exceptions.ClienteNotFoundException;
+import com.bigdata.ibmec.exceptions.EnderecoNotFoundException;
+import com.bigdata.ibmec.exceptions.EnderecoSemIdNoLoteException;
+import com.bigdata.ibmec.exceptions.VersaoDesatualizadaException;
 import com.bigdata.ibmec.model.Cliente;
 import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.TipoEventoCliente;
 import com.bigdata.ibmec.repository.ClienteRepository;
 import com.bigdata.ibmec.repository.EnderecoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+@Transactional(readOnly = true)
 public class EnderecoService {
 
     @Autowired
@@ -18,24 +39,74 @@ public class EnderecoService {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private ClienteCache clienteCache;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    @Autowired
+    private EventosCliente eventosCliente;
+
+    @Autowired
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    // Versão do cliente dono dos endereços, usada como ETag da lista; só para o If-None-Match
+    public Long buscarVersaoCliente(Long clienteId) {
+        return clienteRepository.findVersaoById(clienteId)
+                .orElseThrow(() -> new ClienteNotFoundException(clienteId));
+    }
+
     // Busca todos os endereços de um cliente específico
     public List<Endereco> listarEnderecosPorCliente(Long clienteId) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+        return carregarComEnderecos(clienteId).getEnderecos();
+    }
 
-        // Retorna a lista de endereços do cliente
-        return cliente.getEnderecos();
+    // Endereços e versão do cliente na mesma leitura, para o GET sem If-None-Match não consultar a versão à parte
+    // Chamadas simultâneas para o mesmo cliente dividem a consulta
+    @LeituraCoalescida("enderecos")
+    public EnderecosClienteDTO listarEnderecosComVersao(Long clienteId) {
+        Cliente cliente = carregarComEnderecos(clienteId);
+        return new EnderecosClienteDTO(cliente.getVersao(), cliente.getEnderecos());
     }
 
-    // Adiciona um novo endereço a um cliente existente
-    public Endereco adicionarEndereco(Long clienteId, Endereco endereco) {
+    private Cliente carregarComEnderecos(Long clienteId) {
         Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+                .orElseThrow(() -> new ClienteNotFoundException(clienteId));
+
+        // Inicializa a lista dentro da transação para que possa ser serializada depois dela
+        Hibernate.initialize(cliente.getEnderecos());
+        return cliente;
+    }
 
+    // Adiciona um novo endereço a um cliente existente, sem carregar a lista de endereços dele
+    @Transactional
+    public Endereco adicionarEndereco(Long clienteId, Endereco endereco) {
+        Cliente cliente = avancarVersaoCliente(clienteId);
         endereco.setCliente(cliente);
-        cliente.getEnderecos().add(endereco);
+        Endereco novoEndereco = enderecoRepository.save(endereco);
+        clienteCache.evict(cliente);
+        relatorioCache.invalidar();
+        eventosCliente.registrar(TipoEventoCliente.ENDERECO_CRIADO, clienteId, novoEndereco.getId());
+        return novoEndereco;
+    }
 
-        return enderecoRepository.save(endereco);
+    // Adiciona vários endereços ao cliente em uma transação, sem carregar a lista de endereços dele
+    @Transactional
+    public List<Endereco> adicionarEnderecos(Long clienteId, List<Endereco> enderecos) {
+        Cliente cliente = avancarVersaoCliente(clienteId);
+        for (Endereco endereco : enderecos) {
+            endereco.setId(null);
+            endereco.setVersao(null);
+            endereco.setCliente(cliente);
+        }
+
+        // Ids da sequência em blocos e inserts agrupados em lotes JDBC
+        List<Endereco> novosEnderecos = enderecoRepository.saveAll(enderecos);
+        clienteCache.evict(cliente);
+        relatorioCache.invalidar();
+        eventosCliente.registrarEnderecos(TipoEventoCliente.ENDERECO_CRIADO, novosEnderecos);
+        return novosEnderecos;
     }
 
     // Lista todos os endereços
@@ -43,26 +114,134 @@ public class EnderecoService {
         return enderecoRepository.findAll();
     }
 
+    // Lista todos os endereços na visão resumida (projeção, sem entidades gerenciadas)
+    public List<EnderecoResumoDTO> listarTodosResumidos() {
+        return enderecoRepository.findAllResumos();
+    }
+
     // Atualiza um endereço específico
+    @Transactional
     public Endereco atualizarEndereco(Long id, Endereco enderecoAtualizado) {
+        return atualizarEndereco(id, enderecoAtualizado, null);
+    }
+
+    // versaoEsperada vem do If-Match; nula quando o cliente da API não pediu controle de concorrência
+    @Transactional
+    public Endereco atualizarEndereco(Long id, Endereco enderecoAtualizado, Long versaoEsperada) {
+        // O cliente é travado antes de o endereço trazê-lo junto, para a versão dele ser lida já travada
+        enderecoRepository.findClienteIdById(id).ifPresent(this::avancarVersaoCliente);
         Endereco enderecoExistente = enderecoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Endereço não encontrado"));
+                .orElseThrow(() -> new EnderecoNotFoundException(id));
+
+        // Versão desatualizada desfaz a transação, e com ela o incremento da versão do cliente
+        if (versaoEsperada != null && !versaoEsperada.equals(enderecoExistente.getVersao())) {
+            throw new VersaoDesatualizadaException(versaoEsperada, enderecoExistente.getVersao());
+        }
+
+        copiarDados(enderecoAtualizado, enderecoExistente);
+
+        Endereco endereco = enderecoRepository.save(enderecoExistente);
+        if (enderecoExistente.getCliente() != null) {
+            clienteCache.evict(enderecoExistente.getCliente());
+            eventosCliente.registrar(TipoEventoCliente.ENDERECO_ATUALIZADO, enderecoExistente.getCliente().getId(), id);
+        }
+        relatorioCache.invalidar();
+        return endereco;
+    }
+
+    // Atualiza vários endereços pelo id: uma consulta para carregar todos e os updates agrupados no flush
+    @Transactional
+    public List<Endereco> atualizarEnderecos(List<Endereco> enderecosAtualizados) {
+        Map<Long, Endereco> atualizacoesPorId = new LinkedHashMap<>();
+        for (Endereco atualizado : enderecosAtualizados) {
+            // Sem id não há o que atualizar; sem esta checagem o item viraria um 404 de id nulo
+            if (atualizado.getId() == null) {
+                throw new EnderecoSemIdNoLoteException();
+            }
+            atualizacoesPorId.put(atualizado.getId(), atualizado);
+        }
+
+        // Os clientes afetados são travados (e têm a versão avançada) antes de os endereços trazê-los junto
+        Set<Long> clientesAfetados = new LinkedHashSet<>(enderecoRepository.findClienteIdsByIdIn(atualizacoesPorId.keySet()));
+        List<Cliente> clientesTravados = clientesAfetados.isEmpty()
+                ? List.of()
+                : clienteRepository.findAllComVersaoAvancadaByIdIn(clientesAfetados);
+        clientesTravados.forEach(this::travarNoCache);
+
+        Map<Long, Endereco> existentesPorId = enderecoRepository.findAllComClienteByIdIn(atualizacoesPorId.keySet()).stream()
+                .collect(Collectors.toMap(Endereco::getId, Function.identity()));
 
-        // Atualiza apenas os dados do endereço, sem mexer no cliente
-        enderecoExistente.setRua(enderecoAtualizado.getRua());
-        enderecoExistente.setNumero(enderecoAtualizado.getNumero());
-        enderecoExistente.setBairro(enderecoAtualizado.getBairro());
-        enderecoExistente.setCidade(enderecoAtualizado.getCidade());
-        enderecoExistente.setEstado(enderecoAtualizado.getEstado());
-        enderecoExistente.setCep(enderecoAtualizado.getCep());
+        List<Endereco> enderecos = new ArrayList<>(atualizacoesPorId.size());
+        atualizacoesPorId.forEach((id, atualizado) -> {
+            Endereco existente = existentesPorId.get(id);
+            if (existente == null) {
+                throw new EnderecoNotFoundException(id);
+            }
+            enderecos.add(existente);
+        });
 
-        return enderecoRepository.save(enderecoExistente);
+        enderecos.forEach(existente -> copiarDados(atualizacoesPorId.get(existente.getId()), existente));
+        clientesTravados.forEach(clienteCache::evict);
+        relatorioCache.invalidar();
+        eventosCliente.registrarEnderecos(TipoEventoCliente.ENDERECO_ATUALIZADO,
+                enderecos.stream().filter(endereco -> endereco.getCliente() != null).toList());
+        return enderecos;
+    }
+
+    // Remove todos os endereços do cliente; devolve quantos foram removidos
+    // Removidos como entidades (DELETEs agrupados em lote JDBC, com checagem de versão): só as entradas desses
+    // endereços e da lista do cliente saem do cache de segundo nível. O incremento da versão trava o cliente,
+    // então nenhum endereço novo dele entra entre a leitura da lista e os DELETEs
+    @Transactional
+    public int deletarEnderecosDoCliente(Long clienteId) {
+        Cliente cliente = avancarVersaoCliente(clienteId);
+
+        // A lista sai do cliente antes, para o cascade não tentar regravar os endereços removidos
+        List<Endereco> enderecos = new ArrayList<>(cliente.getEnderecos());
+        cliente.getEnderecos().clear();
+        enderecoRepository.deleteAll(enderecos);
+        clienteCache.evict(cliente);
+        relatorioCache.invalidar();
+        eventosCliente.registrarEnderecos(TipoEventoCliente.ENDERECO_REMOVIDO, enderecos);
+        return enderecos.size();
     }
 
     // Deleta um endereço específico
+    @Transactional
     public void deletarEndereco(Long id) {
+        enderecoRepository.findClienteIdById(id).ifPresent(this::avancarVersaoCliente);
         Endereco endereco = enderecoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Endereço não encontrado"));
+                .orElseThrow(() -> new EnderecoNotFoundException(id));
         enderecoRepository.delete(endereco);
+        if (endereco.getCliente() != null) {
+            clienteCache.evict(endereco.getCliente());
+            eventosCliente.registrar(TipoEventoCliente.ENDERECO_REMOVIDO, endereco.getCliente().getId(), id);
+        }
+        relatorioCache.invalidar();
+    }
+
+    // Atualiza apenas os dados do endereço, sem mexer no cliente
+    private static void copiarDados(Endereco origem, Endereco destino) {
+        destino.setRua(origem.getRua());
+        destino.setNumero(origem.getNumero());
+        destino.setBairro(origem.getBairro());
+        destino.setCidade(origem.getCidade());
+        destino.setEstado(origem.getEstado());
+        destino.setCep(origem.getCep());
+    }
+
+    // Os endereços fazem parte da representação do cliente: mudar um deles avança a versão (e o ETag) do cliente
+    // Incremento forçado com a linha travada, na própria entidade: edições simultâneas de endereços diferentes
+    // se enfileiram em vez de dar 409, e só a entrada desse cliente no cache de segundo nível é afetada
+    private Cliente avancarVersaoCliente(Long clienteId) {
+        Cliente cliente = clienteRepository.findComVersaoAvancadaById(clienteId)
+                .orElseThrow(() -> new ClienteNotFoundException(clienteId));
+        travarNoCache(cliente);
+        return cliente;
+    }
+
+    // O incremento forçado vai só ao banco; a entrada do cliente no cache de segundo nível fica travada até o commit
+    private void travarNoCache(Cliente cliente) {
+        cacheSegundoNivel.travarAteOFimDaTransacao(cliente, cliente.getId(), cliente.getVersao());
     }
 }
@@ -0,0 +1,150 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.LoteEventosDTO;
+import com.bigdata.ibmec.exceptions.EsperasEventosEsgotadasException;
+import com.bigdata.ibmec.model.EventoCliente;
+import com.bigdata.ibmec.repository.EventoClienteRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Long-poll de /eventos sem thread presa: a requisição fica em um DeferredResult e uma única thread responde
+// a todas quando chega evento novo (aviso do commit nesta instância) ou, para as outras instâncias, a cada
+// intervalo-consulta, que só custa um SELECT MAX(id) enquanto houver alguém esperando
+// O número de esperas é limitado; passando dele a chamada recebe 503 em vez de ocupar memória sem fim
+@Component
+public class EsperasEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(EsperasEventos.class);
+
+    // Folga do timeout do container sobre o prazo da espera, que é encerrada antes pelo agendador
+    private static final long MARGEM_TIMEOUT_MS = 5_000;
+
+    @Autowired
+    private EventoClienteRepository eventoClienteRepository;
+
+    private final int maximo;
+    private final Duration intervaloConsulta;
+    private final Semaphore vagas;
+    private final Set<Espera> esperas = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean verificacaoAgendada = new AtomicBoolean();
+
+    private ScheduledExecutorService agendador;
+
+    public EsperasEventos(@Value("${ibmec.eventos.esperas-maximas:500}") int maximo,
+                          @Value("${ibmec.eventos.intervalo-consulta:500ms}") Duration intervaloConsulta) {
+        this.maximo = maximo;
+        this.intervaloConsulta = intervaloConsulta;
+        this.vagas = new Semaphore(maximo);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("eventos-long-poll").daemon(true).factory());
+        agendador.scheduleWithFixedDelay(this::verificar, intervaloConsulta.toMillis(), intervaloConsulta.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Quem ainda espera recebe um lote vazio e volta a chamar, já em outra instância
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+        esperas.forEach(espera -> concluir(espera, vazio(espera)));
+    }
+
+    // Registra a espera e já confere uma vez: um commit entre a consulta de quem chamou e o registro não é perdido
+    public DeferredResult<LoteEventosDTO> aguardar(long posicao, int limite, long esperaMs) {
+        if (!vagas.tryAcquire()) {
+            throw new EsperasEventosEsgotadasException(maximo);
+        }
+
+        Espera espera = new Espera(posicao, limite, new DeferredResult<>(esperaMs + MARGEM_TIMEOUT_MS));
+        espera.resultado().onTimeout(() -> concluir(espera, vazio(espera)));
+        espera.resultado().onError(erro -> concluir(espera, vazio(espera)));
+        esperas.add(espera);
+        try {
+            agendador.schedule(() -> concluir(espera, vazio(espera)), esperaMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            concluir(espera, vazio(espera));
+        }
+        avisar();
+        return espera.resultado();
+    }
+
+    // Chamado depois do commit de eventos; vários avisos seguidos viram uma só verificação
+    public void avisar() {
+        if (!verificacaoAgendada.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            agendador.execute(() -> {
+                verificacaoAgendada.set(false);
+                verificar();
+            });
+        } catch (RejectedExecutionException e) {
+            verificacaoAgendada.set(false);
+        }
+    }
+
+    int getAguardando() {
+        return esperas.size();
+    }
+
+    // Uma consulta por posição distinta: consumidores parados no mesmo ponto do fluxo dividem o mesmo lote
+    private void verificar() {
+        if (esperas.isEmpty()) {
+            return;
+        }
+        try {
+            long ultima = eventoClienteRepository.findUltimaPosicao().orElse(0L);
+            Map<List<Long>, List<Espera>> porPosicao = esperas.stream()
+                    .filter(espera -> espera.posicao() < ultima)
+                    .collect(Collectors.groupingBy(espera -> List.of(espera.posicao(), (long) espera.limite())));
+            porPosicao.forEach((chave, grupo) -> {
+                List<EventoCliente> eventos = eventoClienteRepository.findApos(chave.get(0), Limit.of(chave.get(1).intValue()));
+                if (!eventos.isEmpty()) {
+                    LoteEventosDTO lote = new LoteEventosDTO(eventos, eventos.get(eventos.size() - 1).getId());
+                    grupo.forEach(espera -> concluir(espera, lote));
+                }
+            });
+        } catch (RuntimeException e) {
+            // O agendador não pode morrer: as esperas continuam e a próxima volta tenta de novo
+            log.warn("Falha ao verificar eventos novos para o long-poll", e);
+        }
+    }
+
+    // Só quem tira a espera do conjunto responde e devolve a vaga; prazo, aviso e erro podem chegar juntos
+    private void concluir(Espera espera, LoteEventosDTO lote) {
+        if (esperas.remove(espera)) {
+            vagas.release();
+            espera.resultado().setResult(lote);
+        }
+    }
+
+    private static LoteEventosDTO vazio(Espera espera) {
+        return new LoteEventosDTO(List.of(), espera.posicao());
+    }
+
+    // DeferredResult não sobrescreve equals: duas esperas na mesma posição continuam sendo entradas diferentes
+    private record Espera(long posicao, int limite, DeferredResult<LoteEventosDTO> resultado) {
+    }
+}
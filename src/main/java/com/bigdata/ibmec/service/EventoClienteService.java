@@ -0,0 +1,126 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.config.MetricasConfig;
+import com.bigdata.ibmec.DTO.LoteEventosDTO;
+import com.bigdata.ibmec.exceptions.ConsumidorEventosInvalidoException;
+import com.bigdata.ibmec.model.ConsumidorEventos;
+import com.bigdata.ibmec.model.EventoCliente;
+import com.bigdata.ibmec.repository.ConsumidorEventosRepository;
+import com.bigdata.ibmec.repository.EventoClienteRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Leitura incremental da outbox (change data capture para o índice de busca e o data warehouse)
+// Sem transação em volta dos métodos; o long-poll devolve um DeferredResult e não segura thread nem conexão
+@Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+public class EventoClienteService {
+
+    public static final int LIMITE_PADRAO = 500;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    // Long-poll: a espera é limitada; quem acorda as esperas é EsperasEventos
+    public static final long ESPERA_MAXIMA_MS = 30_000;
+
+    // Consultas da requisição no pior caso: a posição do consumidor, o descarte e a primeira leitura
+    // (as consultas feitas enquanto a chamada espera rodam fora dela, em EsperasEventos)
+    public static final int COMANDOS_MAXIMOS = 8;
+
+    private static final int TAMANHO_MAXIMO_CONSUMIDOR = 100;
+
+    @Autowired
+    private EventoClienteRepository eventoClienteRepository;
+
+    @Autowired
+    private ConsumidorEventosRepository consumidorEventosRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EsperasEventos esperasEventos;
+
+    // Evento mais antigo que isso é descartado mesmo sem ter sido lido por todos
+    @Value("${ibmec.eventos.retencao:7d}")
+    private Duration retencao;
+
+    @Value("${ibmec.eventos.intervalo-descarte:1m}")
+    private Duration intervaloDescarte;
+
+    private final AtomicLong proximoDescarte = new AtomicLong();
+
+    // Eventos depois da posição, até limite; com consumidor, a posição informada confirma tudo até ela como lido por ele
+    public LoteEventosDTO buscarEventos(long posicao, int limite, String consumidor) {
+        if (consumidor != null) {
+            confirmarPosicao(consumidor, posicao);
+        }
+        descartarSePreciso();
+
+        List<EventoCliente> eventos = eventoClienteRepository.findApos(posicao, Limit.of(tamanhoLote(limite)));
+        long proximaPosicao = eventos.isEmpty() ? posicao : eventos.get(eventos.size() - 1).getId();
+        return new LoteEventosDTO(eventos, proximaPosicao);
+    }
+
+    // Como buscarEventos, mas sem nada novo a resposta fica pendente até chegar evento ou passar esperaMs
+    public DeferredResult<LoteEventosDTO> aguardarEventos(long posicao, int limite, long esperaMs, String consumidor) {
+        LoteEventosDTO lote = buscarEventos(posicao, limite, consumidor);
+        long espera = Math.max(0, Math.min(esperaMs, ESPERA_MAXIMA_MS));
+        if (!lote.getEventos().isEmpty() || espera == 0) {
+            DeferredResult<LoteEventosDTO> resultado = new DeferredResult<>();
+            resultado.setResult(lote);
+            return resultado;
+        }
+        return esperasEventos.aguardar(posicao, tamanhoLote(limite), espera);
+    }
+
+    private static int tamanhoLote(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    // A posição só avança: uma releitura de trecho antigo não traz de volta eventos já descartados
+    private void confirmarPosicao(String consumidor, long posicao) {
+        if (consumidor.isBlank() || consumidor.length() > TAMANHO_MAXIMO_CONSUMIDOR) {
+            throw new ConsumidorEventosInvalidoException(TAMANHO_MAXIMO_CONSUMIDOR);
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ConsumidorEventos registro = consumidorEventosRepository.findById(consumidor)
+                    .orElseGet(() -> new ConsumidorEventos(consumidor, posicao, null));
+            registro.setPosicao(Math.max(registro.getPosicao(), posicao));
+            registro.setAtualizadoEm(LocalDateTime.now());
+            consumidorEventosRepository.save(registro);
+        });
+    }
+
+    // Sem agendador na aplicação, o descarte roda nas próprias leituras, no máximo uma vez por intervalo
+    // e por uma chamada só
+    private void descartarSePreciso() {
+        long agora = System.currentTimeMillis();
+        long previsto = proximoDescarte.get();
+        if (agora < previsto || !proximoDescarte.compareAndSet(previsto, agora + intervaloDescarte.toMillis())) {
+            return;
+        }
+        descartar();
+    }
+
+    // Apaga o que todos os consumidores ativos já leram e o que passou da retenção; devolve quantos eventos saíram
+    public int descartar() {
+        LocalDateTime limiteRetencao = LocalDateTime.now().minus(retencao);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            consumidorEventosRepository.removerInativos(limiteRetencao);
+            long lidoPorTodos = consumidorEventosRepository.findMenorPosicaoDesde(limiteRetencao).orElse(0L);
+            return eventoClienteRepository.descartar(lidoPorTodos, limiteRetencao);
+        });
+    }
+}
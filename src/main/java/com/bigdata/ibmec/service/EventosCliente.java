@@ -0,0 +1,129 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Escrita da outbox (tabela evento_cliente): sempre dentro da transação da mudança, que confirma ou
+// desfaz os dois juntos; sem transação aberta a chamada falha em vez de publicar algo que pode não existir
+// Os eventos são só acumulados na chamada e gravados no fim da transação, depois do flush das entidades e
+// logo antes do commit, com posições tiradas do contador_eventos
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class EventosCliente {
+
+    private static final String CONTADOR = "evento_cliente";
+
+    private static final String INSERT =
+            "INSERT INTO evento_cliente (id, tipo, cliente_id, endereco_id, criado_em) VALUES (?, ?, ?, ?, ?)";
+
+    // O UPDATE trava a linha do contador até o commit: outra transação só pega posições depois desta confirmar,
+    // então um leitor que viu a posição N já vê todas as anteriores (nenhuma confirma depois com número menor)
+    private static final String RESERVAR = "UPDATE contador_eventos SET valor = valor + ? WHERE nome = ?";
+    private static final String ULTIMA_RESERVADA = "SELECT valor FROM contador_eventos WHERE nome = ?";
+
+    // Criado no primeiro uso a partir do maior id existente: numa base que já tinha eventos o fluxo continua de onde estava
+    private static final String INICIAR = "INSERT INTO contador_eventos (nome, valor) "
+            + "SELECT ?, COALESCE(MAX(id), 0) FROM evento_cliente "
+            + "WHERE NOT EXISTS (SELECT 1 FROM contador_eventos WHERE nome = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EsperasEventos esperasEventos;
+
+    public void registrar(TipoEventoCliente tipo, Long clienteId, Long enderecoId) {
+        pendentes().adicionar(tipo, clienteId, enderecoId);
+    }
+
+    public void registrarClientes(TipoEventoCliente tipo, List<Cliente> clientes) {
+        EventosPendentes pendentes = pendentes();
+        clientes.forEach(cliente -> pendentes.adicionar(tipo, cliente.getId(), null));
+    }
+
+    public void registrarEnderecos(TipoEventoCliente tipo, List<Endereco> enderecos) {
+        EventosPendentes pendentes = pendentes();
+        enderecos.forEach(endereco -> pendentes.adicionar(tipo, endereco.getCliente().getId(), endereco.getId()));
+    }
+
+    // Um acumulador por transação; o Hibernate o executa no beforeTransactionCompletion, depois do flush do commit
+    private EventosPendentes pendentes() {
+        EventosPendentes pendentes = (EventosPendentes) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            pendentes = new EventosPendentes();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    esperasEventos.avisar();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventosCliente.this);
+                }
+            });
+            entityManager.unwrap(SessionImplementor.class).getActionQueue().registerProcess(pendentes);
+        }
+        return pendentes;
+    }
+
+    // Inserts em um lote JDBC, fora do Hibernate; uma falha aqui desfaz a transação inteira
+    private class EventosPendentes implements BeforeTransactionCompletionProcess {
+
+        private final List<Object[]> eventos = new ArrayList<>();
+
+        void adicionar(TipoEventoCliente tipo, Long clienteId, Long enderecoId) {
+            eventos.add(new Object[]{null, tipo.name(), clienteId, enderecoId, null});
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            if (eventos.isEmpty()) {
+                return;
+            }
+
+            if (jdbcTemplate.update(RESERVAR, eventos.size(), CONTADOR) == 0) {
+                criarContador();
+                if (jdbcTemplate.update(RESERVAR, eventos.size(), CONTADOR) == 0) {
+                    throw new IllegalStateException("Contador de eventos '" + CONTADOR + "' não encontrado");
+                }
+            }
+            long posicao = jdbcTemplate.queryForObject(ULTIMA_RESERVADA, Long.class, CONTADOR) - eventos.size();
+            LocalDateTime agora = LocalDateTime.now();
+            for (Object[] evento : eventos) {
+                evento[0] = ++posicao;
+                evento[4] = agora;
+            }
+            jdbcTemplate.batchUpdate(INSERT, eventos);
+        }
+
+        // Outra transação criando ao mesmo tempo ganha a corrida; a reserva seguinte usa a linha dela
+        private void criarContador() {
+            try {
+                jdbcTemplate.update(INICIAR, CONTADOR, CONTADOR);
+            } catch (DuplicateKeyException e) {
+                // Já criado
+            }
+        }
+    }
+}
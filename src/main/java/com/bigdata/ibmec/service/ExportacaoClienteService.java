@@ -0,0 +1,106 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.config.MetricasConfig;
+import com.bigdata.ibmec.DTO.ClienteExportacaoDTO;
+import com.bigdata.ibmec.DTO.EnderecoResumoDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.repository.EnderecoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+public class ExportacaoClienteService {
+
+    // Clientes mantidos em memória de cada vez; também é o tamanho do IN (...) da busca de endereços
+    static final int TAMANHO_LOTE = 500;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Escreve todos os clientes com seus endereços em NDJSON (um cliente por linha), em memória constante
+    @Transactional(readOnly = true)
+    public long exportarNdjson(OutputStream saida) throws IOException {
+        // O hint de CacheMode do streamTodos só vale enquanto o cursor é aberto; as linhas hidratadas depois
+        // seguem o modo da sessão, então a varredura ignora o cache de segundo nível pela sessão inteira
+        Session sessao = entityManager.unwrap(Session.class);
+        CacheMode modoAnterior = sessao.getCacheMode();
+        sessao.setCacheMode(CacheMode.IGNORE);
+        try {
+            return exportar(saida);
+        } finally {
+            sessao.setCacheMode(modoAnterior);
+        }
+    }
+
+    private long exportar(OutputStream saida) throws IOException {
+        long total = 0;
+        List<Cliente> lote = new ArrayList<>(TAMANHO_LOTE);
+
+        try (Stream<Cliente> clientes = clienteRepository.streamTodos();
+             SequenceWriter escritor = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(saida)) {
+            for (Cliente cliente : (Iterable<Cliente>) clientes::iterator) {
+                lote.add(cliente);
+                if (lote.size() == TAMANHO_LOTE) {
+                    total += escreverLote(lote, escritor);
+                }
+            }
+            if (!lote.isEmpty()) {
+                total += escreverLote(lote, escritor);
+            }
+        }
+
+        // NDJSON termina cada linha com \n, inclusive a última
+        if (total > 0) {
+            saida.write('\n');
+        }
+        saida.flush();
+        return total;
+    }
+
+    private int escreverLote(List<Cliente> lote, SequenceWriter escritor) throws IOException {
+        List<Long> ids = lote.stream().map(Cliente::getId).toList();
+        Map<Long, List<EnderecoResumoDTO>> enderecosPorCliente = enderecoRepository.findResumosByClienteIdIn(ids).stream()
+                .collect(Collectors.groupingBy(EnderecoResumoDTO::getClienteId));
+
+        for (Cliente cliente : lote) {
+            escritor.write(ClienteExportacaoDTO.de(cliente, enderecosPorCliente.getOrDefault(cliente.getId(), List.of())));
+        }
+        escritor.flush();
+
+        // Solta os clientes já escritos do contexto de persistência; o cursor do banco continua aberto
+        int escritos = lote.size();
+        lote.clear();
+        entityManager.clear();
+        return escritos;
+    }
+}
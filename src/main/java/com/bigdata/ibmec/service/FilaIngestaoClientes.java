@@ -0,0 +1,351 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.config.MetricasConfig;
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.StatusIngestaoDTO;
+import com.bigdata.ibmec.exceptions.FilaIngestaoCheiaException;
+import com.bigdata.ibmec.exceptions.IngestaoNotFoundException;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Cadastro assíncrono (POST /clientes/ingestao): valida, registra no journal, responde 202 e grava depois em lotes
+// A fila é limitada; cheia, o pedido recebe 429 em vez de esperar
+// Só erro do próprio registro (constraint, validação) rejeita o pedido; falha transitória (banco fora, deadlock,
+// timeout) deixa-o pendente e ele volta para a fila com espera exponencial
+@Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+public class FilaIngestaoClientes {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaIngestaoClientes.class);
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private IndiceUnicidadeCliente indiceUnicidade;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    @Autowired
+    private EventosCliente eventosCliente;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final int tamanhoLote;
+    private final int trabalhadores;
+    private final Duration retentativaInicial;
+    private final Duration retentativaMaxima;
+    private final Semaphore vagas;
+    private final LinkedBlockingQueue<Pedido> fila = new LinkedBlockingQueue<>();
+    private final JournalIngestao journal;
+
+    // Conclusões já gravadas no banco cuja escrita no journal falhou; são reenviadas ao journal a cada volta
+    // A trava é segurada durante o force() do journal: ReentrantLock, para não prender a thread portadora
+    private final List<StatusIngestaoDTO> conclusoesForaDoJournal = new ArrayList<>();
+    private final ReentrantLock travaConclusoes = new ReentrantLock();
+
+    // Situação consultável por GET /clientes/ingestao/{id}; some depois de uma hora
+    private final Cache<UUID, StatusIngestaoDTO> statuses = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private ExecutorService executor;
+    private ScheduledExecutorService agendador;
+    private volatile boolean ativo;
+
+    public FilaIngestaoClientes(@Value("${ibmec.ingestao.capacidade:10000}") int capacidade,
+                                @Value("${ibmec.ingestao.tamanho-lote:100}") int tamanhoLote,
+                                @Value("${ibmec.ingestao.trabalhadores:2}") int trabalhadores,
+                                @Value("${ibmec.ingestao.journal:data/ingestao-clientes.journal}") String journal,
+                                @Value("${ibmec.ingestao.retentativa-inicial:500ms}") Duration retentativaInicial,
+                                @Value("${ibmec.ingestao.retentativa-maxima:30s}") Duration retentativaMaxima,
+                                ObjectMapper objectMapper) {
+        this.vagas = new Semaphore(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.trabalhadores = trabalhadores;
+        this.retentativaInicial = retentativaInicial;
+        this.retentativaMaxima = retentativaMaxima;
+        this.journal = new JournalIngestao(Path.of(journal), objectMapper);
+    }
+
+    // Pedidos aceitos antes de uma parada voltam para a fila (fora do limite de capacidade)
+    @PostConstruct
+    void recuperar() throws IOException {
+        JournalIngestao.Recuperacao recuperacao = journal.abrir();
+        recuperacao.concluidos().forEach(status -> statuses.put(status.getId(), status));
+        for (JournalIngestao.Entrada entrada : recuperacao.pendentes()) {
+            statuses.put(entrada.id(), StatusIngestaoDTO.pendente(entrada.id()));
+            fila.add(new Pedido(entrada.id(), entrada.registro(), false, 0));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        ativo = true;
+        agendador = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ingestao-retentativas").daemon(true).factory());
+        executor = Executors.newFixedThreadPool(trabalhadores, Thread.ofPlatform().name("ingestao-clientes-", 0).daemon(true).factory());
+        for (int i = 0; i < trabalhadores; i++) {
+            executor.execute(this::consumir);
+        }
+    }
+
+    // O lote em andamento termina; o que ficou na fila (ou esperando retentativa) continua no journal para a próxima subida
+    @PreDestroy
+    void encerrar() throws IOException, InterruptedException {
+        ativo = false;
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        registrarConclusoesNoJournal(List.of());
+        journal.close();
+    }
+
+    // Validações síncronas (idade, CPF/e-mail já cadastrados) já respondem 400/409; o resto vai para a fila
+    public StatusIngestaoDTO enfileirar(ClienteComEnderecoDTO registro) {
+        ClienteService.validarIdadeMinima(registro.getCliente());
+        indiceUnicidade.verificarDisponivel(registro.getCliente().getCpf(), registro.getCliente().getEmail(), null);
+
+        if (!vagas.tryAcquire()) {
+            throw new FilaIngestaoCheiaException();
+        }
+
+        UUID id = UUID.randomUUID();
+        StatusIngestaoDTO status = StatusIngestaoDTO.pendente(id);
+        try {
+            journal.registrarEnfileirado(id, registro);
+        } catch (RuntimeException e) {
+            vagas.release();
+            throw e;
+        }
+        statuses.put(id, status);
+        fila.add(new Pedido(id, registro, true, 0));
+        return status;
+    }
+
+    public StatusIngestaoDTO buscarStatus(UUID id) {
+        StatusIngestaoDTO status = statuses.getIfPresent(id);
+        if (status == null) {
+            throw new IngestaoNotFoundException(id);
+        }
+        return status;
+    }
+
+    public int getPendentes() {
+        return journal.getPendentes();
+    }
+
+    private void consumir() {
+        while (ativo) {
+            List<Pedido> lote = new ArrayList<>(tamanhoLote);
+            List<StatusIngestaoDTO> concluidos = List.of();
+            try {
+                Pedido primeiro = fila.poll(200, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    registrarConclusoesNoJournal(List.of());
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+
+                // O commit já aconteceu: a situação fica visível mesmo que o journal falhe logo abaixo
+                concluidos = gravarLote(lote);
+                concluidos.forEach(status -> statuses.put(status.getId(), status));
+                registrarConclusoesNoJournal(concluidos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Falha fora da gravação de cada pedido: o lote inteiro volta para a fila, sem perder o trabalhador
+                log.error("Falha inesperada ao processar lote de ingestão", e);
+                lote.forEach(pedido -> reagendar(pedido, e));
+            } finally {
+                // Pedido que voltou para a fila continua ocupando a vaga até ser concluído
+                Set<UUID> ids = concluidos.stream().map(StatusIngestaoDTO::getId).collect(Collectors.toSet());
+                vagas.release((int) lote.stream().filter(pedido -> pedido.ocupaVaga() && ids.contains(pedido.id())).count());
+            }
+        }
+    }
+
+    // Falha no journal não desfaz a gravação: as conclusões ficam guardadas e são reenviadas na próxima volta
+    // Se a aplicação parar antes, os pedidos são refeitos na subida e reconhecidos como já gravados
+    private void registrarConclusoesNoJournal(List<StatusIngestaoDTO> concluidos) {
+        travaConclusoes.lock();
+        try {
+            conclusoesForaDoJournal.addAll(concluidos);
+            if (conclusoesForaDoJournal.isEmpty()) {
+                return;
+            }
+            journal.registrarConcluidos(conclusoesForaDoJournal);
+            conclusoesForaDoJournal.clear();
+        } catch (RuntimeException e) {
+            log.error("Falha ao registrar {} conclusões de ingestão no journal; nova tentativa na próxima volta",
+                    conclusoesForaDoJournal.size(), e);
+        } finally {
+            travaConclusoes.unlock();
+        }
+    }
+
+    // Devolve as conclusões do lote; pedidos com falha transitória são reagendados e ficam de fora
+    // Cada transação do TransactionTemplate tem contexto de persistência próprio, fechado no commit ou rollback:
+    // as entidades não se acumulam entre lotes e a regravação individual começa sem o estado do lote que falhou
+    private List<StatusIngestaoDTO> gravarLote(List<Pedido> lote) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        List<Cliente> clientes = lote.stream().map(pedido -> montarCliente(pedido.registro())).toList();
+        List<StatusIngestaoDTO> concluidos = new ArrayList<>(lote.size());
+        try {
+            // Mesmo caminho da importação: inserts em lote JDBC, endereço em cascata
+            transacao.executeWithoutResult(status -> {
+                clienteRepository.saveAll(clientes);
+                eventosCliente.registrarClientes(TipoEventoCliente.CLIENTE_CRIADO, clientes);
+            });
+            for (int i = 0; i < lote.size(); i++) {
+                indiceUnicidade.registrar(clientes.get(i));
+                concluidos.add(StatusIngestaoDTO.gravado(lote.get(i).id(), clientes.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            // Um registro ruim (ou uma falha transitória) derruba o lote; regrava um a um para decidir cada pedido
+            for (Pedido pedido : lote) {
+                StatusIngestaoDTO status = gravarIndividualmente(pedido, transacao);
+                if (status != null) {
+                    concluidos.add(status);
+                }
+            }
+        } finally {
+            relatorioCache.invalidar();
+        }
+        return concluidos;
+    }
+
+    // null quando a falha é transitória e o pedido foi reagendado
+    private StatusIngestaoDTO gravarIndividualmente(Pedido pedido, TransactionTemplate transacao) {
+        Cliente cliente = montarCliente(pedido.registro());
+        try {
+            transacao.executeWithoutResult(status -> {
+                clienteRepository.save(cliente);
+                eventosCliente.registrar(TipoEventoCliente.CLIENTE_CRIADO, cliente.getId(), null);
+            });
+            indiceUnicidade.registrar(cliente);
+            return StatusIngestaoDTO.gravado(pedido.id(), cliente.getId());
+        } catch (RuntimeException e) {
+            if (!erroDoRegistro(e)) {
+                reagendar(pedido, e);
+                return null;
+            }
+            Long jaGravado = jaGravadoAntesDaQueda(pedido);
+            if (jaGravado != null) {
+                return StatusIngestaoDTO.gravado(pedido.id(), jaGravado);
+            }
+            return StatusIngestaoDTO.rejeitado(pedido.id(),
+                    "Falha ao gravar: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    // Pedido refeito (recuperado do journal ou reagendado) cujo commit anterior aconteceu sem a conclusão ser
+    // registrada (queda antes do journal, conexão perdida no commit): o cliente com o mesmo CPF e e-mail já está
+    // no banco, então o pedido conta como gravado
+    private Long jaGravadoAntesDaQueda(Pedido pedido) {
+        if (pedido.ocupaVaga() && pedido.tentativas() == 0) {
+            return null;
+        }
+        Cliente registro = pedido.registro().getCliente();
+        return clienteRepository.findByCpf(registro.getCpf())
+                .filter(existente -> existente.getEmail().equals(registro.getEmail()))
+                .map(Cliente::getId)
+                .orElse(null);
+    }
+
+    // Constraint do banco ou validação da entidade: o registro nunca vai gravar, então o pedido é rejeitado
+    static boolean erroDoRegistro(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof DataIntegrityViolationException || causa instanceof ConstraintViolationException
+                    || causa instanceof org.hibernate.exception.ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reagendar(Pedido pedido, Throwable erro) {
+        long espera = Math.min(retentativaMaxima.toMillis(),
+                retentativaInicial.toMillis() << Math.min(pedido.tentativas(), 20));
+        log.warn("Falha transitória ao gravar pedido de ingestão {} (tentativa {}); nova tentativa em {} ms: {}",
+                pedido.id(), pedido.tentativas() + 1, espera, NestedExceptionUtils.getMostSpecificCause(erro).getMessage());
+        Pedido proximo = new Pedido(pedido.id(), pedido.registro(), pedido.ocupaVaga(), pedido.tentativas() + 1);
+        try {
+            agendador.schedule(() -> fila.add(proximo), espera, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Encerrando: o pedido segue pendente no journal e é refeito na próxima subida
+        }
+    }
+
+    // Entidades novas a cada tentativa: o DTO do pedido não é alterado e pode ser regravado
+    private Cliente montarCliente(ClienteComEnderecoDTO registro) {
+        Cliente origem = registro.getCliente();
+        Cliente cliente = new Cliente();
+        cliente.setNome(origem.getNome());
+        cliente.setEmail(origem.getEmail());
+        cliente.setCpf(origem.getCpf());
+        cliente.setDataNascimento(origem.getDataNascimento());
+        cliente.setTelefone(origem.getTelefone());
+
+        Endereco origemEndereco = registro.getEndereco();
+        Endereco endereco = new Endereco();
+        endereco.setRua(origemEndereco.getRua());
+        endereco.setNumero(origemEndereco.getNumero());
+        endereco.setBairro(origemEndereco.getBairro());
+        endereco.setCidade(origemEndereco.getCidade());
+        endereco.setEstado(origemEndereco.getEstado());
+        endereco.setCep(origemEndereco.getCep());
+        endereco.setCliente(cliente);
+        cliente.getEnderecos().add(endereco);
+        return cliente;
+    }
+
+    // ocupaVaga é falso para pedidos recuperados do journal, que entraram sem passar pelo limite
+    private record Pedido(UUID id, ClienteComEnderecoDTO registro, boolean ocupaVaga, int tentativas) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.config.MetricasConfig;
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.ResultadoImportacaoDTO;
+import com.bigdata.ibmec.DTO.ResultadoRegistroDTO;
+import com.bigdata.ibmec.exceptions.CpfJaCadastradoException;
+import com.bigdata.ibmec.exceptions.EmailJaCadastradoException;
+import com.bigdata.ibmec.exceptions.IdadeMinimaException;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+public class ImportacaoClienteService {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IndiceUnicidadeCliente indiceUnicidade;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    @Autowired
+    private EventosCliente eventosCliente;
+
+    // Quantidade de clientes gravados por transação
+    @Value("${ibmec.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    // Lê o arquivo NDJSON linha a linha, valida cada registro e grava em lotes transacionais
+    public ResultadoImportacaoDTO importarNdjson(InputStream entrada) throws IOException {
+        ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+        List<RegistroValido> lote = new ArrayList<>(tamanhoLote);
+
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String linha;
+        int numeroLinha = 0;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+
+            List<String> erros = new ArrayList<>();
+            Cliente cliente = converter(linha, erros);
+            if (!erros.isEmpty()) {
+                resultado.adicionar(ResultadoRegistroDTO.rejeitado(numeroLinha, erros));
+                continue;
+            }
+
+            lote.add(new RegistroValido(numeroLinha, cliente));
+            if (lote.size() >= tamanhoLote) {
+                gravarLote(lote, resultado);
+                lote.clear();
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            gravarLote(lote, resultado);
+        }
+
+        // Uma invalidação só para o arquivo inteiro, e não uma por lote
+        relatorioCache.invalidar();
+        return resultado;
+    }
+
+    // Converte e valida uma linha, acumulando os erros encontrados
+    private Cliente converter(String linha, List<String> erros) {
+        ClienteComEnderecoDTO dto;
+        try {
+            dto = objectMapper.readValue(linha, ClienteComEnderecoDTO.class);
+        } catch (JsonProcessingException e) {
+            erros.add("JSON inválido: " + e.getOriginalMessage());
+            return null;
+        }
+
+        if (dto.getCliente() == null || dto.getEndereco() == null) {
+            erros.add("Registro deve conter cliente e endereco");
+            return null;
+        }
+
+        for (ConstraintViolation<ClienteComEnderecoDTO> violacao : validator.validate(dto)) {
+            erros.add(violacao.getPropertyPath() + ": " + violacao.getMessage());
+        }
+        if (!erros.isEmpty()) {
+            return null;
+        }
+
+        Cliente cliente = dto.getCliente();
+        try {
+            ClienteService.validarIdadeMinima(cliente);
+            // Duplicado já gravado é rejeitado aqui, sem derrubar a transação do lote
+            indiceUnicidade.verificarDisponivel(cliente.getCpf(), cliente.getEmail(), null);
+        } catch (IdadeMinimaException | CpfJaCadastradoException | EmailJaCadastradoException e) {
+            erros.add(e.getMessage());
+            return null;
+        }
+
+        Endereco endereco = dto.getEndereco();
+        endereco.setCliente(cliente);
+        cliente.getEnderecos().add(endereco);
+        return cliente;
+    }
+
+    private void gravarLote(List<RegistroValido> lote, ResultadoImportacaoDTO resultado) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        try {
+            // O endereço é gravado em cascata junto com o cliente, e os inserts saem em lote JDBC
+            List<Cliente> clientes = lote.stream().map(RegistroValido::cliente).toList();
+            transacao.executeWithoutResult(status -> {
+                clienteRepository.saveAll(clientes);
+                eventosCliente.registrarClientes(TipoEventoCliente.CLIENTE_CRIADO, clientes);
+            });
+            lote.forEach(registro -> {
+                indiceUnicidade.registrar(registro.cliente());
+                resultado.adicionar(ResultadoRegistroDTO.importado(registro.linha(), registro.cliente().getId()));
+            });
+        } catch (RuntimeException e) {
+            // Um registro inválido derruba o lote inteiro; regrava um a um para identificar o culpado
+            entityManager.clear();
+            for (RegistroValido registro : lote) {
+                gravarIndividualmente(registro, transacao, resultado);
+            }
+        } finally {
+            // Libera as entidades do contexto de persistência para manter a memória constante
+            entityManager.clear();
+        }
+    }
+
+    private void gravarIndividualmente(RegistroValido registro, TransactionTemplate transacao, ResultadoImportacaoDTO resultado) {
+        Cliente cliente = registro.cliente();
+        cliente.setId(null);
+        cliente.setVersao(null);
+        cliente.getEnderecos().forEach(endereco -> {
+            endereco.setId(null);
+            endereco.setVersao(null);
+        });
+        try {
+            transacao.executeWithoutResult(status -> {
+                clienteRepository.save(cliente);
+                eventosCliente.registrar(TipoEventoCliente.CLIENTE_CRIADO, cliente.getId(), null);
+            });
+            indiceUnicidade.registrar(cliente);
+            resultado.adicionar(ResultadoRegistroDTO.importado(registro.linha(), cliente.getId()));
+        } catch (RuntimeException e) {
+            resultado.adicionar(ResultadoRegistroDTO.rejeitado(registro.linha(),
+                    List.of("Falha ao gravar: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage())));
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private record RegistroValido(int linha, Cliente cliente) {
+    }
+}
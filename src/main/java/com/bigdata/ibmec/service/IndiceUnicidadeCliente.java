@@ -0,0 +1,93 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.exceptions.CpfJaCadastradoException;
+import com.bigdata.ibmec.exceptions.EmailJaCadastradoException;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Pré-checagem de CPF e e-mail duplicados antes do insert/update
+// Só consulta o banco quando o filtro de Bloom indica que o valor pode já existir; a constraint
+// unique do banco continua sendo a garantia final (inserções concorrentes ou fora dos serviços)
+@Component
+public class IndiceUnicidadeCliente {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FiltroBloom cpfs;
+    private final FiltroBloom emails;
+
+    // Enquanto o filtro não foi carregado do banco, toda checagem vai ao banco
+    private volatile boolean aquecido;
+
+    public IndiceUnicidadeCliente(@Value("${ibmec.unicidade.capacidade-esperada:1000000}") long capacidadeEsperada,
+                                  @Value("${ibmec.unicidade.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+        this.cpfs = new FiltroBloom(capacidadeEsperada, taxaFalsosPositivos);
+        this.emails = new FiltroBloom(capacidadeEsperada, taxaFalsosPositivos);
+    }
+
+    // Carrega CPFs e e-mails existentes ao subir a aplicação, lendo só as duas colunas
+    // Transação de escrita de propósito: com réplicas, a carga precisa vir do primário, sem atraso de replicação
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> {
+            try (Stream<String> valores = clienteRepository.streamCpfs()) {
+                valores.forEach(cpfs::adicionar);
+            }
+            try (Stream<String> valores = clienteRepository.streamEmails()) {
+                valores.map(IndiceUnicidadeCliente::normalizarEmail).forEach(emails::adicionar);
+            }
+        });
+        aquecido = true;
+    }
+
+    // Lança 409 se o CPF ou o e-mail já pertencem a outro cliente (clienteId nulo em inserções)
+    public void verificarDisponivel(String cpf, String email, Long clienteId) {
+        if (cpf != null && podeExistir(cpfs, cpf)
+                && pertenceAOutro(clienteRepository.findByCpf(cpf), clienteId)) {
+            throw new CpfJaCadastradoException();
+        }
+        if (email != null && podeExistir(emails, normalizarEmail(email))
+                && pertenceAOutro(clienteRepository.findByEmail(email), clienteId)) {
+            throw new EmailJaCadastradoException();
+        }
+    }
+
+    // Chamado a cada gravação; se a transação falhar sobra só um falso positivo, que o banco desfaz na checagem
+    public void registrar(Cliente cliente) {
+        if (cliente.getCpf() != null) {
+            cpfs.adicionar(cliente.getCpf());
+        }
+        if (cliente.getEmail() != null) {
+            emails.adicionar(normalizarEmail(cliente.getEmail()));
+        }
+    }
+
+    private boolean podeExistir(FiltroBloom filtro, String valor) {
+        return !aquecido || filtro.podeConter(valor);
+    }
+
+    private boolean pertenceAOutro(Optional<Cliente> existente, Long clienteId) {
+        return existente.isPresent() && !existente.get().getId().equals(clienteId);
+    }
+
+    // O MySQL compara e-mails sem diferenciar maiúsculas; o filtro segue a mesma regra
+    private static String normalizarEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,279 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.StatusIngestaoDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Arquivo local (NDJSON, só anexação) com os pedidos aceitos e ainda não gravados no banco
+// Cada pedido é sincronizado em disco antes do 202; as conclusões de um lote saem em uma única escrita
+// A escrita é serializada, mas o force() não: quem chega enquanto outro sincroniza espera esse terminar e um único
+// force() seguinte cobre todas as linhas escritas nesse meio tempo (group commit)
+// Travas ReentrantLock, não synchronized: uma thread virtual que espera ou segura a trava durante o force() é
+// desmontada da thread portadora em vez de prendê-la
+class JournalIngestao implements Closeable {
+
+    static final String ENFILEIRADO = "ENFILEIRADO";
+    static final String CONCLUIDO = "CONCLUIDO";
+    // Pedido recusado porque a sincronização falhou: a linha ENFILEIRADO pode ter chegado ao disco mesmo assim
+    static final String CANCELADO = "CANCELADO";
+
+    record Entrada(String tipo, UUID id, ClienteComEnderecoDTO registro, StatusIngestaoDTO status) {
+    }
+
+    // Estado lido do arquivo ao abrir: pedidos a reprocessar e situação dos já concluídos
+    record Recuperacao(List<Entrada> pendentes, List<StatusIngestaoDTO> concluidos) {
+    }
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+    private FileChannel canal;
+    private int pendentes;
+
+    // Guarda canal, pendentes e escritas
+    private final ReentrantLock trava = new ReentrantLock();
+
+    // Número da última linha escrita e da última coberta por um force() (esta guardada por sincronizacao)
+    private long escritas;
+    private final ReentrantLock sincronizacao = new ReentrantLock();
+    private long sincronizadas;
+
+    JournalIngestao(Path arquivo, ObjectMapper objectMapper) {
+        this.arquivo = arquivo;
+        this.objectMapper = objectMapper;
+    }
+
+    // Lê o arquivo, reescreve-o só com os pendentes e deixa-o aberto para anexação
+    Recuperacao abrir() throws IOException {
+        trava.lock();
+        try {
+            return recuperar();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private Recuperacao recuperar() throws IOException {
+        Map<UUID, Entrada> enfileirados = new LinkedHashMap<>();
+        List<StatusIngestaoDTO> concluidos = new ArrayList<>();
+
+        if (Files.exists(arquivo)) {
+            try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                String linha;
+                while ((linha = leitor.readLine()) != null) {
+                    Entrada entrada = ler(linha);
+                    if (entrada == null) {
+                        continue;
+                    }
+                    if (ENFILEIRADO.equals(entrada.tipo())) {
+                        enfileirados.put(entrada.id(), entrada);
+                    } else if (CANCELADO.equals(entrada.tipo())) {
+                        enfileirados.remove(entrada.id());
+                    } else if (enfileirados.remove(entrada.id()) != null) {
+                        concluidos.add(entrada.status());
+                    }
+                }
+            }
+        } else if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+
+        List<Entrada> pendentesRecuperados = new ArrayList<>(enfileirados.values());
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entrada entrada : pendentesRecuperados) {
+                escrever(novo, List.of(entrada));
+            }
+            novo.force(true);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        canal = FileChannel.open(arquivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        pendentes = pendentesRecuperados.size();
+        return new Recuperacao(pendentesRecuperados, concluidos);
+    }
+
+    // Retorna só depois do pedido estar em disco
+    void registrarEnfileirado(UUID id, ClienteComEnderecoDTO registro) {
+        long linha;
+        trava.lock();
+        try {
+            linha = anexar(List.of(new Entrada(ENFILEIRADO, id, registro, null)));
+            pendentes++;
+        } finally {
+            trava.unlock();
+        }
+        try {
+            sincronizarAte(linha);
+        } catch (UncheckedIOException e) {
+            // O pedido vai ser recusado: não conta como pendente e, se a linha tiver chegado ao disco, a marca de
+            // cancelado evita que ele seja gravado depois de um reinício. A marca também é só tentativa: se ela não
+            // chegar ao disco e a linha sim, o pedido recusado volta na recuperação
+            alterarPendentes(-1);
+            cancelar(id);
+            throw e;
+        }
+    }
+
+    private void cancelar(UUID id) {
+        try {
+            long linha;
+            trava.lock();
+            try {
+                linha = anexar(List.of(new Entrada(CANCELADO, id, null, null)));
+            } finally {
+                trava.unlock();
+            }
+            sincronizarAte(linha);
+        } catch (UncheckedIOException e) {
+            // A falha original é a que volta para quem chamou
+        }
+    }
+
+    // Sem pedidos pendentes o arquivo é esvaziado, para não crescer indefinidamente
+    void registrarConcluidos(List<StatusIngestaoDTO> statuses) {
+        long linha;
+        trava.lock();
+        try {
+            linha = anexar(statuses.stream().map(status -> new Entrada(CONCLUIDO, status.getId(), null, status)).toList());
+            pendentes -= statuses.size();
+            if (pendentes == 0) {
+                canal.truncate(0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            trava.unlock();
+        }
+        try {
+            sincronizarAte(linha);
+        } catch (UncheckedIOException e) {
+            // Quem chamou vai tentar de novo com as mesmas conclusões; CONCLUIDO repetido é ignorado na leitura
+            alterarPendentes(statuses.size());
+            throw e;
+        }
+    }
+
+    int getPendentes() {
+        trava.lock();
+        try {
+            return pendentes;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void alterarPendentes(int diferenca) {
+        trava.lock();
+        try {
+            pendentes += diferenca;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Sem pendentes, o arquivo não tem mais utilidade
+    // O force() aqui cobre escritas cuja sincronização ainda não rodou: canal nulo significa tudo em disco
+    @Override
+    public void close() throws IOException {
+        trava.lock();
+        try {
+            if (canal != null) {
+                canal.force(false);
+                canal.close();
+                canal = null;
+                if (pendentes == 0) {
+                    Files.deleteIfExists(arquivo);
+                }
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Chamado com a trava do journal; devolve o número da escrita para sincronizarAte
+    private long anexar(List<Entrada> entradas) {
+        try {
+            escrever(canal, entradas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ++escritas;
+    }
+
+    // Fora da trava do journal, para que outras escritas sigam enquanto o disco sincroniza
+    // Se um force() já cobriu a linha, não há o que fazer; senão este força tudo o que foi escrito até agora
+    private void sincronizarAte(long linha) {
+        sincronizacao.lock();
+        try {
+            if (sincronizadas >= linha) {
+                return;
+            }
+            long ultima;
+            FileChannel atual;
+            trava.lock();
+            try {
+                ultima = escritas;
+                atual = canal;
+            } finally {
+                trava.unlock();
+            }
+            if (atual != null) {
+                forcar(atual);
+            }
+            sincronizadas = ultima;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sincronizacao.unlock();
+        }
+    }
+
+    // Separado para os testes simularem um disco que falha ao sincronizar
+    void forcar(FileChannel canal) throws IOException {
+        canal.force(false);
+    }
+
+    private void escrever(FileChannel destino, List<Entrada> entradas) throws IOException {
+        StringBuilder linhas = new StringBuilder();
+        for (Entrada entrada : entradas) {
+            linhas.append(objectMapper.writeValueAsString(entrada)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            destino.write(buffer);
+        }
+    }
+
+    // Uma linha incompleta (queda no meio da escrita) é ignorada; o pedido dela nunca recebeu 202
+    private Entrada ler(String linha) {
+        if (linha.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(linha, Entrada.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
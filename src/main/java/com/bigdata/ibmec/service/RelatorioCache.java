@@ -0,0 +1,38 @@
+package com.bigdata.ibmec.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class RelatorioCache {
+
+    // Cache dos relatórios do RelatorioService, com TTL curto próprio (ver RelatoriosCacheConfig)
+    public static final String NOME = "relatorios";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Qualquer escrita em cliente ou endereço pode mudar todos os relatórios, então o cache é esvaziado inteiro
+    // Como no ClienteCache, dentro de uma transação isso só acontece após o commit
+    public void invalidar() {
+        Cache cache = cacheManager.getCache(NOME);
+        if (cache == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.clear();
+                }
+            });
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.config.MetricasConfig;
+import com.bigdata.ibmec.DTO.CadastrosPorDiaDTO;
+import com.bigdata.ibmec.DTO.ClientesPorCidadeDTO;
+import com.bigdata.ibmec.DTO.ClientesPorEstadoDTO;
+import com.bigdata.ibmec.DTO.FaixaEtariaDTO;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.repository.EnderecoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Relatórios dos painéis: agregados com GROUP BY no banco (só as linhas do resultado trafegam)
+// e guardados no cache "relatorios" até a próxima escrita ou o fim do TTL
+@Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+@Transactional(readOnly = true)
+public class RelatorioService {
+
+    public static final int DIAS_PADRAO = 30;
+    public static final int DIAS_MAXIMO = 366;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Cacheable(cacheNames = RelatorioCache.NOME, key = "'estados'")
+    public List<ClientesPorEstadoDTO> clientesPorEstado() {
+        return enderecoRepository.contarClientesPorEstado();
+    }
+
+    // estado opcional; nulo lista as cidades de todos os estados
+    @Cacheable(cacheNames = RelatorioCache.NOME, key = "'cidades:' + #estado")
+    public List<ClientesPorCidadeDTO> clientesPorCidade(String estado) {
+        return enderecoRepository.contarClientesPorCidade(estado);
+    }
+
+    @Cacheable(cacheNames = RelatorioCache.NOME, key = "'faixas-etarias'")
+    public List<FaixaEtariaDTO> faixasEtarias() {
+        return clienteRepository.contarPorFaixaEtaria();
+    }
+
+    // Cadastros dos últimos dias (hoje incluído), limitado a DIAS_MAXIMO
+    @Cacheable(cacheNames = RelatorioCache.NOME, key = "'cadastros:' + #dias")
+    public List<CadastrosPorDiaDTO> cadastrosPorDia(int dias) {
+        int periodo = Math.max(1, Math.min(dias, DIAS_MAXIMO));
+        return clienteRepository.contarCadastrosPorDia(LocalDate.now().minusDays(periodo - 1L).atStartOfDay());
+    }
+}
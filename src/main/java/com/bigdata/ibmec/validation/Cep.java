@@ -0,0 +1,24 @@
+package com.bigdata.ibmec.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// CEP no formato XXXXX-XXX; nulo é aceito (use @NotBlank junto)
+@Documented
+@Constraint(validatedBy = CepValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cep {
+
+    String message() default "CEP deve seguir o formato XXXXX-XXX";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
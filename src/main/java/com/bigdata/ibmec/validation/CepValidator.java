@@ -0,0 +1,20 @@
+package com.bigdata.ibmec.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// XXXXX-XXX conferido caractere a caractere, no lugar do @Pattern "\d{5}-\d{3}"
+public class CepValidator implements ConstraintValidator<Cep, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        return valor == null || valido(valor);
+    }
+
+    public static boolean valido(CharSequence valor) {
+        return valor.length() == 9
+                && valor.charAt(5) == '-'
+                && TelefoneValidator.digitos(valor, 0, 5)
+                && TelefoneValidator.digitos(valor, 6, 9);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bigdata.ibmec.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// CPF no formato XXX.XXX.XXX-XX com dígitos verificadores válidos; nulo é aceito (use @NotBlank junto)
+// A mensagem padrão é a de formato; dígitos que não conferem geram CpfValidator.MENSAGEM_DIGITOS
+@Documented
+@Constraint(validatedBy = CpfValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cpf {
+
+    String message() default "CPF deve seguir o formato XXX.XXX.XXX-XX";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
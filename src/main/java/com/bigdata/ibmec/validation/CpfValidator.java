@@ -0,0 +1,95 @@
+package com.bigdata.ibmec.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// Formato e dígitos verificadores em uma única passada pelos caracteres, sem regex nem alocação
+// O Hibernate Validator cria uma instância por restrição e a reaproveita entre threads: sem estado
+public class CpfValidator implements ConstraintValidator<Cpf, CharSequence> {
+
+    // Template fixo, sem parâmetros: a interpolação não tem expressão para avaliar
+    public static final String MENSAGEM_DIGITOS = "CPF inválido: dígitos verificadores não conferem";
+
+    // Resultados de verificar(); o caminho feliz não cria nada
+    public static final int VALIDO = 0;
+    public static final int FORMATO_INVALIDO = 1;
+    public static final int DIGITOS_INVALIDOS = 2;
+
+    private static final int TAMANHO = 14;
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        if (valor == null) {
+            return true;
+        }
+
+        int resultado = verificar(valor);
+        if (resultado == DIGITOS_INVALIDOS) {
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(MENSAGEM_DIGITOS).addConstraintViolation();
+        }
+        return resultado == VALIDO;
+    }
+
+    public static boolean valido(CharSequence valor) {
+        return valor != null && verificar(valor) == VALIDO;
+    }
+
+    // Percorre XXX.XXX.XXX-XX uma vez: confere separadores e dígitos e acumula as duas somas ponderadas
+    public static int verificar(CharSequence valor) {
+        if (valor.length() != TAMANHO) {
+            return FORMATO_INVALIDO;
+        }
+
+        int soma1 = 0;
+        int soma2 = 0;
+        int posicao = 0;
+        int primeiro = valor.charAt(0) - '0';
+        boolean todosIguais = true;
+        int verificador1 = 0;
+        int verificador2 = 0;
+
+        for (int i = 0; i < TAMANHO; i++) {
+            char c = valor.charAt(i);
+            if (i == 3 || i == 7) {
+                if (c != '.') {
+                    return FORMATO_INVALIDO;
+                }
+                continue;
+            }
+            if (i == 11) {
+                if (c != '-') {
+                    return FORMATO_INVALIDO;
+                }
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return FORMATO_INVALIDO;
+            }
+
+            int digito = c - '0';
+            todosIguais &= digito == primeiro;
+            if (posicao < 9) {
+                soma1 += digito * (10 - posicao);
+                soma2 += digito * (11 - posicao);
+            } else if (posicao == 9) {
+                verificador1 = digito;
+                soma2 += digito * 2;
+            } else {
+                verificador2 = digito;
+            }
+            posicao++;
+        }
+
+        // Sequências como 111.111.111-11 passam na conta, mas não são CPFs emitidos
+        if (todosIguais || verificador1 != digitoVerificador(soma1) || verificador2 != digitoVerificador(soma2)) {
+            return DIGITOS_INVALIDOS;
+        }
+        return VALIDO;
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma * 10 % 11;
+        return resto == 10 ? 0 : resto;
+    }
+}
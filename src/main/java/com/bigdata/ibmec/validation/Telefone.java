@@ -0,0 +1,24 @@
+package com.bigdata.ibmec.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Telefone no formato (XX) XXXX-XXXX ou (XX) XXXXX-XXXX; nulo é aceito (o telefone é opcional)
+@Documented
+@Constraint(validatedBy = TelefoneValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Telefone {
+
+    String message() default "Telefone deve seguir o formato (XX) XXXXX-XXXX";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,36 @@
+package com.bigdata.ibmec.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// Mesmo formato do antigo @Pattern "\(\d{2}\) \d{4,5}-\d{4}", conferido caractere a caractere
+public class TelefoneValidator implements ConstraintValidator<Telefone, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        return valor == null || valido(valor);
+    }
+
+    public static boolean valido(CharSequence valor) {
+        // (XX) XXXX-XXXX tem 14 caracteres; com o nono dígito, 15
+        int tamanho = valor.length();
+        if (tamanho != 14 && tamanho != 15) {
+            return false;
+        }
+        int hifen = tamanho - 5;
+        if (valor.charAt(0) != '(' || valor.charAt(3) != ')' || valor.charAt(4) != ' ' || valor.charAt(hifen) != '-') {
+            return false;
+        }
+        return digitos(valor, 1, 3) && digitos(valor, 5, hifen) && digitos(valor, hifen + 1, tamanho);
+    }
+
+    static boolean digitos(CharSequence valor, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            char c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
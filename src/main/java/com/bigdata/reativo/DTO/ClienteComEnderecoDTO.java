@@ -0,0 +1,19 @@
+package com.bigdata.reativo.DTO;
+
+import com.bigdata.reativo.model.Cliente;
+import com.bigdata.reativo.model.Endereco;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ClienteComEnderecoDTO {
+
+    @Valid
+    @NotNull(message = "Cliente é obrigatório")
+    private Cliente cliente;
+
+    @Valid
+    @NotNull(message = "Endereço é obrigatório")
+    private Endereco endereco;
+}
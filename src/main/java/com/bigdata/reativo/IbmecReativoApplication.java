@@ -0,0 +1,35 @@
+package com.bigdata.reativo;
+
+import com.bigdata.ibmec.exceptions.GlobalExceptionHandler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+// Variante reativa da API (/clientes e /enderecos) com WebFlux e R2DBC, sobre as mesmas tabelas da aplicação servlet
+// As escritas seguem as mesmas regras e gravam o evento da outbox (evento_cliente) na mesma transação, então
+// consumidores de /eventos e a unicidade no banco valem para as duas. Os caches em memória da servlet (ClienteCache
+// e cache de segundo nível do Hibernate, até 30 min; relatórios, 30 s; índice de unicidade) não ficam sabendo
+// dessas escritas: lá a consistência é só eventual, até as entradas expirarem ou serem reescritas pela servlet
+// Roda separada: lê reativo.properties e só enxerga o pacote com.bigdata.reativo, sem JPA nem DataSource
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@Import(GlobalExceptionHandler.class)
+public class IbmecReativoApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(IbmecReativoApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reativo")
+                .run(args);
+    }
+
+    // Com o Tomcat também no classpath, fixa o Netty como servidor
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
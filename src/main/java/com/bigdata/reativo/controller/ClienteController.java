@@ -0,0 +1,48 @@
+package com.bigdata.reativo.controller;
+
+import com.bigdata.reativo.DTO.ClienteComEnderecoDTO;
+import com.bigdata.reativo.model.Cliente;
+import com.bigdata.reativo.service.ClienteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// As regras de negócio (idade mínima, CPF, telefone, CEP) são checadas no serviço, não só na entrada HTTP
+@RestController
+@RequestMapping("/clientes")
+public class ClienteController {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    // Cria um cliente junto com o primeiro endereço usando o DTO
+    @PostMapping
+    public Mono<ResponseEntity<Cliente>> adicionarCliente(@RequestBody ClienteComEnderecoDTO clienteComEnderecoDTO) {
+        return clienteService.adicionarClienteComEndereco(clienteComEnderecoDTO).map(ResponseEntity::ok);
+    }
+
+    // Lista os clientes em fluxo, sem montar a lista inteira em memória: com Accept application/x-ndjson
+    // cada cliente sai em uma linha assim que fica pronto; tamanho limita quantos clientes vêm
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Cliente> listarTodos(@RequestParam(required = false) Integer tamanho) {
+        return clienteService.listarTodos(tamanho);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Cliente>> buscarClientePorId(@PathVariable Long id) {
+        return clienteService.buscarClientePorId(id).map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Cliente>> atualizarCliente(@PathVariable Long id, @RequestBody Cliente clienteAtualizado) {
+        return clienteService.atualizarDadosCliente(id, clienteAtualizado).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletarCliente(@PathVariable Long id) {
+        return clienteService.deletarCliente(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,44 @@
+package com.bigdata.reativo.controller;
+
+import com.bigdata.reativo.model.Endereco;
+import com.bigdata.reativo.service.EnderecoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// As regras de negócio (idade mínima, CPF, telefone, CEP) são checadas no serviço, não só na entrada HTTP
+@RestController
+@RequestMapping("/enderecos")
+public class EnderecoController {
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @GetMapping(value = "/cliente/{clienteId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Endereco> listarEnderecosPorCliente(@PathVariable Long clienteId) {
+        return enderecoService.listarEnderecosPorCliente(clienteId);
+    }
+
+    @PostMapping("/cliente/{clienteId}")
+    public Mono<ResponseEntity<Endereco>> adicionarEndereco(@PathVariable Long clienteId, @RequestBody Endereco endereco) {
+        return enderecoService.adicionarEndereco(clienteId, endereco).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Endereco> listarTodos() {
+        return enderecoService.listarTodos();
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Endereco>> atualizarEndereco(@PathVariable Long id, @RequestBody Endereco enderecoAtualizado) {
+        return enderecoService.atualizarEndereco(id, enderecoAtualizado).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletarEndereco(@PathVariable Long id) {
+        return enderecoService.deletarEndereco(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
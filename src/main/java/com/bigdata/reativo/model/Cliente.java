@@ -0,0 +1,59 @@
+package com.bigdata.reativo.model;
+
+import com.bigdata.ibmec.validation.Cpf;
+import com.bigdata.ibmec.validation.Telefone;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Mesma tabela e mesmas validações de com.bigdata.ibmec.model.Cliente, mapeada pelo Spring Data R2DBC
+@Table("cliente")
+@Data
+@NoArgsConstructor
+public class Cliente {
+
+    // Vem da sequência cliente_seq (GeradorIds), compartilhada com o JPA
+    @Id
+    private Long id;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    @NotBlank(message = "Nome é obrigatório")
+    @Size(min = 3, max = 100, message = "Nome deve ter entre 3 e 100 caracteres")
+    private String nome;
+
+    @NotBlank(message = "E-mail é obrigatório")
+    @Email(message = "E-mail deve ser válido")
+    private String email;
+
+    @NotBlank(message = "CPF é obrigatório")
+    @Cpf
+    private String cpf;
+
+    @Past(message = "Data de nascimento deve ser uma data passada")
+    @NotNull(message = "Data de nascimento é obrigatória")
+    private LocalDate dataNascimento;
+
+    @Telefone
+    private String telefone;
+
+    // Preenchida pelo serviço no cadastro, como o @CreationTimestamp do JPA (relatório de cadastros por dia)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime dataCadastro;
+
+    // Sem relacionamentos no R2DBC: preenchida pelo serviço com uma consulta por lote de clientes
+    @Transient
+    private List<Endereco> enderecos = new ArrayList<>();
+}
@@ -0,0 +1,52 @@
+package com.bigdata.reativo.model;
+
+import com.bigdata.ibmec.validation.Cep;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Mesma tabela e mesmas validações de com.bigdata.ibmec.model.Endereco; o cliente é só a coluna cliente_id
+@Table("endereco")
+@Data
+@NoArgsConstructor
+public class Endereco {
+
+    @Id
+    private Long id;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    @NotBlank(message = "Rua é obrigatória")
+    @Size(min = 3, max = 255, message = "Rua deve ter entre 3 e 255 caracteres")
+    private String rua;
+
+    @NotBlank(message = "Número é obrigatório")
+    private String numero;
+
+    @NotBlank(message = "Bairro é obrigatório")
+    @Size(min = 3, max = 100, message = "Bairro deve ter entre 3 e 100 caracteres")
+    private String bairro;
+
+    @NotBlank(message = "Cidade é obrigatória")
+    @Size(min = 2, max = 100, message = "Cidade deve ter entre 2 e 100 caracteres")
+    private String cidade;
+
+    @NotBlank(message = "Estado é obrigatório")
+    @Size(min = 2, max = 2, message = "Estado deve ter 2 caracteres")
+    private String estado;
+
+    @NotBlank(message = "CEP é obrigatório")
+    @Cep
+    private String cep;
+
+    @JsonIgnore
+    private Long clienteId;
+}
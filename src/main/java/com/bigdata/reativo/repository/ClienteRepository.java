@@ -0,0 +1,19 @@
+package com.bigdata.reativo.repository;
+
+import com.bigdata.reativo.model.Cliente;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ClienteRepository extends ReactiveCrudRepository<Cliente, Long> {
+
+    // Todos os clientes em ordem de id, lidos do cursor conforme a demanda de quem consome
+    Flux<Cliente> findAllByOrderById();
+
+    // Mesma regra da API servlet: mudar endereços avança a versão do cliente; devolve 0 se o cliente não existe
+    @Modifying
+    @Query("UPDATE cliente SET versao = versao + 1 WHERE id = :id")
+    Mono<Integer> avancarVersao(Long id);
+}
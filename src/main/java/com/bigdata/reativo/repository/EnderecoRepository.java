@@ -0,0 +1,22 @@
+package com.bigdata.reativo.repository;
+
+import com.bigdata.reativo.model.Endereco;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface EnderecoRepository extends ReactiveCrudRepository<Endereco, Long> {
+
+    Flux<Endereco> findByClienteIdOrderById(Long clienteId);
+
+    // Endereços de um lote de clientes em uma consulta (sem N+1 na listagem)
+    Flux<Endereco> findByClienteIdInOrderById(Collection<Long> clienteIds);
+
+    @Modifying
+    @Query("DELETE FROM endereco WHERE cliente_id = :clienteId")
+    Mono<Integer> deleteByClienteId(Long clienteId);
+}
@@ -0,0 +1,137 @@
+package com.bigdata.reativo.service;
+
+import com.bigdata.ibmec.exceptions.ClienteNotFoundException;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import com.bigdata.reativo.DTO.ClienteComEnderecoDTO;
+import com.bigdata.reativo.model.Cliente;
+import com.bigdata.reativo.model.Endereco;
+import com.bigdata.reativo.repository.ClienteRepository;
+import com.bigdata.reativo.repository.EnderecoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.bigdata.ibmec.service.ClienteService.validarIdadeMinima;
+
+// Escritas com as mesmas regras da API servlet (validações, idade mínima) e, na mesma transação, o evento da outbox
+// CPF/e-mail duplicado não é pré-checado: a constraint unique do banco recusa e o GlobalExceptionHandler devolve 409
+@Service
+public class ClienteService {
+
+    // Clientes por consulta de endereços na listagem; também é quanto a listagem pede adiantado ao banco
+    static final int TAMANHO_LOTE = 100;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Autowired
+    private ValidadorDados validadorDados;
+
+    @Autowired
+    private EventosCliente eventosCliente;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    // Adiciona um cliente com endereço inicial, na mesma transação
+    public Mono<Cliente> adicionarClienteComEndereco(ClienteComEnderecoDTO clienteComEnderecoDTO) {
+        return validadorDados.validar(clienteComEnderecoDTO)
+                .then(Mono.fromRunnable(() -> validarIdadeMinima(clienteComEnderecoDTO.getCliente().getDataNascimento())))
+                .then(Mono.defer(() -> inserir(clienteComEnderecoDTO.getCliente(), clienteComEnderecoDTO.getEndereco())))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Cliente> inserir(Cliente cliente, Endereco endereco) {
+        return geradorIds.proximo("cliente_seq")
+                .flatMap(id -> {
+                    cliente.setId(id);
+                    cliente.setVersao(null);
+                    cliente.setDataCadastro(LocalDateTime.now());
+                    return clienteRepository.save(cliente);
+                })
+                .flatMap(salvo -> geradorIds.proximo("endereco_seq")
+                        .flatMap(id -> {
+                            endereco.setId(id);
+                            endereco.setVersao(null);
+                            endereco.setClienteId(salvo.getId());
+                            return enderecoRepository.save(endereco);
+                        })
+                        .map(enderecoSalvo -> {
+                            salvo.setEnderecos(List.of(enderecoSalvo));
+                            return salvo;
+                        }))
+                .flatMap(salvo -> eventosCliente.registrar(TipoEventoCliente.CLIENTE_CRIADO, salvo.getId(), null)
+                        .thenReturn(salvo));
+    }
+
+    // Todos os clientes com endereços, em fluxo: lotes de clientes puxados do banco conforme a demanda,
+    // cada lote completado com uma consulta de endereços; limite opcional
+    public Flux<Cliente> listarTodos(Integer limite) {
+        Flux<Cliente> clientes = clienteRepository.findAllByOrderById();
+        if (limite != null) {
+            clientes = clientes.take(Math.max(0, limite), true);
+        }
+        return clientes.buffer(TAMANHO_LOTE).concatMap(this::comEnderecos);
+    }
+
+    public Mono<Cliente> buscarClientePorId(Long id) {
+        return clienteRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ClienteNotFoundException(id)))
+                .flatMap(cliente -> comEnderecos(List.of(cliente)).single());
+    }
+
+    // Mesmos campos da API servlet; o save do R2DBC avança a versão no próprio UPDATE (WHERE versao = lida)
+    public Mono<Cliente> atualizarDadosCliente(Long id, Cliente clienteAtualizado) {
+        return validadorDados.validar(clienteAtualizado)
+                .then(Mono.fromRunnable(() -> validarIdadeMinima(clienteAtualizado.getDataNascimento())))
+                .then(clienteRepository.findById(id))
+                .switchIfEmpty(Mono.error(() -> new ClienteNotFoundException(id)))
+                .flatMap(clienteExistente -> {
+                    clienteExistente.setNome(clienteAtualizado.getNome());
+                    clienteExistente.setEmail(clienteAtualizado.getEmail());
+                    clienteExistente.setCpf(clienteAtualizado.getCpf());
+                    clienteExistente.setDataNascimento(clienteAtualizado.getDataNascimento());
+                    clienteExistente.setTelefone(clienteAtualizado.getTelefone());
+                    return clienteRepository.save(clienteExistente);
+                })
+                .flatMap(cliente -> eventosCliente.registrar(TipoEventoCliente.CLIENTE_ATUALIZADO, cliente.getId(), null)
+                        .thenReturn(cliente))
+                .flatMap(cliente -> comEnderecos(List.of(cliente)).single())
+                .as(transactionalOperator::transactional);
+    }
+
+    // Remove os endereços e o cliente (o cascade do JPA, feito à mão); como na servlet, um só evento do cliente
+    public Mono<Void> deletarCliente(Long id) {
+        return clienteRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ClienteNotFoundException(id)))
+                .flatMap(cliente -> enderecoRepository.deleteByClienteId(id)
+                        .then(clienteRepository.delete(cliente))
+                        .then(eventosCliente.registrar(TipoEventoCliente.CLIENTE_REMOVIDO, id, null)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Flux<Cliente> comEnderecos(List<Cliente> lote) {
+        List<Long> ids = lote.stream().map(Cliente::getId).toList();
+        return enderecoRepository.findByClienteIdInOrderById(ids)
+                .collectMultimap(Endereco::getClienteId)
+                .flatMapMany(enderecosPorCliente -> Flux.fromIterable(lote).map(cliente -> preencher(cliente, enderecosPorCliente)));
+    }
+
+    private static Cliente preencher(Cliente cliente, Map<Long, Collection<Endereco>> enderecosPorCliente) {
+        cliente.setEnderecos(List.copyOf(enderecosPorCliente.getOrDefault(cliente.getId(), List.of())));
+        return cliente;
+    }
+}
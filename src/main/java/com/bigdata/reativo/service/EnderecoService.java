@@ -0,0 +1,107 @@
+package com.bigdata.reativo.service;
+
+import com.bigdata.ibmec.exceptions.ClienteNotFoundException;
+import com.bigdata.ibmec.exceptions.EnderecoNotFoundException;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import com.bigdata.reativo.model.Endereco;
+import com.bigdata.reativo.repository.ClienteRepository;
+import com.bigdata.reativo.repository.EnderecoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Como na API servlet, toda mudança de endereço avança a versão do cliente e grava o evento na mesma transação
+@Service
+public class EnderecoService {
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Autowired
+    private ValidadorDados validadorDados;
+
+    @Autowired
+    private EventosCliente eventosCliente;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    // Endereços de um cliente; cliente inexistente é 404, não lista vazia
+    public Flux<Endereco> listarEnderecosPorCliente(Long clienteId) {
+        return clienteRepository.existsById(clienteId)
+                .flatMapMany(existe -> existe
+                        ? enderecoRepository.findByClienteIdOrderById(clienteId)
+                        : Flux.error(new ClienteNotFoundException(clienteId)));
+    }
+
+    // Adiciona um endereço ao cliente; o update da versão do cliente também confirma que ele existe
+    public Mono<Endereco> adicionarEndereco(Long clienteId, Endereco endereco) {
+        return validadorDados.validar(endereco)
+                .then(avancarVersaoCliente(clienteId))
+                .then(geradorIds.proximo("endereco_seq"))
+                .flatMap(id -> {
+                    endereco.setId(id);
+                    endereco.setVersao(null);
+                    endereco.setClienteId(clienteId);
+                    return enderecoRepository.save(endereco);
+                })
+                .flatMap(salvo -> registrar(TipoEventoCliente.ENDERECO_CRIADO, salvo).thenReturn(salvo))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Flux<Endereco> listarTodos() {
+        return enderecoRepository.findAll();
+    }
+
+    // Atualiza apenas os dados do endereço; a versão do endereço e a do cliente avançam
+    public Mono<Endereco> atualizarEndereco(Long id, Endereco enderecoAtualizado) {
+        return validadorDados.validar(enderecoAtualizado)
+                .then(enderecoRepository.findById(id))
+                .switchIfEmpty(Mono.error(() -> new EnderecoNotFoundException(id)))
+                .flatMap(enderecoExistente -> {
+                    enderecoExistente.setRua(enderecoAtualizado.getRua());
+                    enderecoExistente.setNumero(enderecoAtualizado.getNumero());
+                    enderecoExistente.setBairro(enderecoAtualizado.getBairro());
+                    enderecoExistente.setCidade(enderecoAtualizado.getCidade());
+                    enderecoExistente.setEstado(enderecoAtualizado.getEstado());
+                    enderecoExistente.setCep(enderecoAtualizado.getCep());
+                    return enderecoRepository.save(enderecoExistente);
+                })
+                .flatMap(endereco -> avancarVersaoCliente(endereco.getClienteId())
+                        .then(registrar(TipoEventoCliente.ENDERECO_ATUALIZADO, endereco))
+                        .thenReturn(endereco))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> deletarEndereco(Long id) {
+        return enderecoRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EnderecoNotFoundException(id)))
+                .flatMap(endereco -> enderecoRepository.delete(endereco)
+                        .then(avancarVersaoCliente(endereco.getClienteId()))
+                        .then(registrar(TipoEventoCliente.ENDERECO_REMOVIDO, endereco)))
+                .as(transactionalOperator::transactional);
+    }
+
+    // Os endereços fazem parte da representação do cliente: mudar um deles avança a versão do cliente,
+    // no próprio UPDATE; 0 linhas quer dizer que o cliente não existe
+    private Mono<Void> avancarVersaoCliente(Long clienteId) {
+        if (clienteId == null) {
+            return Mono.empty();
+        }
+        return clienteRepository.avancarVersao(clienteId)
+                .flatMap(atualizados -> atualizados == 0 ? Mono.error(new ClienteNotFoundException(clienteId)) : Mono.empty());
+    }
+
+    // Endereço sem cliente (órfão) não entra na outbox, que é por cliente
+    private Mono<Void> registrar(TipoEventoCliente tipo, Endereco endereco) {
+        return endereco.getClienteId() == null ? Mono.empty() : eventosCliente.registrar(tipo, endereco.getClienteId(), endereco.getId());
+    }
+}
@@ -0,0 +1,73 @@
+package com.bigdata.reativo.service;
+
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// Mesma outbox (evento_cliente) e mesmo contador_eventos de com.bigdata.ibmec.service.EventosCliente, em R2DBC
+// Deve rodar dentro da transação da mudança (TransactionalOperator dos serviços), como último passo dela:
+// o UPDATE do contador trava a linha até o commit, então as posições aparecem na ordem dos commits também
+// para as escritas das duas aplicações misturadas
+@Component
+public class EventosCliente {
+
+    private static final String CONTADOR = "evento_cliente";
+
+    // TRIM só converte o parâmetro em texto: o H2 via R2DBC não aceita o parâmetro direto na coluna ENUM que o
+    // Hibernate cria para o tipo (MySQL e H2 aceitam texto em ENUM)
+    private static final String INSERT =
+            "INSERT INTO evento_cliente (id, tipo, cliente_id, endereco_id, criado_em) VALUES (:id, TRIM(:tipo), :clienteId, :enderecoId, :criadoEm)";
+    private static final String RESERVAR = "UPDATE contador_eventos SET valor = valor + 1 WHERE nome = :nome";
+    private static final String ULTIMA_RESERVADA = "SELECT valor FROM contador_eventos WHERE nome = :nome";
+    private static final String INICIAR = "INSERT INTO contador_eventos (nome, valor) "
+            + "SELECT :nome, COALESCE(MAX(id), 0) FROM evento_cliente "
+            + "WHERE NOT EXISTS (SELECT 1 FROM contador_eventos WHERE nome = :nome)";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    // Reserva a próxima posição do contador e grava o evento com ela
+    public Mono<Void> registrar(TipoEventoCliente tipo, Long clienteId, Long enderecoId) {
+        return reservar()
+                .then(databaseClient.sql(ULTIMA_RESERVADA).bind("nome", CONTADOR)
+                        .map(linha -> linha.get(0, Long.class))
+                        .one())
+                .flatMap(posicao -> inserir(posicao, tipo, clienteId, enderecoId, LocalDateTime.now()))
+                .then();
+    }
+
+    // Sem a linha do contador (base nova), cria e reserva de novo; outra transação criando ao mesmo tempo ganha a corrida
+    private Mono<Void> reservar() {
+        return atualizarContador()
+                .flatMap(atualizadas -> atualizadas > 0 ? Mono.empty() : criarContador()
+                        .then(atualizarContador())
+                        .flatMap(novamente -> novamente > 0 ? Mono.empty()
+                                : Mono.error(new IllegalStateException("Contador de eventos '" + CONTADOR + "' não encontrado"))))
+                .then();
+    }
+
+    private Mono<Long> atualizarContador() {
+        return databaseClient.sql(RESERVAR).bind("nome", CONTADOR).fetch().rowsUpdated();
+    }
+
+    private Mono<Void> criarContador() {
+        return databaseClient.sql(INICIAR).bind("nome", CONTADOR).fetch().rowsUpdated()
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(0L))
+                .then();
+    }
+
+    private Mono<Long> inserir(long id, TipoEventoCliente tipo, Long clienteId, Long enderecoId, LocalDateTime criadoEm) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(INSERT)
+                .bind("id", id)
+                .bind("tipo", tipo.name())
+                .bind("clienteId", clienteId)
+                .bind("criadoEm", criadoEm);
+        insert = enderecoId == null ? insert.bindNull("enderecoId", Long.class) : insert.bind("enderecoId", enderecoId);
+        return insert.fetch().rowsUpdated();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bigdata.reativo.service;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// Ids das mesmas sequências usadas pelo JPA (cliente_seq, endereco_seq, incremento 50)
+// O JPA (otimizador pooled) usa o bloco (v - 50, v] de cada valor v que tira da sequência; aqui cada valor
+// vira um único id, que nunca cai no bloco de outro valor, então as duas aplicações não colidem
+@Component
+public class GeradorIds {
+
+    static final int INCREMENTO = 50;
+
+    private final DatabaseClient databaseClient;
+    private final boolean mysql;
+
+    public GeradorIds(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.mysql = connectionFactory.getMetadata().getName().toLowerCase().contains("mysql");
+    }
+
+    public Mono<Long> proximo(String sequencia) {
+        if (!mysql) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR " + sequencia)
+                    .map(linha -> linha.get(0, Long.class))
+                    .one();
+        }
+
+        // MySQL não tem sequência: o Hibernate emula com a tabela <sequencia>(next_val), devolvendo o valor
+        // anterior ao incremento; LAST_INSERT_ID faz a leitura e o incremento de forma atômica na mesma conexão
+        return databaseClient.inConnection(conexao -> Mono.from(conexao
+                        .createStatement("UPDATE " + sequencia + " SET next_val = LAST_INSERT_ID(next_val + " + INCREMENTO + ")")
+                        .execute())
+                .flatMap(resultado -> Mono.from(resultado.getRowsUpdated()))
+                .then(Mono.from(conexao.createStatement("SELECT LAST_INSERT_ID()").execute()))
+                .flatMap(resultado -> Mono.from(resultado.map((linha, metadados) -> linha.get(0, Long.class))))
+                .map(valor -> valor - INCREMENTO));
+    }
+}
@@ -0,0 +1,35 @@
+package com.bigdata.reativo.service;
+
+import com.bigdata.ibmec.exceptions.DadosInvalidosException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+// Mesmas anotações (@Cpf, @Telefone, @Cep, tamanhos) que a API servlet checa com @Valid, aplicadas no serviço:
+// no WebFlux a falha do @Valid não passaria pelo GlobalExceptionHandler com o mesmo corpo
+@Component
+public class ValidadorDados {
+
+    @Autowired
+    private Validator validator;
+
+    public Mono<Void> validar(Object dados) {
+        return Mono.fromRunnable(() -> {
+            if (dados == null) {
+                throw new DadosInvalidosException("Corpo da requisição é obrigatório");
+            }
+            String mensagens = validator.validate(dados).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            if (!mensagens.isEmpty()) {
+                throw new DadosInvalidosException(mensagens);
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.bigdata.ibmec;
+
+import com.bigdata.ibmec.validation.CpfValidator;
+
+// Gera CPFs distintos e com dígitos verificadores válidos para a massa de dados dos testes
+public final class Cpfs {
+
+    private Cpfs() {
+    }
+
+    // Números diferentes (até 899.999.999) geram CPFs diferentes; a base começa em 100.000.000
+    public static String gerar(long numero) {
+        long base = 100_000_000L + numero;
+        int[] digitos = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = (int) (base % 10);
+            base /= 10;
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+
+        String cpf = String.format("%d%d%d.%d%d%d.%d%d%d-%d%d", digitos[0], digitos[1], digitos[2], digitos[3],
+                digitos[4], digitos[5], digitos[6], digitos[7], digitos[8], digitos[9], digitos[10]);
+        if (!CpfValidator.valido(cpf)) {
+            throw new IllegalArgumentException("Número sem CPF válido: " + numero);
+        }
+        return cpf;
+    }
+
+    private static int digitoVerificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        int resto = soma * 10 % 11;
+        return resto == 10 ? 0 : resto;
+    }
+}
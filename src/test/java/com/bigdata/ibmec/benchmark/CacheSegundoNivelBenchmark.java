@@ -0,0 +1,96 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.IbmecApplication;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.service.EnderecoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Leituras repetidas de um conjunto fixo de clientes, com e sem o cache de segundo nível do Hibernate
+// Além do tempo, o contador "consultasSql" mostra quantos comandos chegaram ao banco em cada iteração
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheSegundoNivelBenchmark {
+
+    private static final int CLIENTES_BASE = 200;
+
+    @Param({"false", "true"})
+    public boolean segundoNivel;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteRepository clienteRepository;
+    private EnderecoService enderecoService;
+    private Statistics statistics;
+    private List<Cliente> clientes;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(IbmecApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + segundoNivel,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + segundoNivel,
+                        "--logging.level.root=ERROR");
+        clienteRepository = contexto.getBean(ClienteRepository.class);
+        enderecoService = contexto.getBean(EnderecoService.class);
+        statistics = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<Cliente> novos = new ArrayList<>();
+        for (int i = 0; i < CLIENTES_BASE; i++) {
+            novos.add(DadosBenchmark.clienteComEnderecos(i, 2));
+        }
+        clientes = clienteRepository.saveAll(novos);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ContadorConsultas {
+        public long consultasSql;
+    }
+
+    @Benchmark
+    public Optional<Cliente> buscarPorId(ContadorConsultas contador) {
+        long antes = statistics.getPrepareStatementCount();
+        Optional<Cliente> cliente = clienteRepository.findById(sortear().getId());
+        contador.consultasSql += statistics.getPrepareStatementCount() - antes;
+        return cliente;
+    }
+
+    @Benchmark
+    public Optional<Cliente> buscarPorCpf(ContadorConsultas contador) {
+        long antes = statistics.getPrepareStatementCount();
+        Optional<Cliente> cliente = clienteRepository.findByCpf(sortear().getCpf());
+        contador.consultasSql += statistics.getPrepareStatementCount() - antes;
+        return cliente;
+    }
+
+    @Benchmark
+    public List<Endereco> listarEnderecosPorCliente(ContadorConsultas contador) {
+        long antes = statistics.getPrepareStatementCount();
+        List<Endereco> enderecos = enderecoService.listarEnderecosPorCliente(sortear().getId());
+        contador.consultasSql += statistics.getPrepareStatementCount() - antes;
+        return enderecos;
+    }
+
+    private Cliente sortear() {
+        return clientes.get(ThreadLocalRandom.current().nextInt(clientes.size()));
+    }
+}
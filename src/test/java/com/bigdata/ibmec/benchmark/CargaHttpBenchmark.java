@@ -0,0 +1,131 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Teste de carga HTTP: roda só com o perfil "benchmark" (mvn test -Pbenchmark)
+@Tag("benchmark")
+abstract class CargaHttpBenchmark {
+
+    protected static final int CLIENTES_BASE = 1_000;
+    private static final int USUARIOS_SIMULTANEOS = 400;
+    private static final int REQUISICOES_POR_USUARIO = 50;
+    private static final int AQUECIMENTO = 2_000;
+
+    @LocalServerPort
+    private int porta;
+
+    // Ausente na variante reativa, que popula a base pelos próprios repositórios
+    @Autowired(required = false)
+    private ClienteRepository clienteRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    protected abstract String modo();
+
+    @Test
+    void medirVazaoELatencia() throws Exception {
+        List<Long> ids = popularBase();
+
+        // Aquecimento do JIT e do pool de conexões
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            requisitar(ids);
+        }
+
+        long[] latencias = new long[USUARIOS_SIMULTANEOS * REQUISICOES_POR_USUARIO];
+        AtomicInteger indice = new AtomicInteger();
+        AtomicInteger erros = new AtomicInteger();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int u = 0; u < USUARIOS_SIMULTANEOS; u++) {
+                tarefas.add(usuarios.submit(() -> {
+                    for (int r = 0; r < REQUISICOES_POR_USUARIO; r++) {
+                        long antes = System.nanoTime();
+                        int status = requisitar(ids);
+                        latencias[indice.getAndIncrement()] = System.nanoTime() - antes;
+                        if (status != 200) {
+                            erros.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Arrays.sort(latencias);
+        System.out.printf("[carga] modo=%s requisicoes=%d rps=%.0f p50=%.2fms p99=%.2fms erros=%d%n",
+                modo(), latencias.length, latencias.length / segundos,
+                percentil(latencias, 0.50), percentil(latencias, 0.99), erros.get());
+
+        assertEquals(latencias.length, indice.get());
+    }
+
+    // Alterna entre a listagem paginada e os endereços de um cliente, ambos indo ao banco
+    private int requisitar(List<Long> ids) throws Exception {
+        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        String caminho = ThreadLocalRandom.current().nextBoolean() ? "/enderecos/cliente/" + id : "/clientes?tamanho=20";
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    protected List<Long> popularBase() {
+        if (clienteRepository.count() < CLIENTES_BASE) {
+            List<Cliente> clientes = new ArrayList<>();
+            for (int i = 0; i < CLIENTES_BASE; i++) {
+                Cliente cliente = new Cliente();
+                cliente.setNome("Cliente " + i);
+                cliente.setEmail("carga" + i + "@gmail.com");
+                cliente.setCpf(Cpfs.gerar(i));
+                cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+                Endereco endereco = new Endereco();
+                endereco.setRua("Rua " + i);
+                endereco.setNumero("1");
+                endereco.setBairro("Centro");
+                endereco.setCidade("São Paulo");
+                endereco.setEstado("SP");
+                endereco.setCep("01000-000");
+                endereco.setCliente(cliente);
+                cliente.getEnderecos().add(endereco);
+                clientes.add(cliente);
+            }
+            clienteRepository.saveAll(clientes);
+        }
+        return clienteRepository.findAll().stream().map(Cliente::getId).toList();
+    }
+
+    private double percentil(long[] ordenadas, double p) {
+        int posicao = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, posicao)] / 1e6;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.reativo.IbmecReativoApplication;
+import com.bigdata.reativo.model.Cliente;
+import com.bigdata.reativo.model.Endereco;
+import com.bigdata.reativo.repository.ClienteRepository;
+import com.bigdata.reativo.repository.EnderecoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Mesma carga das variantes servlet, contra a API WebFlux + R2DBC com o mesmo tamanho de pool
+@SpringBootTest(classes = IbmecReativoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.config.name=reativo", "spring.r2dbc.pool.max-size=20"})
+class CargaReativaBenchmark extends CargaHttpBenchmark {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Override
+    protected String modo() {
+        return "reativo";
+    }
+
+    @Override
+    protected List<Long> popularBase() {
+        // A API reativa só lê: a base vai direto pelos repositórios, com ids explícitos
+        if (clienteRepository.count().block() < CLIENTES_BASE) {
+            enderecoRepository.deleteAll().then(clienteRepository.deleteAll()).block();
+            Flux.range(1, CLIENTES_BASE)
+                    .concatMap(i -> clienteRepository.save(novoCliente(i)).then(enderecoRepository.save(novoEndereco(i))))
+                    .blockLast();
+        }
+        return clienteRepository.findAllByOrderById().map(Cliente::getId).collectList().block();
+    }
+
+    private Cliente novoCliente(int i) {
+        Cliente cliente = new Cliente();
+        cliente.setId((long) i);
+        cliente.setNome("Cliente " + i);
+        cliente.setEmail("carga" + i + "@gmail.com");
+        cliente.setCpf(Cpfs.gerar(i));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setDataCadastro(LocalDateTime.now());
+        return cliente;
+    }
+
+    private Endereco novoEndereco(int i) {
+        Endereco endereco = new Endereco();
+        endereco.setId((long) i);
+        endereco.setRua("Rua " + i);
+        endereco.setNumero("1");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+        endereco.setClienteId((long) i);
+        return endereco;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bigdata.ibmec.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=false", "spring.datasource.hikari.maximum-pool-size=20"})
+class CargaThreadsPlataformaBenchmark extends CargaHttpBenchmark {
+
+    @Override
+    protected String modo() {
+        return "threads-plataforma";
+    }
+}
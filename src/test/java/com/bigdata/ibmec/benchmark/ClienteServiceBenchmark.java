@@ -0,0 +1,97 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.bigdata.ibmec.DTO.ClienteResumoDTO;
+import com.bigdata.ibmec.DTO.PaginaClientesDTO;
+import com.bigdata.ibmec.IbmecApplication;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.service.ClienteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caminhos quentes de ClienteService contra o H2 embarcado (application.properties de teste)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClienteServiceBenchmark {
+
+    private static final int CLIENTES_BASE = 1_000;
+
+    // "none" mede a ida ao banco em buscarClientePorId; "caffeine" mede o acerto de cache
+    @Param({"none", "caffeine"})
+    public String tipoCache;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteService clienteService;
+    private List<Long> ids;
+    private List<String> cursores;
+    private final AtomicLong proximoIndice = new AtomicLong(1_000_000);
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(IbmecApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.cache.type=" + tipoCache, "--logging.level.root=ERROR");
+        clienteService = contexto.getBean(ClienteService.class);
+
+        ClienteRepository clienteRepository = contexto.getBean(ClienteRepository.class);
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < CLIENTES_BASE; i++) {
+            clientes.add(DadosBenchmark.clienteComEnderecos(i, 2));
+        }
+        clienteRepository.saveAll(clientes);
+        ids = clienteRepository.findAll().stream().map(Cliente::getId).toList();
+
+        // Cursores de todas as páginas (null é a primeira), para os benchmarks de listagem não medirem só o início
+        cursores = new ArrayList<>();
+        String cursor = null;
+        do {
+            cursores.add(cursor);
+            cursor = clienteService.listarPaginaResumida(cursor, ClienteService.TAMANHO_PAGINA_PADRAO).getProximoCursor();
+        } while (cursor != null);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Cliente adicionarClienteComEndereco() {
+        long indice = proximoIndice.getAndIncrement();
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(DadosBenchmark.cliente(indice));
+        dto.setEndereco(DadosBenchmark.endereco(indice));
+        return clienteService.adicionarClienteComEndereco(dto);
+    }
+
+    @Benchmark
+    public ClienteDetalheDTO buscarClientePorId() {
+        return clienteService.buscarClientePorId(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    // Mesmo caminho do GET /clientes: uma página de tamanho padrão a partir de um cursor sorteado
+    @Benchmark
+    public PaginaClientesDTO<Cliente> listarPagina() {
+        return clienteService.listarPagina(sortearCursor(), ClienteService.TAMANHO_PAGINA_PADRAO);
+    }
+
+    @Benchmark
+    public PaginaClientesDTO<ClienteResumoDTO> listarPaginaResumida() {
+        return clienteService.listarPaginaResumida(sortearCursor(), ClienteService.TAMANHO_PAGINA_PADRAO);
+    }
+
+    private String sortearCursor() {
+        return cursores.get(ThreadLocalRandom.current().nextInt(cursores.size()));
+    }
+}
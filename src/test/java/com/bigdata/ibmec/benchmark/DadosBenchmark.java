@@ -0,0 +1,45 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+
+import java.time.LocalDate;
+
+// Massa de dados compartilhada pelos benchmarks
+final class DadosBenchmark {
+
+    private DadosBenchmark() {
+    }
+
+    static Cliente cliente(long indice) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + indice);
+        cliente.setEmail("cliente" + indice + "@gmail.com");
+        cliente.setCpf(Cpfs.gerar(indice));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setTelefone("(11) 91234-5678");
+        return cliente;
+    }
+
+    static Endereco endereco(long indice) {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua " + indice);
+        endereco.setNumero(String.valueOf(indice));
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+        return endereco;
+    }
+
+    static Cliente clienteComEnderecos(long indice, int quantidadeEnderecos) {
+        Cliente cliente = cliente(indice);
+        for (int i = 0; i < quantidadeEnderecos; i++) {
+            Endereco endereco = endereco(i);
+            endereco.setCliente(cliente);
+            cliente.getEnderecos().add(endereco);
+        }
+        return cliente;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bigdata.ibmec.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Executa os microbenchmarks JMH pelo perfil "benchmark" (mvn test -Pbenchmark -Dtest=JmhBenchmark)
+// O filtro pode ser trocado com -Djmh.include=<regex>; o resultado fica em target/jmh-resultados.json
+@Tag("benchmark")
+class JmhBenchmark {
+
+    @Test
+    void executarBenchmarks() throws Exception {
+        Options opcoes = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", JmhBenchmark.class.getPackageName() + ".*"))
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-resultados.json")
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        assertFalse(resultados.isEmpty());
+    }
+}
@@ -0,0 +1,34 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.model.Cliente;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialização Jackson de um Cliente com N endereços, como feita pelos controllers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int quantidadeEnderecos;
+
+    private ObjectMapper objectMapper;
+    private Cliente cliente;
+
+    @Setup
+    public void iniciar() {
+        // Mesma configuração do ObjectMapper que o Spring Boot monta para a API
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cliente = DadosBenchmark.clienteComEnderecos(1, quantidadeEnderecos);
+    }
+
+    @Benchmark
+    public byte[] serializarCliente() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cliente);
+    }
+}
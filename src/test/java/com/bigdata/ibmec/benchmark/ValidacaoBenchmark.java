@@ -0,0 +1,66 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Custo da bean validation (inclui os @Pattern de CPF, telefone e CEP) para entradas válidas e inválidas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private Cliente clienteValido;
+    private Cliente clienteInvalido;
+    private Endereco enderecoValido;
+    private Endereco enderecoInvalido;
+
+    @Setup
+    public void iniciar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+
+        clienteValido = DadosBenchmark.cliente(1);
+        clienteInvalido = DadosBenchmark.cliente(2);
+        clienteInvalido.setCpf("12345678900");
+        clienteInvalido.setTelefone("11912345678");
+
+        enderecoValido = DadosBenchmark.endereco(1);
+        enderecoInvalido = DadosBenchmark.endereco(2);
+        enderecoInvalido.setCep("01000000");
+    }
+
+    @TearDown
+    public void encerrar() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Cliente>> validarClienteValido() {
+        return validator.validate(clienteValido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Cliente>> validarClienteInvalido() {
+        return validator.validate(clienteInvalido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Endereco>> validarEnderecoValido() {
+        return validator.validate(enderecoValido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Endereco>> validarEnderecoInvalido() {
+        return validator.validate(enderecoInvalido);
+    }
+}
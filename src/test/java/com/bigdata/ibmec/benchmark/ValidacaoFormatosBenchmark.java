@@ -0,0 +1,129 @@
+package com.bigdata.ibmec.benchmark;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.ibmec.validation.Cep;
+import com.bigdata.ibmec.validation.Cpf;
+import com.bigdata.ibmec.validation.CpfValidator;
+import com.bigdata.ibmec.validation.Telefone;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Pattern;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// CPF, telefone e CEP: os @Pattern usados até aqui contra @Cpf/@Telefone/@Cep (varredura única, com dígito verificador)
+// Cada registro tem só os três campos, para o custo medido ser o das restrições e não o do resto da entidade
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidacaoFormatosBenchmark {
+
+    private static final int QUANTIDADE = 1024;
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private RegistroComPattern[] comPattern;
+    private RegistroComValidadores[] comValidadores;
+    private RegistroComPattern invalidoComPattern;
+    private RegistroComValidadores invalidoComValidadores;
+    private final java.util.regex.Pattern regexCpf = java.util.regex.Pattern.compile("\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}");
+    private int indice;
+
+    @Setup
+    public void iniciar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+
+        // CPFs distintos, como numa importação, para não medir sempre a mesma string
+        comPattern = new RegistroComPattern[QUANTIDADE];
+        comValidadores = new RegistroComValidadores[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            String cpf = Cpfs.gerar(i);
+            comPattern[i] = new RegistroComPattern(cpf, "(11) 91234-5678", "01000-000");
+            comValidadores[i] = new RegistroComValidadores(cpf, "(11) 91234-5678", "01000-000");
+        }
+        invalidoComPattern = new RegistroComPattern("12345678900", "11912345678", "01000000");
+        invalidoComValidadores = new RegistroComValidadores("12345678900", "11912345678", "01000000");
+    }
+
+    @TearDown
+    public void encerrar() {
+        factory.close();
+    }
+
+    private int proximo() {
+        indice = (indice + 1) & (QUANTIDADE - 1);
+        return indice;
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegistroComPattern>> validarValidoComPattern() {
+        return validator.validate(comPattern[proximo()]);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegistroComValidadores>> validarValidoComValidadores() {
+        return validator.validate(comValidadores[proximo()]);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegistroComPattern>> validarInvalidoComPattern() {
+        return validator.validate(invalidoComPattern);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegistroComValidadores>> validarInvalidoComValidadores() {
+        return validator.validate(invalidoComValidadores);
+    }
+
+    // Só a checagem do CPF, fora do Hibernate Validator: regex (só formato) contra a varredura (formato e dígitos)
+    @Benchmark
+    public boolean cpfComRegex() {
+        return regexCpf.matcher(comPattern[proximo()].cpf).matches();
+    }
+
+    @Benchmark
+    public boolean cpfComVarredura() {
+        return CpfValidator.valido(comValidadores[proximo()].cpf);
+    }
+
+    public static class RegistroComPattern {
+
+        @Pattern(regexp = "\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}", message = "CPF deve seguir o formato XXX.XXX.XXX-XX")
+        final String cpf;
+
+        @Pattern(regexp = "\\(\\d{2}\\) \\d{4,5}-\\d{4}", message = "Telefone deve seguir o formato (XX) XXXXX-XXXX")
+        final String telefone;
+
+        @Pattern(regexp = "\\d{5}-\\d{3}", message = "CEP deve seguir o formato XXXXX-XXX")
+        final String cep;
+
+        RegistroComPattern(String cpf, String telefone, String cep) {
+            this.cpf = cpf;
+            this.telefone = telefone;
+            this.cep = cep;
+        }
+    }
+
+    public static class RegistroComValidadores {
+
+        @Cpf
+        final String cpf;
+
+        @Telefone
+        final String telefone;
+
+        @Cep
+        final String cep;
+
+        RegistroComValidadores(String cpf, String telefone, String cep) {
+            this.cpf = cpf;
+            this.telefone = telefone;
+            this.cep = cep;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.bigdata.ibmec.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Simula uma base que já tinha clientes gravados com IDENTITY antes da troca para sequência
+@SpringBootTest
+class AjusteSequenciasTest {
+
+    private static final long ID_EXISTENTE = 10_000;
+
+    @Autowired
+    private AjusteSequencias ajusteSequencias;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cliente WHERE id = ?", ID_EXISTENTE);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS teste_seq");
+    }
+
+    @Test
+    void deveLevarASequenciaParaAlemDoMaiorIdExistente() {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO cliente (id, versao, nome, email, cpf, data_nascimento) VALUES (?, 0, ?, ?, ?, ?)",
+                ID_EXISTENTE, "Cliente Antigo", "antigo@gmail.com", "529.982.247-25", Date.valueOf("1980-01-01"));
+
+        // Act
+        ajusteSequencias.ajustar();
+
+        // Assert: o bloco que o Hibernate tiraria desse valor, (valor - 50, valor], não alcança o id existente
+        long proximo = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR cliente_seq", Long.class);
+        assertTrue(proximo - 50 >= ID_EXISTENTE, "próximo valor " + proximo);
+    }
+
+    @Test
+    void deveAvancarATabelaDeSequenciaEmuladaSemNuncaVoltar() {
+        // Arrange: formato que o Hibernate cria no MySQL, que não tem sequência
+        jdbcTemplate.execute("CREATE TABLE teste_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO teste_seq VALUES (1)");
+
+        // Act
+        ajusteSequencias.ajustarTabela("teste_seq", 10_050);
+        ajusteSequencias.ajustarTabela("teste_seq", 500);
+
+        // Assert
+        assertEquals(10_050L, jdbcTemplate.queryForObject("SELECT next_val FROM teste_seq", Long.class));
+    }
+}
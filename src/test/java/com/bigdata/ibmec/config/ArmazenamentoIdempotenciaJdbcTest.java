@@ -0,0 +1,82 @@
+package com.bigdata.ibmec.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"ibmec.idempotencia.armazenamento=jdbc", "ibmec.idempotencia.reserva=200ms"})
+class ArmazenamentoIdempotenciaJdbcTest {
+
+    @Autowired
+    private ArmazenamentoIdempotencia armazenamento;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM idempotencia");
+    }
+
+    @Test
+    void deveUsarOArmazenamentoJdbc() {
+        assertInstanceOf(ArmazenamentoIdempotenciaJdbc.class, armazenamento);
+    }
+
+    @Test
+    void deveReservarCadaChaveUmaVezSo() {
+        // Act & Assert: a segunda reserva seria outra instância executando a mesma chave
+        assertTrue(armazenamento.reservar("chave-1", "impressao"));
+        assertFalse(armazenamento.reservar("chave-1", "impressao"));
+        assertTrue(armazenamento.buscar("chave-1").isEmpty());
+    }
+
+    @Test
+    void deveGuardarEDevolverAResposta() {
+        // Arrange
+        armazenamento.reservar("chave-1", "impressao");
+
+        // Act
+        armazenamento.gravar("chave-1", new RespostaIdempotente("impressao", 200, "application/json", "\"0\"", null,
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        Optional<RespostaIdempotente> resposta = armazenamento.buscar("chave-1");
+
+        // Assert
+        assertTrue(resposta.isPresent());
+        assertEquals(200, resposta.get().status());
+        assertEquals("\"0\"", resposta.get().etag());
+        assertEquals("{\"id\":1}", new String(resposta.get().corpo(), StandardCharsets.UTF_8));
+        assertFalse(armazenamento.reservar("chave-1", "impressao"));
+    }
+
+    @Test
+    void deveLiberarAReservaSemResposta() {
+        // Arrange
+        armazenamento.reservar("chave-1", "impressao");
+
+        // Act
+        armazenamento.liberar("chave-1");
+
+        // Assert
+        assertTrue(armazenamento.reservar("chave-1", "impressao"));
+    }
+
+    @Test
+    void deveExpirarAReservaDeUmaInstanciaQueCaiu() throws Exception {
+        // Arrange
+        armazenamento.reservar("chave-1", "impressao");
+
+        // Act
+        Thread.sleep(300);
+
+        // Assert
+        assertTrue(armazenamento.reservar("chave-1", "impressao"));
+    }
+}
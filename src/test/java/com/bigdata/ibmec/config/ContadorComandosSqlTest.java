@@ -0,0 +1,58 @@
+package com.bigdata.ibmec.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContadorComandosSqlTest {
+
+    private final ContadorComandosSql contador = new ContadorComandosSql();
+
+    @Test
+    void deveContarSoOsComandosDaRequisicaoAberta() {
+        // Arrange
+        ContadorComandosSql.registrarComando("select 1");
+        contador.iniciar();
+
+        // Act
+        ContadorComandosSql.registrarComando("select 1");
+        ContadorComandosSql.registrarComando("select 2");
+        ContadorComandosSql.Requisicao requisicao = contador.encerrar();
+
+        // Assert
+        assertEquals(2, requisicao.getComandos());
+        assertEquals(0, contador.encerrar().getComandos());
+    }
+
+    @Test
+    void deveAgruparComandosRepetidosDoMaisFrequenteParaOMenos() {
+        // Arrange
+        contador.iniciar();
+
+        // Act
+        ContadorComandosSql.registrarComando("select cliente");
+        ContadorComandosSql.registrarComando("select endereco where cliente_id=?");
+        ContadorComandosSql.registrarComando("select endereco where cliente_id=?");
+        ContadorComandosSql.registrarComando("select endereco where cliente_id=?");
+        ContadorComandosSql.Requisicao requisicao = contador.encerrar();
+
+        // Assert
+        assertEquals(4, requisicao.getComandos());
+        assertEquals("  3x select endereco where cliente_id=?\n  1x select cliente", requisicao.descreverComandos());
+    }
+
+    @Test
+    void deveSomarOTempoDasExecucoes() throws InterruptedException {
+        // Arrange
+        contador.iniciar();
+
+        // Act
+        ContadorComandosSql.inicioExecucao();
+        Thread.sleep(5);
+        ContadorComandosSql.fimExecucao();
+        ContadorComandosSql.Requisicao requisicao = contador.encerrar();
+
+        // Assert
+        assertTrue(requisicao.getNanosJdbc() >= 5_000_000L);
+    }
+}
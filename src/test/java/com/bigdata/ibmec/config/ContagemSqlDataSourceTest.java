@@ -0,0 +1,101 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.service.ClienteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ContagemSqlDataSourceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContadorComandosSql contador;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    void deveEnvolverODataSourceDaAplicacao() {
+        assertInstanceOf(ContagemSqlDataSource.class, dataSource);
+    }
+
+    @Test
+    void deveContarComandosDoJdbcTemplate() {
+        // Arrange
+        contador.iniciar();
+
+        // Act: SQL avulso, lote preparado (conta uma vez) e consulta preparada
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS contagem_teste (id BIGINT)");
+        jdbcTemplate.batchUpdate("INSERT INTO contagem_teste (id) VALUES (?)", List.of(new Object[]{1L}, new Object[]{2L}));
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contagem_teste WHERE id > ?", Long.class, 0L);
+        ContadorComandosSql.Requisicao requisicao = contador.encerrar();
+
+        // Assert
+        assertEquals(3, requisicao.getComandos());
+        assertTrue(requisicao.getNanosJdbc() > 0);
+        jdbcTemplate.execute("DROP TABLE contagem_teste");
+    }
+
+    @Test
+    void deveContarOOutboxJuntoComOsComandosDoJpa() {
+        // Arrange
+        contador.iniciar();
+
+        // Act
+        clienteService.adicionarClienteComEndereco(novoDTO());
+        ContadorComandosSql.Requisicao requisicao = contador.encerrar();
+
+        // Assert: os comandos do JdbcTemplate no fim da transação entram no mesmo total
+        String comandos = requisicao.descreverComandos();
+        assertTrue(comandos.contains("insert into cliente"), comandos);
+        assertTrue(comandos.contains("UPDATE contador_eventos"), comandos);
+        assertTrue(comandos.contains("INSERT INTO evento_cliente"), comandos);
+    }
+
+    private ClienteComEnderecoDTO novoDTO() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf("123.456.789-09");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(cliente);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
@@ -0,0 +1,150 @@
+package com.bigdata.ibmec.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaFilterTest {
+
+    private final IdempotenciaFilter filtro = new IdempotenciaFilter(
+            new ArmazenamentoIdempotenciaMemoria(Duration.ofHours(1), DataSize.ofMegabytes(1)),
+            Duration.ofSeconds(5), DataSize.ofKilobytes(64));
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @Test
+    void deveRepetirARespostaGuardadaSemExecutarDeNovo() throws Exception {
+        // Act
+        MockHttpServletResponse primeira = executar(requisicao("chave-1", "{\"a\":1}"), cadeia(200));
+        MockHttpServletResponse segunda = executar(requisicao("chave-1", "{\"a\":1}"), cadeia(200));
+
+        // Assert
+        assertEquals(1, execucoes.get());
+        assertEquals(200, segunda.getStatus());
+        assertEquals(primeira.getContentAsString(), segunda.getContentAsString());
+        assertEquals("true", segunda.getHeader(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertNull(primeira.getHeader(IdempotenciaFilter.CABECALHO_REPETIDA));
+    }
+
+    @Test
+    void deveEntregarOCorpoDaRequisicaoAoController() throws Exception {
+        // Arrange
+        StringBuilder recebido = new StringBuilder();
+        FilterChain cadeia = (request, response) -> recebido.append(new String(request.getInputStream().readAllBytes(),
+                StandardCharsets.UTF_8));
+
+        // Act
+        executar(requisicao("chave-1", "{\"a\":1}"), cadeia);
+
+        // Assert
+        assertEquals("{\"a\":1}", recebido.toString());
+    }
+
+    @Test
+    void deveRecusarMesmaChaveComOutroCorpo() throws Exception {
+        // Arrange
+        executar(requisicao("chave-1", "{\"a\":1}"), cadeia(200));
+
+        // Act
+        MockHttpServletResponse response = executar(requisicao("chave-1", "{\"a\":2}"), cadeia(200));
+
+        // Assert
+        assertEquals(422, response.getStatus());
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void deveExecutarDeNovoQuandoAPrimeiraFalhouNoServidor() throws Exception {
+        // Act
+        executar(requisicao("chave-1", "{}"), cadeia(500));
+        MockHttpServletResponse segunda = executar(requisicao("chave-1", "{}"), cadeia(200));
+
+        // Assert
+        assertEquals(2, execucoes.get());
+        assertEquals(200, segunda.getStatus());
+    }
+
+    @Test
+    void deveIgnorarRotasERequisicoesSemChave() throws Exception {
+        // Act
+        executar(requisicao(null, "{}"), cadeia(200));
+        executar(requisicao(null, "{}"), cadeia(200));
+        MockHttpServletRequest outraRota = requisicao("chave-1", "{}");
+        outraRota.setRequestURI("/clientes/importacao");
+        executar(outraRota, cadeia(200));
+        executar(outraRota, cadeia(200));
+
+        // Assert
+        assertEquals(4, execucoes.get());
+    }
+
+    @Test
+    void deveUnificarRequisicoesSimultaneasComAMesmaChave() throws Exception {
+        // Arrange: a primeira execução só termina depois que as outras já estão esperando
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lenta = (request, response) -> {
+            execucoes.incrementAndGet();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.getWriter().write("{\"id\":1}");
+        };
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<MockHttpServletResponse> primeira = executor.submit(() -> executar(requisicao("chave-1", "{}"), lenta));
+            Thread.sleep(100);
+            Future<MockHttpServletResponse> segunda = executor.submit(() -> executar(requisicao("chave-1", "{}"), lenta));
+            Future<MockHttpServletResponse> terceira = executor.submit(() -> executar(requisicao("chave-1", "{}"), lenta));
+            Thread.sleep(100);
+            liberar.countDown();
+
+            // Assert
+            assertEquals("{\"id\":1}", primeira.get().getContentAsString());
+            assertEquals("{\"id\":1}", segunda.get().getContentAsString());
+            assertEquals("{\"id\":1}", terceira.get().getContentAsString());
+        }
+        assertEquals(1, execucoes.get());
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request, FilterChain cadeia) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, cadeia);
+        return response;
+    }
+
+    private MockHttpServletRequest requisicao(String chave, String corpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/clientes");
+        if (chave != null) {
+            request.addHeader(IdempotenciaFilter.CABECALHO_CHAVE, chave);
+        }
+        request.setContentType("application/json");
+        request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // "Controller" que conta as execuções e responde com o status pedido e o número da execução no corpo
+    private FilterChain cadeia(int status) {
+        return (request, response) -> {
+            int execucao = execucoes.incrementAndGet();
+            ((jakarta.servlet.http.HttpServletResponse) response).setStatus(status);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"execucao\":" + execucao + "}");
+        };
+    }
+}
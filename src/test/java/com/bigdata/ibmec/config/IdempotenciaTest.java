@@ -0,0 +1,82 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cadastro repetido pelo cliente da API (retry após timeout) com o armazenamento padrão, em memória
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotenciaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    // O armazenamento em memória é compartilhado pelos testes do mesmo contexto
+    private String chave;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+        chave = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void deveCadastrarUmaVezSoERepetirAResposta() throws Exception {
+        // Arrange
+        String corpo = cadastro(Cpfs.gerar(1));
+
+        // Act
+        MvcResult primeira = mockMvc.perform(post("/clientes").header(IdempotenciaFilter.CABECALHO_CHAVE, chave + "-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult repetida = mockMvc.perform(post("/clientes").header(IdempotenciaFilter.CABECALHO_CHAVE, chave + "-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotenciaFilter.CABECALHO_REPETIDA, "true"))
+                .andReturn();
+
+        // Assert: sem a chave, a repetição cairia no CPF já cadastrado (409)
+        assertEquals(primeira.getResponse().getContentAsString(), repetida.getResponse().getContentAsString());
+        assertEquals(1, clienteRepository.count());
+    }
+
+    @Test
+    void deveCadastrarDeNovoComOutraChave() throws Exception {
+        // Act
+        mockMvc.perform(post("/clientes").header(IdempotenciaFilter.CABECALHO_CHAVE, chave + "-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(cadastro(Cpfs.gerar(1))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/clientes").header(IdempotenciaFilter.CABECALHO_CHAVE, chave + "-2")
+                        .contentType(MediaType.APPLICATION_JSON).content(cadastro(Cpfs.gerar(1))))
+                .andExpect(status().isConflict());
+
+        // Assert
+        assertEquals(1, clienteRepository.count());
+    }
+
+    private String cadastro(String cpf) {
+        return "{\"cliente\":{\"nome\":\"João Silva\",\"email\":\"joao.silva@gmail.com\",\"cpf\":\"" + cpf + "\","
+                + "\"dataNascimento\":\"1990-01-01\"},"
+                + "\"endereco\":{\"rua\":\"Rua A\",\"numero\":\"123\",\"bairro\":\"Centro\",\"cidade\":\"São Paulo\","
+                + "\"estado\":\"SP\",\"cep\":\"01000-000\"}}";
+    }
+}
@@ -0,0 +1,168 @@
+package com.bigdata.ibmec.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeiturasCoalescidasTest {
+
+    private static final int CHAMADAS = 20;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LeiturasCoalescidas leiturasCoalescidas;
+    private Leitor leitor;
+    private Leitor proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        leiturasCoalescidas = new LeiturasCoalescidas(meterRegistry, 2000);
+        leitor = new Leitor();
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(leitor);
+        fabrica.addAspect(leiturasCoalescidas);
+        proxy = fabrica.getProxy();
+    }
+
+    @Test
+    void deveDividirACargaEntreChamadasSimultaneasEmThreadsDePlataforma() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS)) {
+            deveDividirACarga(executor);
+        }
+    }
+
+    @Test
+    void deveDividirACargaEntreChamadasSimultaneasEmThreadsVirtuais() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            deveDividirACarga(executor);
+        }
+    }
+
+    @Test
+    void deveCarregarSeparadamenteIdsDiferentes() throws Exception {
+        // Arrange
+        leitor.liberar.countDown();
+
+        // Act
+        proxy.buscar(1L);
+        proxy.buscar(2L);
+        proxy.buscar(1L);
+
+        // Assert: sem concorrência não há o que dividir
+        assertEquals(3, leitor.cargas.get());
+        assertEquals(3, contador(false));
+    }
+
+    @Test
+    void deveRepassarAExcecaoDaCargaParaQuemEsperava() throws Exception {
+        // Arrange
+        leitor.falhar = true;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Act
+            Future<String> primeira = executor.submit(() -> proxy.buscar(1L));
+            assertTrue(leitor.iniciou.await(5, TimeUnit.SECONDS));
+            Future<String> segunda = executor.submit(() -> proxy.buscar(1L));
+            aguardarCoalescidas(1);
+            leitor.liberar.countDown();
+
+            // Assert
+            Exception erroPrimeira = assertThrows(Exception.class, primeira::get);
+            Exception erroSegunda = assertThrows(Exception.class, segunda::get);
+            assertEquals("Cliente não encontrado", erroPrimeira.getCause().getMessage());
+            assertSame(erroPrimeira.getCause(), erroSegunda.getCause());
+        }
+        assertEquals(1, leitor.cargas.get());
+    }
+
+    @Test
+    void deveFazerNovaCargaParaQuemChegaDepoisDeEsquecerOId() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Arrange
+            Future<String> antes = executor.submit(() -> proxy.buscar(1L));
+            assertTrue(leitor.iniciou.await(5, TimeUnit.SECONDS));
+
+            // Act: uma escrita no cliente terminou enquanto a carga estava em andamento
+            leiturasCoalescidas.esquecer(1L);
+            Future<String> depois = executor.submit(() -> proxy.buscar(1L));
+            while (leitor.cargas.get() < 2) {
+                Thread.sleep(10);
+            }
+            leitor.liberar.countDown();
+
+            // Assert
+            assertEquals("cliente 1", antes.get());
+            assertEquals("cliente 1", depois.get());
+        }
+        assertEquals(2, leitor.cargas.get());
+        assertEquals(0, contador(true));
+    }
+
+    private void deveDividirACarga(ExecutorService executor) throws Exception {
+        // Arrange: a primeira carga só termina depois que as outras chamadas já estão esperando
+        List<Future<String>> resultados = new ArrayList<>();
+        resultados.add(executor.submit(() -> proxy.buscar(1L)));
+        assertTrue(leitor.iniciou.await(5, TimeUnit.SECONDS));
+
+        // Act
+        for (int i = 1; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> proxy.buscar(1L)));
+        }
+        aguardarCoalescidas(CHAMADAS - 1);
+        leitor.liberar.countDown();
+
+        // Assert
+        for (Future<String> resultado : resultados) {
+            assertEquals("cliente 1", resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, leitor.cargas.get());
+        assertEquals(1, contador(false));
+        assertEquals(CHAMADAS - 1, contador(true));
+        assertEquals(0, meterRegistry.get(LeiturasCoalescidas.METRICA_EM_ANDAMENTO).gauge().value());
+    }
+
+    private void aguardarCoalescidas(int esperadas) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (contador(true) < esperadas && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    private double contador(boolean coalescida) {
+        var contador = meterRegistry.find(LeiturasCoalescidas.METRICA_CHAMADAS)
+                .tags("operacao", "teste", "coalescida", String.valueOf(coalescida))
+                .counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    // Carga lenta controlada pelo teste
+    public static class Leitor {
+
+        final AtomicInteger cargas = new AtomicInteger();
+        final CountDownLatch iniciou = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+        volatile boolean falhar;
+
+        @LeituraCoalescida("teste")
+        public String buscar(Long id) throws InterruptedException {
+            cargas.incrementAndGet();
+            iniciou.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            if (falhar) {
+                throw new RuntimeException("Cliente não encontrado");
+            }
+            return "cliente " + id;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.bigdata.ibmec.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteConcorrenciaFilterTest {
+
+    @Test
+    void devePermitirRequisicaoDentroDoLimite() throws Exception {
+        // Arrange
+        LimiteConcorrenciaFilter filter = new LimiteConcorrenciaFilter(1, 1, 10);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> ((MockHttpServletResponse) res).setStatus(200));
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    @Test
+    void deveRecusarRequisicaoQuandoLimiteEsgotado() throws Exception {
+        // Arrange: a primeira requisição ocupa a única permissão enquanto a segunda chega
+        LimiteConcorrenciaFilter filter = new LimiteConcorrenciaFilter(1, 1, 10);
+        MockHttpServletResponse respostaInterna = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(new MockHttpServletRequest(), respostaInterna, (r, s) -> fail("não deveria executar")));
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), respostaInterna.getStatus());
+        assertEquals("1", respostaInterna.getHeader("Retry-After"));
+    }
+
+    @Test
+    void deveDeixarPassarActuatorEEventosMesmoComLimiteEsgotado() throws Exception {
+        // Arrange: a requisição externa ocupa a única permissão
+        LimiteConcorrenciaFilter filter = new LimiteConcorrenciaFilter(1, 1, 10);
+        MockHttpServletResponse respostaHealth = new MockHttpServletResponse();
+        MockHttpServletResponse respostaEventos = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), respostaHealth,
+                    (r, s) -> ((MockHttpServletResponse) s).setStatus(200));
+            filter.doFilter(new MockHttpServletRequest("GET", "/eventos"), respostaEventos,
+                    (r, s) -> ((MockHttpServletResponse) s).setStatus(200));
+        });
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), respostaHealth.getStatus());
+        assertEquals(HttpStatus.OK.value(), respostaEventos.getStatus());
+    }
+}
@@ -0,0 +1,62 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Cliente cliente;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+        cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf("123.456.789-09");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        clienteRepository.save(cliente);
+    }
+
+    @Test
+    void deveExporMetricasNoFormatoPrometheus() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/clientes/{id}", cliente.getId())).andExpect(status().isOk());
+
+        // Act
+        String metricas = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(metricas.contains("ibmec_servico_seconds_count{class=\"com.bigdata.ibmec.service.ClienteService\""));
+        assertTrue(metricas.contains("ibmec_servico_seconds_bucket{"));
+        assertTrue(metricas.contains("ibmec_sql_comandos_count{method=\"GET\",uri=\"/clientes/{id}\"}"));
+        assertTrue(metricas.contains("http_server_requests_seconds_count"));
+        assertTrue(metricas.contains("hikaricp_connections_active"));
+        assertTrue(metricas.contains("hibernate_entities_loads"));
+        assertTrue(metricas.contains("jvm_gc_memory_allocated_bytes_total"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Roda com ibmec.sql.orcamento.estrito=true: uma rota acima do orçamento responde 500 em vez de 200
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrcamentoSqlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+        for (int i = 0; i < 20; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente " + i);
+            cliente.setEmail("cliente" + i + "@gmail.com");
+            cliente.setCpf(Cpfs.gerar(i + 100));
+            cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+            for (int j = 0; j < 2; j++) {
+                Endereco endereco = new Endereco();
+                endereco.setRua("Rua " + j);
+                endereco.setNumero(String.valueOf(j));
+                endereco.setBairro("Centro");
+                endereco.setCidade("São Paulo");
+                endereco.setEstado("SP");
+                endereco.setCep("01000-000");
+                endereco.setCliente(cliente);
+                cliente.getEnderecos().add(endereco);
+            }
+            clienteRepository.save(cliente);
+        }
+    }
+
+    @Test
+    void deveListarClientesDentroDoOrcamentoDeSql() throws Exception {
+        // Act & Assert: 20 clientes com endereços em duas consultas, sem N+1 na serialização
+        mockMvc.perform(get("/clientes").param("tamanho", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientes.length()").value(20));
+    }
+
+    @Test
+    void deveListarClientesResumidosDentroDoOrcamentoDeSql() throws Exception {
+        // Act & Assert: o valor do parâmetro não diferencia maiúsculas de minúsculas
+        mockMvc.perform(get("/clientes").param("tamanho", "20").param("visao", "resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientes.length()").value(20))
+                .andExpect(jsonPath("$.clientes[0].quantidadeEnderecos").value(2));
+    }
+
+    @Test
+    void deveRecusarVisaoDesconhecida() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/clientes").param("visao", "parcial"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveBuscarClientesEmLoteDentroDoOrcamentoDeSql() throws Exception {
+        // Arrange
+        List<Long> ids = new ArrayList<>(clienteRepository.findAll().stream().map(Cliente::getId).toList());
+        Collections.reverse(ids);
+        ids.add(2, -1L);
+        String parametro = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        // Act & Assert: 20 clientes com endereços em uma consulta, na ordem pedida
+        mockMvc.perform(get("/clientes/lote").param("ids", parametro))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientes.length()").value(20))
+                .andExpect(jsonPath("$.clientes[0].id").value(ids.get(0)))
+                .andExpect(jsonPath("$.clientes[2].id").value(ids.get(3)))
+                .andExpect(jsonPath("$.clientes[19].enderecos.length()").value(2))
+                .andExpect(jsonPath("$.naoEncontrados").value(-1));
+    }
+
+    @Test
+    void deveRecusarLoteSemIds() throws Exception {
+        mockMvc.perform(get("/clientes/lote")).andExpect(status().isBadRequest());
+    }
+}
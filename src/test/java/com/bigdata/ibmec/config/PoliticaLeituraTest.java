@@ -0,0 +1,56 @@
+package com.bigdata.ibmec.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PoliticaLeituraTest {
+
+    @Test
+    void deveAlternarReplicasEmRoundRobin() {
+        // Arrange
+        RoteamentoDataSource roteamento = criar(RoteamentoProperties.PoliticaLeitura.ROUND_ROBIN, replica(0), replica(0), replica(0));
+
+        // Act & Assert
+        assertEquals(List.of(0, 1, 2, 0), List.of(roteamento.escolherReplica(), roteamento.escolherReplica(),
+                roteamento.escolherReplica(), roteamento.escolherReplica()));
+    }
+
+    @Test
+    void deveEscolherReplicaComMenorCarga() {
+        // Arrange
+        RoteamentoDataSource roteamento = criar(RoteamentoProperties.PoliticaLeitura.MENOR_CARGA, replica(5), replica(1), replica(3));
+
+        // Act & Assert
+        assertEquals(1, roteamento.escolherReplica());
+        assertEquals(1, roteamento.escolherReplica());
+    }
+
+    @Test
+    void deveIrAoPrimarioForaDeTransacaoSomenteLeitura() {
+        // Arrange
+        RoteamentoDataSource roteamento = criar(RoteamentoProperties.PoliticaLeitura.ROUND_ROBIN, replica(0));
+
+        // Act & Assert
+        assertEquals(RoteamentoDataSource.PRIMARIO, roteamento.determineCurrentLookupKey());
+    }
+
+    private RoteamentoDataSource criar(RoteamentoProperties.PoliticaLeitura politica, HikariDataSource... replicas) {
+        RoteamentoProperties properties = new RoteamentoProperties();
+        properties.setPolitica(politica);
+        return new RoteamentoDataSource(mock(HikariDataSource.class), List.of(replicas), properties);
+    }
+
+    private HikariDataSource replica(int conexoesAtivas) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(conexoesAtivas);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        return dataSource;
+    }
+}
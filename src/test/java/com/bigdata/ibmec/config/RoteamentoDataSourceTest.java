@@ -0,0 +1,117 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.service.ClienteService;
+import com.bigdata.ibmec.service.EnderecoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Primário e réplica são dois bancos H2 em memória distintos, para provar para onde cada operação vai
+@SpringBootTest(properties = {
+        "ibmec.datasource.roteamento-habilitado=true",
+        "spring.datasource.url=jdbc:h2:mem:primario;DB_CLOSE_DELAY=-1",
+        "ibmec.datasource.replicas[0].url=jdbc:h2:mem:replica0;DB_CLOSE_DELAY=-1",
+        "ibmec.datasource.replicas[0].username=admin",
+        "ibmec.datasource.replicas[0].password=admin",
+        "spring.cache.type=none",
+        // Sem cache de segundo nível, para que toda leitura chegue ao banco escolhido pelo roteamento
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class RoteamentoDataSourceTest {
+
+    @Autowired
+    private RoteamentoDataSource roteamentoDataSource;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primario = new JdbcTemplate((DataSource) roteamentoDataSource.getResolvedDataSources().get(RoteamentoDataSource.PRIMARIO));
+        replica = new JdbcTemplate((DataSource) roteamentoDataSource.getResolvedDataSources().get(0));
+
+        // Replica o esquema criado pelo Hibernate no primário, sem os dados
+        replica.execute("DROP ALL OBJECTS");
+        List<String> ddl = primario.queryForList("SCRIPT NODATA", String.class);
+        ddl.stream().filter(comando -> !comando.startsWith("CREATE USER")).forEach(replica::execute);
+
+        primario.update("DELETE FROM endereco");
+        primario.update("DELETE FROM cliente");
+        ContextoRoteamento.limpar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ContextoRoteamento.limpar();
+    }
+
+    @Test
+    void deveLerDaReplicaEmTransacaoSomenteLeitura() {
+        // Arrange: cliente existe apenas na réplica
+        replica.update("INSERT INTO cliente (id, nome, email, cpf, data_nascimento) VALUES (999, 'Só Réplica', 'r@gmail.com', '999.999.990-50', DATE '1990-01-01')");
+
+        // Act
+        ClienteDetalheDTO cliente = clienteService.buscarClientePorId(999L);
+
+        // Assert
+        assertEquals("Só Réplica", cliente.getNome());
+    }
+
+    @Test
+    void deveEscreverNoPrimarioELerSuaPropriaEscrita() {
+        // Act
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO());
+
+        // Assert: a escrita foi ao primário, não à réplica
+        assertEquals(1, primario.queryForObject("SELECT COUNT(*) FROM cliente", Integer.class));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM cliente", Integer.class));
+
+        // Logo após escrever, a mesma thread lê do primário (leitura após escrita)
+        assertEquals(1, enderecoService.listarEnderecosPorCliente(cliente.getId()).size());
+
+        // Passada a janela, a leitura volta para a réplica, que ainda não recebeu o cliente
+        ContextoRoteamento.limpar();
+        assertThrows(RuntimeException.class, () -> enderecoService.listarEnderecosPorCliente(cliente.getId()));
+    }
+
+    private ClienteComEnderecoDTO novoDTO() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf("123.456.789-09");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(cliente);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
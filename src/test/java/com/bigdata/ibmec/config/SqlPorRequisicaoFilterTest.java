@@ -0,0 +1,97 @@
+package com.bigdata.ibmec.config;
+
+import com.bigdata.ibmec.controller.ClienteController;
+import com.bigdata.ibmec.DTO.Visao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlPorRequisicaoFilterTest {
+
+    private final ContadorComandosSql contador = new ContadorComandosSql();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void deveResponderErroNoModoEstritoQuandoRotaPassaDoOrcamento() throws Exception {
+        // Arrange: listarTodos tem orçamento de 2 comandos e a "rota" executa 3
+        SqlPorRequisicaoFilter filtro = new SqlPorRequisicaoFilter(contador, meterRegistry, 30, 500, true);
+        MockHttpServletRequest request = requisicaoDeListarTodos();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filtro.doFilter(request, response, cadeiaComComandos(3));
+
+        // Assert: o corpo que a rota escreveu é trocado pelo erro, porque a resposta ainda estava retida
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatus());
+        assertTrue(response.getContentAsString().contains("GET /clientes excedeu o orçamento de SQL: 3 comandos (limite 2)"));
+        assertTrue(response.getContentAsString().contains("3x select c from cliente"));
+        assertFalse(response.getContentAsString().contains("corpo da rota"));
+    }
+
+    @Test
+    void deveSoRegistrarQuandoModoNaoEstrito() throws Exception {
+        // Arrange
+        SqlPorRequisicaoFilter filtro = new SqlPorRequisicaoFilter(contador, meterRegistry, 30, 500, false);
+
+        // Act
+        filtro.doFilter(requisicaoDeListarTodos(), new MockHttpServletResponse(), cadeiaComComandos(3));
+
+        // Assert
+        assertEquals(3.0, meterRegistry.get(MetricasConfig.COMANDOS_SQL).tag("uri", "/clientes").summary().totalAmount());
+        assertEquals(1, meterRegistry.get(MetricasConfig.TEMPO_SQL).tag("uri", "/clientes").timer().count());
+    }
+
+    @Test
+    void deveUsarOrcamentoPadraoEmRotasSemAnotacao() throws Exception {
+        // Arrange
+        SqlPorRequisicaoFilter filtro = new SqlPorRequisicaoFilter(contador, meterRegistry, 5, 500, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/enderecos");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/enderecos");
+
+        MockHttpServletResponse dentroDoOrcamento = new MockHttpServletResponse();
+        MockHttpServletResponse foraDoOrcamento = new MockHttpServletResponse();
+
+        // Act
+        filtro.doFilter(request, dentroDoOrcamento, cadeiaComComandos(5));
+        filtro.doFilter(request, foraDoOrcamento, cadeiaComComandos(6));
+
+        // Assert: dentro do orçamento a resposta retida chega inteira ao cliente
+        assertEquals(HttpStatus.OK.value(), dentroDoOrcamento.getStatus());
+        assertEquals("corpo da rota", dentroDoOrcamento.getContentAsString());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), foraDoOrcamento.getStatus());
+    }
+
+    private MockHttpServletRequest requisicaoDeListarTodos() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clientes");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/clientes");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(new Object(),
+                ClienteController.class.getMethod("listarTodos", String.class, int.class, Visao.class)));
+        return request;
+    }
+
+    // Simula a rota executando a mesma consulta várias vezes, como num N+1
+    private MockFilterChain cadeiaComComandos(int comandos) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                for (int i = 0; i < comandos; i++) {
+                    ContadorComandosSql.registrarComando("select c from cliente");
+                }
+                response.getWriter().write("corpo da rota");
+                response.flushBuffer();
+            }
+        });
+    }
+}
@@ -1,10 +1,24 @@
 package com.bigdata.ibmec.controller;
 
 import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.bigdata.ibmec.DTO.ClienteResumoDTO;
+import com.bigdata.ibmec.DTO.FiltroClienteDTO;
+import com.bigdata.ibmec.DTO.LoteClientesDTO;
+import com.bigdata.ibmec.DTO.PaginaClientesDTO;
+import com.bigdata.ibmec.DTO.ResultadoImportacaoDTO;
+import com.bigdata.ibmec.DTO.ResultadoRegistroDTO;
+import com.bigdata.ibmec.DTO.StatusIngestaoDTO;
+import com.bigdata.ibmec.DTO.Visao;
 import com.bigdata.ibmec.exceptions.ClienteNotFoundException;
+import com.bigdata.ibmec.exceptions.GlobalExceptionHandler;
+import com.bigdata.ibmec.exceptions.VersaoDesatualizadaException;
 import com.bigdata.ibmec.model.Cliente;
 import com.bigdata.ibmec.model.Endereco;
 import com.bigdata.ibmec.service.ClienteService;
+import com.bigdata.ibmec.service.ExportacaoClienteService;
+import com.bigdata.ibmec.service.FilaIngestaoClientes;
+import com.bigdata.ibmec.service.ImportacaoClienteService;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,22 +26,49 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class ClienteControllerTest {
 
     @Mock
     private ClienteService clienteService;
 
+    @Mock
+    private ImportacaoClienteService importacaoClienteService;
+
+    @Mock
+    private ExportacaoClienteService exportacaoClienteService;
+
+    @Mock
+    private FilaIngestaoClientes filaIngestaoClientes;
+
     @InjectMocks
     private ClienteController clienteController;
 
@@ -42,7 +83,7 @@ class ClienteControllerTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1)); // Maior de 18 anos
 
         Endereco endereco = new Endereco();
@@ -103,6 +144,184 @@ class ClienteControllerTest {
         assertEquals("Dados inválidos", exception.getMessage());
     }
 
+    @Test
+    void deveAceitarCadastroAssincronoComLocalDoStatus() {
+        // Arrange
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        StatusIngestaoDTO status = StatusIngestaoDTO.pendente(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        when(filaIngestaoClientes.enfileirar(dto)).thenReturn(status);
+
+        // Act
+        ResponseEntity<StatusIngestaoDTO> response = clienteController.enfileirarCliente(dto);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/clientes/ingestao/00000000-0000-0000-0000-000000000001", response.getHeaders().getLocation().toString());
+        assertEquals(StatusIngestaoDTO.Situacao.PENDENTE, response.getBody().getSituacao());
+    }
+
+    @Test
+    void deveImportarClientesEmLote() throws Exception {
+        // Arrange
+        InputStream corpo = new ByteArrayInputStream(new byte[0]);
+        ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+        resultado.adicionar(ResultadoRegistroDTO.importado(1, 10L));
+
+        when(importacaoClienteService.importarNdjson(corpo)).thenReturn(resultado);
+
+        // Act
+        ResponseEntity<ResultadoImportacaoDTO> response = clienteController.importarClientes(corpo);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getTotalImportados());
+        verify(importacaoClienteService, times(1)).importarNdjson(corpo);
+    }
+
+    @Test
+    void deveExportarClientesCompactadosComGzip() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"id\":1}\n".getBytes());
+            return 1L;
+        }).when(exportacaoClienteService).exportarNdjson(any(OutputStream.class));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = clienteController.exportarClientes(true);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        response.getBody().writeTo(saida);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/gzip", response.getHeaders().getContentType().toString());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).endsWith("clientes.ndjson.gz\""));
+        byte[] descompactado = new GZIPInputStream(new ByteArrayInputStream(saida.toByteArray())).readAllBytes();
+        assertEquals("{\"id\":1}\n", new String(descompactado));
+    }
+
+    @Test
+    void deveListarClientesPaginados() {
+        // Arrange
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        PaginaClientesDTO<Cliente> pagina = new PaginaClientesDTO<>(List.of(cliente), "Mg");
+
+        when(clienteService.listarPagina(null, 50)).thenReturn(pagina);
+
+        // Act
+        ResponseEntity<PaginaClientesDTO<?>> response = clienteController.listarTodos(null, 50, Visao.COMPLETA);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getClientes().size());
+        assertEquals("Mg", response.getBody().getProximoCursor());
+        verify(clienteService, times(1)).listarPagina(null, 50);
+    }
+
+    @Test
+    void deveListarClientesNaVisaoResumida() {
+        // Arrange
+        ClienteResumoDTO resumo = new ClienteResumoDTO(1L, "João Silva", "joao.silva@gmail.com", "123.456.789-09",
+                LocalDate.of(1990, 1, 1), null, 2L);
+        when(clienteService.listarPaginaResumida(null, 50)).thenReturn(new PaginaClientesDTO<>(List.of(resumo), null));
+
+        // Act
+        ResponseEntity<PaginaClientesDTO<?>> response = clienteController.listarTodos(null, 50, Visao.RESUMO);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(resumo), response.getBody().getClientes());
+        verify(clienteService, never()).listarPagina(any(), anyInt());
+    }
+
+    @Test
+    void deveBuscarClienteComETagDaVersao() {
+        // Arrange
+        ClienteDetalheDTO cliente = detalhe(3L);
+        when(clienteService.buscarClientePorId(1L)).thenReturn(cliente);
+
+        // Act
+        ResponseEntity<ClienteDetalheDTO> response = clienteController.buscarClientePorId(1L, null);
+
+        // Assert: sem If-None-Match o ETag vem do corpo, sem consultar a versão à parte
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertSame(cliente, response.getBody());
+        verify(clienteService, never()).buscarVersao(anyLong());
+    }
+
+    @Test
+    void deveBuscarClienteQuandoETagNaoCorresponde() {
+        // Arrange
+        ClienteDetalheDTO cliente = detalhe(4L);
+        when(clienteService.buscarVersao(1L)).thenReturn(4L);
+        when(clienteService.buscarClientePorId(1L)).thenReturn(cliente);
+
+        // Act
+        ResponseEntity<ClienteDetalheDTO> response = clienteController.buscarClientePorId(1L, "\"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        assertSame(cliente, response.getBody());
+    }
+
+    @Test
+    void deveBuscarClientesEmLote() {
+        // Arrange
+        Cliente cliente = new Cliente();
+        cliente.setId(7L);
+        LoteClientesDTO lote = new LoteClientesDTO(List.of(cliente), List.of(8L));
+        when(clienteService.buscarClientesPorIds(List.of(7L, 8L))).thenReturn(lote);
+
+        // Act
+        ResponseEntity<LoteClientesDTO> response = clienteController.buscarClientesPorIds(List.of(7L, 8L));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(lote, response.getBody());
+    }
+
+    @Test
+    void deveResponderNaoModificadoSemCarregarClienteQuandoETagCorresponde() {
+        // Arrange
+        when(clienteService.buscarVersao(1L)).thenReturn(3L);
+
+        // Act
+        ResponseEntity<ClienteDetalheDTO> response = clienteController.buscarClientePorId(1L, "\"2\", \"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(clienteService, never()).buscarClientePorId(anyLong());
+    }
+
+    @Test
+    void deveRepassarVersaoDoIfMatchAoAtualizar() {
+        // Arrange
+        Cliente clienteAtualizado = new Cliente();
+        Cliente clienteSalvo = new Cliente();
+        clienteSalvo.setVersao(4L);
+        when(clienteService.atualizarDadosCliente(1L, clienteAtualizado, 3L)).thenReturn(clienteSalvo);
+
+        // Act
+        ResponseEntity<Cliente> response = clienteController.atualizarCliente(1L, clienteAtualizado, "\"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void deveRejeitarIfMatchMalformado() {
+        // Act & Assert
+        assertThrows(VersaoDesatualizadaException.class,
+                () -> clienteController.atualizarCliente(1L, new Cliente(), "W/\"3\""));
+        verifyNoInteractions(clienteService);
+    }
+
     @Test
     void deveFalharAoBuscarClienteInexistente() {
         // Arrange
@@ -110,7 +329,7 @@ class ClienteControllerTest {
 
         // Act
         Exception exception = assertThrows(ClienteNotFoundException.class, () -> {
-            clienteController.buscarClientePorId(1L);
+            clienteController.buscarClientePorId(1L, null);
         });
 
         // Assert
@@ -124,11 +343,11 @@ class ClienteControllerTest {
         Cliente clienteAtualizado = new Cliente();
         clienteAtualizado.setNome("João Atualizado");
 
-        when(clienteService.atualizarDadosCliente(anyLong(), any(Cliente.class))).thenThrow(new ClienteNotFoundException(1L));
+        when(clienteService.atualizarDadosCliente(anyLong(), any(Cliente.class), isNull())).thenThrow(new ClienteNotFoundException(1L));
 
         // Act
         Exception exception = assertThrows(ClienteNotFoundException.class, () -> {
-            clienteController.atualizarCliente(1L, clienteAtualizado);
+            clienteController.atualizarCliente(1L, clienteAtualizado, null);
         });
 
         // Assert
@@ -164,4 +383,40 @@ class ClienteControllerTest {
         assertNotNull(exception);
         assertEquals("Cliente com ID 1 não encontrado", exception.getMessage());
     }
+
+    @Test
+    void deveResponderNotFoundAoAtualizarClienteInexistente() throws Exception {
+        // Arrange: MockMvc standalone para passar pelo GlobalExceptionHandler
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(clienteController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(clienteService.atualizarDadosCliente(eq(1L), any(Cliente.class), isNull())).thenThrow(new ClienteNotFoundException(1L));
+        String corpo = """
+                {"nome": "João Silva", "email": "joao.silva@gmail.com", "cpf": "123.456.789-09", "dataNascimento": "1990-01-01"}
+                """;
+
+        // Act & Assert
+        mockMvc.perform(put("/clientes/1").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Cliente com ID 1 não encontrado"));
+    }
+
+    @Test
+    void deveResponderNotFoundAoDeletarClienteInexistente() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(clienteController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        doThrow(new ClienteNotFoundException(1L)).when(clienteService).deletarCliente(1L);
+
+        // Act & Assert
+        mockMvc.perform(delete("/clientes/1"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Cliente com ID 1 não encontrado"));
+    }
+
+    private static ClienteDetalheDTO detalhe(Long versao) {
+        return new ClienteDetalheDTO(1L, versao, "João Silva", "joao.silva@gmail.com", "123.456.789-09",
+                LocalDate.of(1990, 1, 1), null, null, List.of());
+    }
 }
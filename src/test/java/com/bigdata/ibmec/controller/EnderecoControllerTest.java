@@ -1,5 +1,12 @@
 package com.bigdata.ibmec.controller;
 
+import com.bigdata.ibmec.DTO.EnderecoResumoDTO;
+import com.bigdata.ibmec.DTO.EnderecosClienteDTO;
+import com.bigdata.ibmec.DTO.EnderecosLoteDTO;
+import com.bigdata.ibmec.DTO.Visao;
+import com.bigdata.ibmec.exceptions.EnderecoNotFoundException;
+import com.bigdata.ibmec.exceptions.EnderecoSemIdNoLoteException;
+import com.bigdata.ibmec.exceptions.GlobalExceptionHandler;
 import com.bigdata.ibmec.model.Endereco;
 import com.bigdata.ibmec.service.EnderecoService;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,13 +15,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class EnderecoControllerTest {
 
@@ -40,16 +54,31 @@ class EnderecoControllerTest {
         enderecos.add(endereco1);
         enderecos.add(endereco2);
 
-        when(enderecoService.listarEnderecosPorCliente(1L)).thenReturn(enderecos);
+        when(enderecoService.listarEnderecosComVersao(1L)).thenReturn(new EnderecosClienteDTO(5L, enderecos));
 
         // Act
-        ResponseEntity<List<Endereco>> response = enderecoController.listarEnderecosPorCliente(1L);
+        ResponseEntity<List<Endereco>> response = enderecoController.listarEnderecosPorCliente(1L, null);
 
-        // Assert
+        // Assert: sem If-None-Match a versão vem junto com a lista
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"5\"", response.getHeaders().getETag());
         assertEquals(2, response.getBody().size());
-        verify(enderecoService, times(1)).listarEnderecosPorCliente(1L);
+        verify(enderecoService, times(1)).listarEnderecosComVersao(1L);
+        verify(enderecoService, never()).buscarVersaoCliente(anyLong());
+    }
+
+    @Test
+    void deveResponderNaoModificadoQuandoEnderecosNaoMudaram() {
+        // Arrange
+        when(enderecoService.buscarVersaoCliente(1L)).thenReturn(5L);
+
+        // Act
+        ResponseEntity<List<Endereco>> response = enderecoController.listarEnderecosPorCliente(1L, "W/\"5\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(enderecoService, never()).listarEnderecosComVersao(anyLong());
     }
 
     @Test
@@ -84,7 +113,7 @@ class EnderecoControllerTest {
         when(enderecoService.listarTodos()).thenReturn(enderecos);
 
         // Act
-        ResponseEntity<List<Endereco>> response = enderecoController.listarTodos();
+        ResponseEntity<List<?>> response = enderecoController.listarTodos(Visao.COMPLETA);
 
         // Assert
         assertNotNull(response);
@@ -93,22 +122,37 @@ class EnderecoControllerTest {
         verify(enderecoService, times(1)).listarTodos();
     }
 
+    @Test
+    void deveListarEnderecosNaVisaoResumida() {
+        // Arrange
+        EnderecoResumoDTO resumo = new EnderecoResumoDTO(1L, "Rua A", "123", "Centro", "São Paulo", "SP", "01000-000", 10L);
+        when(enderecoService.listarTodosResumidos()).thenReturn(List.of(resumo));
+
+        // Act
+        ResponseEntity<List<?>> response = enderecoController.listarTodos(Visao.RESUMO);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(resumo), response.getBody());
+        verify(enderecoService, never()).listarTodos();
+    }
+
     @Test
     void deveAtualizarEnderecoComSucesso() {
         // Arrange
         Endereco enderecoAtualizado = new Endereco();
         enderecoAtualizado.setRua("Rua Atualizada");
 
-        when(enderecoService.atualizarEndereco(eq(1L), any(Endereco.class))).thenReturn(enderecoAtualizado);
+        when(enderecoService.atualizarEndereco(eq(1L), any(Endereco.class), isNull())).thenReturn(enderecoAtualizado);
 
         // Act
-        ResponseEntity<Endereco> response = enderecoController.atualizarEndereco(1L, enderecoAtualizado);
+        ResponseEntity<Endereco> response = enderecoController.atualizarEndereco(1L, enderecoAtualizado, null);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Rua Atualizada", response.getBody().getRua());
-        verify(enderecoService, times(1)).atualizarEndereco(eq(1L), any(Endereco.class));
+        verify(enderecoService, times(1)).atualizarEndereco(eq(1L), any(Endereco.class), isNull());
     }
 
     @Test
@@ -124,4 +168,98 @@ class EnderecoControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(enderecoService, times(1)).deletarEndereco(1L);
     }
+
+    @Test
+    void deveAdicionarEnderecosEmLote() {
+        // Arrange
+        EnderecosLoteDTO lote = new EnderecosLoteDTO();
+        lote.setEnderecos(List.of(new Endereco(), new Endereco()));
+        when(enderecoService.adicionarEnderecos(1L, lote.getEnderecos())).thenReturn(lote.getEnderecos());
+
+        // Act
+        ResponseEntity<List<Endereco>> response = enderecoController.adicionarEnderecos(1L, lote);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+    }
+
+    @Test
+    void deveAtualizarEnderecosEmLote() {
+        // Arrange
+        EnderecosLoteDTO lote = new EnderecosLoteDTO();
+        lote.setEnderecos(List.of(new Endereco()));
+        when(enderecoService.atualizarEnderecos(lote.getEnderecos())).thenReturn(lote.getEnderecos());
+
+        // Act
+        ResponseEntity<List<Endereco>> response = enderecoController.atualizarEnderecos(lote);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(enderecoService, times(1)).atualizarEnderecos(lote.getEnderecos());
+    }
+
+    @Test
+    void deveDeletarEnderecosDoCliente() {
+        // Arrange
+        when(enderecoService.deletarEnderecosDoCliente(1L)).thenReturn(2);
+
+        // Act
+        ResponseEntity<Void> response = enderecoController.deletarEnderecosDoCliente(1L);
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(enderecoService, times(1)).deletarEnderecosDoCliente(1L);
+    }
+
+    @Test
+    void deveRecusarComBadRequestLoteDeAtualizacaoComItemSemId() throws Exception {
+        // Arrange: MockMvc standalone para passar pela validação do corpo e pelo GlobalExceptionHandler
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(enderecoController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(enderecoService.atualizarEnderecos(anyList())).thenThrow(new EnderecoSemIdNoLoteException());
+        String corpo = """
+                {"enderecos": [
+                  {"id": 1, "rua": "Rua A", "numero": "1", "bairro": "Centro", "cidade": "São Paulo", "estado": "SP", "cep": "01000-000"},
+                  {"rua": "Rua B", "numero": "2", "bairro": "Centro", "cidade": "São Paulo", "estado": "SP", "cep": "01000-000"}
+                ]}
+                """;
+
+        // Act & Assert
+        mockMvc.perform(put("/enderecos/lote").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Cada endereço do lote precisa do id"));
+    }
+
+    @Test
+    void deveResponderNotFoundAoAtualizarEnderecoInexistente() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(enderecoController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(enderecoService.atualizarEndereco(eq(1L), any(Endereco.class), isNull())).thenThrow(new EnderecoNotFoundException(1L));
+        String corpo = """
+                {"rua": "Rua A", "numero": "1", "bairro": "Centro", "cidade": "São Paulo", "estado": "SP", "cep": "01000-000"}
+                """;
+
+        // Act & Assert
+        mockMvc.perform(put("/enderecos/1").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Endereço com ID 1 não encontrado"));
+    }
+
+    @Test
+    void deveResponderNotFoundAoDeletarEnderecoInexistente() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(enderecoController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        doThrow(new EnderecoNotFoundException(1L)).when(enderecoService).deletarEndereco(1L);
+
+        // Act & Assert
+        mockMvc.perform(delete("/enderecos/1"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Endereço com ID 1 não encontrado"));
+    }
 }
@@ -0,0 +1,61 @@
+package com.bigdata.ibmec.controller;
+
+import com.bigdata.ibmec.DTO.CadastrosPorDiaDTO;
+import com.bigdata.ibmec.DTO.ClientesPorCidadeDTO;
+import com.bigdata.ibmec.service.RelatorioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RelatorioControllerTest {
+
+    @Mock
+    private RelatorioService relatorioService;
+
+    @InjectMocks
+    private RelatorioController relatorioController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void deveListarClientesPorCidadeDoEstado() {
+        // Arrange
+        List<ClientesPorCidadeDTO> cidades = List.of(new ClientesPorCidadeDTO("SP", "São Paulo", 3L));
+        when(relatorioService.clientesPorCidade("SP")).thenReturn(cidades);
+
+        // Act
+        ResponseEntity<List<ClientesPorCidadeDTO>> response = relatorioController.clientesPorCidade("SP");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(cidades, response.getBody());
+    }
+
+    @Test
+    void deveListarCadastrosPorDia() {
+        // Arrange
+        List<CadastrosPorDiaDTO> cadastros = List.of(new CadastrosPorDiaDTO(LocalDate.now(), 2L));
+        when(relatorioService.cadastrosPorDia(7)).thenReturn(cadastros);
+
+        // Act
+        ResponseEntity<List<CadastrosPorDiaDTO>> response = relatorioController.cadastrosPorDia(7);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(cadastros, response.getBody());
+        verify(relatorioService, times(1)).cadastrosPorDia(7);
+    }
+}
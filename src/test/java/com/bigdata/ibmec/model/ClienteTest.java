@@ -1,5 +1,6 @@
 package com.bigdata.ibmec.model;
 
+import com.bigdata.ibmec.validation.CpfValidator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -29,7 +30,7 @@ class ClienteTest {
         Cliente cliente = new Cliente();
         cliente.setNome("");  // Nome inválido (vazio)
         cliente.setEmail("joao.silva@gmail.com");  // Email válido
-        cliente.setCpf("123.456.789-00");  // CPF válido
+        cliente.setCpf("123.456.789-09");  // CPF válido
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));  // Data válida
         cliente.setTelefone("(11) 91234-5678");  // Telefone válido
 
@@ -54,7 +55,7 @@ class ClienteTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");  // Nome válido
         cliente.setEmail("emailinvalido");  // Email inválido
-        cliente.setCpf("123.456.789-00");  // CPF válido
+        cliente.setCpf("123.456.789-09");  // CPF válido
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));  // Data válida
         cliente.setTelefone("(11) 91234-5678");  // Telefone válido
 
@@ -86,13 +87,31 @@ class ClienteTest {
         assertEquals("CPF deve seguir o formato XXX.XXX.XXX-XX", violations.iterator().next().getMessage());
     }
 
+    @Test
+    void deveFalharQuandoDigitosVerificadoresDoCpfNaoConferem() {
+        // Arrange
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf("123.456.789-00");  // Formato certo, dígitos verificadores errados
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setTelefone("(11) 91234-5678");
+
+        // Act
+        Set<ConstraintViolation<Cliente>> violations = validator.validate(cliente);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(CpfValidator.MENSAGEM_DIGITOS, violations.iterator().next().getMessage());
+    }
+
     @Test
     void deveFalharQuandoDataNascimentoFutura() {
         // Arrange
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");  // Nome válido
         cliente.setEmail("joao.silva@gmail.com");  // Email válido
-        cliente.setCpf("123.456.789-00");  // CPF válido
+        cliente.setCpf("123.456.789-09");  // CPF válido
         cliente.setDataNascimento(LocalDate.of(2030, 1, 1));  // Data futura (inválida)
         cliente.setTelefone("(11) 91234-5678");  // Telefone válido
 
@@ -111,7 +130,7 @@ class ClienteTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");  // Nome válido
         cliente.setEmail("joao.silva@gmail.com");  // Email válido
-        cliente.setCpf("123.456.789-00");  // CPF válido
+        cliente.setCpf("123.456.789-09");  // CPF válido
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));  // Data válida
         cliente.setTelefone("11912345678");  // Telefone inválido (sem formato correto)
 
@@ -130,7 +149,7 @@ class ClienteTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");  // Nome válido
         cliente.setEmail("joao.silva@gmail.com");  // Email válido
-        cliente.setCpf("123.456.789-00");  // CPF válido
+        cliente.setCpf("123.456.789-09");  // CPF válido
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));  // Data válida
         cliente.setTelefone("(11) 91234-5678");  // Telefone válido
 
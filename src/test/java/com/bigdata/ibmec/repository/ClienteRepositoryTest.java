@@ -1,14 +1,26 @@
 package com.bigdata.ibmec.repository;
 
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.ibmec.DTO.CadastrosPorDiaDTO;
+import com.bigdata.ibmec.DTO.ClienteResumoDTO;
+import com.bigdata.ibmec.DTO.FaixaEtariaDTO;
 import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,6 +32,9 @@ public class ClienteRepositoryTest {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Cliente cliente;
 
     @BeforeEach
@@ -27,7 +42,7 @@ public class ClienteRepositoryTest {
         cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));  // Maior de 18 anos
         cliente.setTelefone("(11) 91234-5678");
 
@@ -37,12 +52,12 @@ public class ClienteRepositoryTest {
     @Test
     void deveEncontrarClientePorCpf() {
         // Act
-        Optional<Cliente> clienteEncontrado = clienteRepository.findByCpf("123.456.789-00");
+        Optional<Cliente> clienteEncontrado = clienteRepository.findByCpf("123.456.789-09");
 
         // Assert
         assertTrue(clienteEncontrado.isPresent());
         assertEquals("João Silva", clienteEncontrado.get().getNome());
-        assertEquals("123.456.789-00", clienteEncontrado.get().getCpf());
+        assertEquals("123.456.789-09", clienteEncontrado.get().getCpf());
     }
 
     @Test
@@ -80,7 +95,7 @@ public class ClienteRepositoryTest {
         Cliente novoCliente = new Cliente();
         novoCliente.setNome("Maria Oliveira");
         novoCliente.setEmail("maria.oliveira@gmail.com");
-        novoCliente.setCpf("321.654.987-00");
+        novoCliente.setCpf("321.654.987-91");
         novoCliente.setDataNascimento(LocalDate.of(1995, 5, 15));  // Maior de 18 anos
         novoCliente.setTelefone("(21) 91234-5678");
 
@@ -92,4 +107,134 @@ public class ClienteRepositoryTest {
         assertEquals("Maria Oliveira", clienteSalvo.getNome());
         assertEquals("maria.oliveira@gmail.com", clienteSalvo.getEmail());
     }
+
+    @Test
+    void deveBuscarProximaPaginaPorCursor() {
+        // Arrange
+        Cliente segundo = novoCliente(2);
+        clienteRepository.save(segundo);
+
+        // Act
+        List<Long> primeiraPagina = clienteRepository.findIdsApos(0L, Limit.of(1));
+        List<Long> segundaPagina = clienteRepository.findIdsApos(primeiraPagina.get(0), Limit.of(1));
+
+        // Assert
+        assertEquals(List.of(cliente.getId()), primeiraPagina);
+        assertEquals(List.of(segundo.getId()), segundaPagina);
+    }
+
+    @Test
+    void deveProjetarResumoComQuantidadeDeEnderecos() {
+        // Arrange
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+        endereco.setCliente(cliente);
+        entityManager.persist(endereco);
+
+        // Act
+        List<ClienteResumoDTO> resumos = clienteRepository.findResumosApos(0L, Limit.of(10));
+
+        // Assert
+        assertEquals(1, resumos.size());
+        assertEquals("João Silva", resumos.get(0).getNome());
+        assertEquals(1L, resumos.get(0).getQuantidadeEnderecos());
+    }
+
+    @Test
+    void deveCarregarEnderecosComNumeroConstanteDeConsultas() {
+        // O número de consultas para listar e serializar os endereços não pode crescer com os dados
+        assertEquals(contarConsultasDaListagem(5), contarConsultasDaListagem(25));
+    }
+
+    @Test
+    void deveAgruparClientesPorFaixaEtaria() {
+        // Arrange: o cliente do setUp nasceu em 1990; mais dois de 20 anos e um de 70
+        for (int i = 0; i < 2; i++) {
+            Cliente jovem = novoCliente(i);
+            jovem.setDataNascimento(LocalDate.now().minusYears(20));
+            clienteRepository.save(jovem);
+        }
+        Cliente idoso = novoCliente(2);
+        idoso.setDataNascimento(LocalDate.now().minusYears(70));
+        clienteRepository.save(idoso);
+
+        // Act
+        List<FaixaEtariaDTO> faixas = clienteRepository.contarPorFaixaEtaria();
+
+        // Assert: da faixa mais nova para a mais velha
+        String faixaDoSetUp = faixaEsperada(cliente.getDataNascimento());
+        assertEquals(List.of(new FaixaEtariaDTO("18-24", 2L), new FaixaEtariaDTO(faixaDoSetUp, 1L),
+                new FaixaEtariaDTO("60+", 1L)), faixas);
+    }
+
+    @Test
+    void deveContarCadastrosPorDia() {
+        // Arrange
+        clienteRepository.save(novoCliente(1));
+        entityManager.flush();
+
+        // Act
+        List<CadastrosPorDiaDTO> hoje = clienteRepository.contarCadastrosPorDia(LocalDate.now().atStartOfDay());
+        List<CadastrosPorDiaDTO> amanha = clienteRepository.contarCadastrosPorDia(LocalDateTime.now().plusDays(1));
+
+        // Assert
+        assertNotNull(cliente.getDataCadastro());
+        assertEquals(List.of(new CadastrosPorDiaDTO(LocalDate.now(), 2L)), hoje);
+        assertTrue(amanha.isEmpty());
+    }
+
+    private String faixaEsperada(LocalDate dataNascimento) {
+        int idade = Period.between(dataNascimento, LocalDate.now()).getYears();
+        return idade < 35 ? "25-34" : idade < 45 ? "35-44" : "45-59";
+    }
+
+    private long contarConsultasDaListagem(int quantidade) {
+        clienteRepository.deleteAll();
+        entityManager.flush();
+        for (int i = 0; i < quantidade; i++) {
+            Cliente novo = novoCliente(i);
+            for (int j = 0; j < 2; j++) {
+                Endereco endereco = new Endereco();
+                endereco.setRua("Rua " + j);
+                endereco.setNumero(String.valueOf(j));
+                endereco.setBairro("Centro");
+                endereco.setCidade("São Paulo");
+                endereco.setEstado("SP");
+                endereco.setCep("01000-000");
+                endereco.setCliente(novo);
+                novo.getEnderecos().add(endereco);
+            }
+            clienteRepository.save(novo);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> ids = clienteRepository.findIdsApos(0L, Limit.of(quantidade));
+        List<Cliente> clientes = clienteRepository.findAllComEnderecosByIdIn(ids);
+
+        // Percorre os endereços como o Jackson faria ao serializar
+        int totalEnderecos = clientes.stream().mapToInt(c -> c.getEnderecos().size()).sum();
+        assertEquals(quantidade, clientes.size());
+        assertEquals(quantidade * 2, totalEnderecos);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Cliente novoCliente(int indice) {
+        Cliente novo = new Cliente();
+        novo.setNome("Cliente " + indice);
+        novo.setEmail("cliente" + indice + "@gmail.com");
+        novo.setCpf(Cpfs.gerar(indice + 100));
+        novo.setDataNascimento(LocalDate.of(1990, 1, 1));
+        return novo;
+    }
 }
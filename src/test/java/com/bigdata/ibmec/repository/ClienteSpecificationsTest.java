@@ -0,0 +1,121 @@
+package com.bigdata.ibmec.repository;
+
+import com.bigdata.ibmec.DTO.FiltroClienteDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ClienteSpecificationsTest {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @BeforeEach
+    void setUp() {
+        salvar("João Silva", "joao@gmail.com", "111.111.112-00", LocalDate.of(1990, 1, 1), "São Paulo", "SP", "Campinas", "SP");
+        salvar("Joana Souza", "joana@gmail.com", "222.222.223-03", LocalDate.of(1980, 6, 15), "Rio de Janeiro", "RJ");
+        salvar("Maria Oliveira", "maria@gmail.com", "333.333.334-14", LocalDate.of(2000, 3, 10), "São Paulo", "SP");
+    }
+
+    @Test
+    void deveFiltrarPorPrefixoDoNome() {
+        // Arrange
+        FiltroClienteDTO filtro = new FiltroClienteDTO();
+        filtro.setNome("Jo");
+
+        // Act & Assert
+        assertEquals(List.of("Joana Souza", "João Silva"), nomes(filtro, Sort.by("nome")));
+    }
+
+    @Test
+    void deveFiltrarPorFaixaDeNascimento() {
+        // Arrange
+        FiltroClienteDTO filtro = new FiltroClienteDTO();
+        filtro.setNascidoDe(LocalDate.of(1985, 1, 1));
+        filtro.setNascidoAte(LocalDate.of(1995, 12, 31));
+
+        // Act & Assert
+        assertEquals(List.of("João Silva"), nomes(filtro, Sort.by("nome")));
+    }
+
+    @Test
+    void deveFiltrarPorCidadeEEstadoSemDuplicarClientes() {
+        // Arrange
+        FiltroClienteDTO filtro = new FiltroClienteDTO();
+        filtro.setEstado("SP");
+
+        // Act
+        Page<Cliente> pagina = clienteRepository.findAll(ClienteSpecifications.comFiltro(filtro), PageRequest.of(0, 10, Sort.by("nome")));
+
+        // Assert
+        assertEquals(2, pagina.getTotalElements());
+        assertEquals(List.of("João Silva", "Maria Oliveira"), pagina.map(Cliente::getNome).getContent());
+
+        filtro.setCidade("Campinas");
+        assertEquals(List.of("João Silva"), nomes(filtro, Sort.by("nome")));
+    }
+
+    @Test
+    void deveCombinarFiltrosExatos() {
+        // Arrange
+        FiltroClienteDTO filtro = new FiltroClienteDTO();
+        filtro.setCpf("333.333.334-14");
+        filtro.setEmail("maria@gmail.com");
+
+        // Act & Assert
+        assertEquals(List.of("Maria Oliveira"), nomes(filtro, Sort.unsorted()));
+
+        filtro.setEmail("outro@gmail.com");
+        assertTrue(nomes(filtro, Sort.unsorted()).isEmpty());
+    }
+
+    @Test
+    void deveTratarCuringasDoNomeComoTexto() {
+        // Arrange
+        FiltroClienteDTO filtro = new FiltroClienteDTO();
+        filtro.setNome("%");
+
+        // Act & Assert
+        assertTrue(nomes(filtro, Sort.unsorted()).isEmpty());
+    }
+
+    private List<String> nomes(FiltroClienteDTO filtro, Sort sort) {
+        return clienteRepository.findAll(ClienteSpecifications.comFiltro(filtro), sort).stream()
+                .map(Cliente::getNome)
+                .toList();
+    }
+
+    private void salvar(String nome, String email, String cpf, LocalDate dataNascimento, String... cidadesEstados) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(dataNascimento);
+        for (int i = 0; i < cidadesEstados.length; i += 2) {
+            Endereco endereco = new Endereco();
+            endereco.setRua("Rua A");
+            endereco.setNumero("1");
+            endereco.setBairro("Centro");
+            endereco.setCidade(cidadesEstados[i]);
+            endereco.setEstado(cidadesEstados[i + 1]);
+            endereco.setCep("01000-000");
+            endereco.setCliente(cliente);
+            cliente.getEnderecos().add(endereco);
+        }
+        clienteRepository.save(cliente);
+    }
+}
@@ -1,5 +1,8 @@
 package com.bigdata.ibmec.repository;
 
+import com.bigdata.ibmec.DTO.ClientesPorCidadeDTO;
+import com.bigdata.ibmec.DTO.ClientesPorEstadoDTO;
+import com.bigdata.ibmec.DTO.EnderecoResumoDTO;
 import com.bigdata.ibmec.model.Cliente;
 import com.bigdata.ibmec.model.Endereco;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,7 +36,7 @@ public class EnderecoRepositoryTest {
         cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
         cliente.setTelefone("(11) 91234-5678");
 
@@ -109,4 +112,51 @@ public class EnderecoRepositoryTest {
         Optional<Endereco> enderecoDeletado = enderecoRepository.findById(endereco.getId());
         assertTrue(enderecoDeletado.isEmpty());
     }
+
+    @Test
+    void deveProjetarResumoComIdDoCliente() {
+        // Act
+        List<EnderecoResumoDTO> resumos = enderecoRepository.findAllResumos();
+
+        // Assert
+        assertEquals(1, resumos.size());
+        assertEquals("Rua A", resumos.get(0).getRua());
+        assertEquals(cliente.getId(), resumos.get(0).getClienteId());
+    }
+
+    @Test
+    void deveContarClientesDistintosPorEstadoECidade() {
+        // Arrange: segundo endereço do mesmo cliente em SP e um cliente novo no RJ
+        enderecoRepository.save(novoEndereco(cliente, "Campinas", "SP"));
+        Cliente outro = new Cliente();
+        outro.setNome("Maria Oliveira");
+        outro.setEmail("maria.oliveira@gmail.com");
+        outro.setCpf("321.654.987-91");
+        outro.setDataNascimento(LocalDate.of(1995, 5, 15));
+        clienteRepository.save(outro);
+        enderecoRepository.save(novoEndereco(outro, "Rio de Janeiro", "RJ"));
+
+        // Act
+        List<ClientesPorEstadoDTO> porEstado = enderecoRepository.contarClientesPorEstado();
+        List<ClientesPorCidadeDTO> cidadesDeSp = enderecoRepository.contarClientesPorCidade("SP");
+        List<ClientesPorCidadeDTO> todasAsCidades = enderecoRepository.contarClientesPorCidade(null);
+
+        // Assert
+        assertEquals(List.of(new ClientesPorEstadoDTO("RJ", 1L), new ClientesPorEstadoDTO("SP", 1L)), porEstado);
+        assertEquals(List.of(new ClientesPorCidadeDTO("SP", "Campinas", 1L), new ClientesPorCidadeDTO("SP", "São Paulo", 1L)),
+                cidadesDeSp);
+        assertEquals(3, todasAsCidades.size());
+    }
+
+    private Endereco novoEndereco(Cliente dono, String cidade, String estado) {
+        Endereco novo = new Endereco();
+        novo.setRua("Rua C");
+        novo.setNumero("1");
+        novo.setBairro("Centro");
+        novo.setCidade(cidade);
+        novo.setEstado(estado);
+        novo.setCep("13000-000");
+        novo.setCliente(dono);
+        return novo;
+    }
 }
@@ -0,0 +1,197 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private ExportacaoClienteService exportacaoClienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Cliente cliente;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+        cliente = clienteService.adicionarClienteComEndereco(novoDTO());
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void deveLerClienteRepetidoDoCacheDeSegundoNivel() {
+        // Act
+        clienteRepository.findById(cliente.getId());
+        clienteRepository.findById(cliente.getId());
+        clienteRepository.findById(cliente.getId());
+
+        // Assert: só a primeira leitura vai ao banco
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("cliente").getHitCount());
+    }
+
+    @Test
+    void deveReaproveitarConsultaPorCpfEEmail() {
+        // Act
+        clienteRepository.findByCpf("123.456.789-09");
+        clienteRepository.findByCpf("123.456.789-09");
+        clienteRepository.findByEmail("joao.silva@gmail.com");
+        clienteRepository.findByEmail("joao.silva@gmail.com");
+
+        // Assert: uma consulta por chave; as repetições vêm do cache de consultas e a entidade da região "cliente"
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void deveInvalidarConsultaPorCpfAposAtualizacao() {
+        // Arrange
+        clienteRepository.findByCpf("123.456.789-09");
+        Cliente clienteAtualizado = novoDTO().getCliente();
+        clienteAtualizado.setCpf("987.654.321-00");
+
+        // Act
+        clienteService.atualizarDadosCliente(cliente.getId(), clienteAtualizado);
+
+        // Assert
+        assertTrue(clienteRepository.findByCpf("123.456.789-09").isEmpty());
+        assertEquals(cliente.getId(), clienteRepository.findByCpf("987.654.321-00").orElseThrow().getId());
+    }
+
+    @Test
+    void deveManterColecaoDeEnderecosEmCacheAteMudar() {
+        // Arrange
+        enderecoService.listarEnderecosPorCliente(cliente.getId());
+        statistics.clear();
+
+        // Act
+        int enderecosEmCache = enderecoService.listarEnderecosPorCliente(cliente.getId()).size();
+        long consultasComCache = statistics.getPrepareStatementCount();
+        enderecoService.adicionarEndereco(cliente.getId(), novoDTO().getEndereco());
+        int enderecosAposInclusao = enderecoService.listarEnderecosPorCliente(cliente.getId()).size();
+
+        // Assert
+        assertEquals(1, enderecosEmCache);
+        assertEquals(0, consultasComCache);
+        assertEquals(2, enderecosAposInclusao);
+    }
+
+    @Test
+    void deveAvancarAVersaoDoClienteEmCacheSemEsvaziarARegiao() {
+        // Arrange: os dois clientes na região "cliente"
+        ClienteComEnderecoDTO outroDTO = novoDTO();
+        outroDTO.getCliente().setCpf("987.654.321-00");
+        outroDTO.getCliente().setEmail("maria.souza@gmail.com");
+        Cliente outro = clienteService.adicionarClienteComEndereco(outroDTO);
+        clienteRepository.findById(cliente.getId());
+        clienteRepository.findById(outro.getId());
+        statistics.clear();
+
+        // Act
+        enderecoService.adicionarEndereco(cliente.getId(), novoDTO().getEndereco());
+        Long versaoAposInclusao = clienteRepository.findById(cliente.getId()).orElseThrow().getVersao();
+        clienteRepository.findById(outro.getId());
+
+        // Assert: o cliente alterado vem com a versão nova; o outro continua vindo do cache
+        assertEquals(cliente.getVersao() + 1, versaoAposInclusao);
+        assertEquals(versaoAposInclusao, clienteRepository.findVersaoById(cliente.getId()).orElseThrow());
+        assertTrue(entityManagerFactory.getCache().contains(Cliente.class, outro.getId()));
+        assertEquals(1, statistics.getDomainDataRegionStatistics("cliente").getHitCount());
+    }
+
+    @Test
+    void deveManterEnderecosDeOutrosClientesEmCacheAoRemoverOsDeUmCliente() {
+        // Arrange
+        ClienteComEnderecoDTO outroDTO = novoDTO();
+        outroDTO.getCliente().setCpf("987.654.321-00");
+        outroDTO.getCliente().setEmail("maria.souza@gmail.com");
+        Cliente outro = clienteService.adicionarClienteComEndereco(outroDTO);
+        enderecoService.listarEnderecosPorCliente(outro.getId());
+
+        // Act
+        enderecoService.deletarEnderecosDoCliente(cliente.getId());
+        statistics.clear();
+        int enderecosDoOutro = enderecoService.listarEnderecosPorCliente(outro.getId()).size();
+
+        // Assert: a lista e os endereços do outro cliente continuam vindo do cache
+        assertEquals(1, enderecosDoOutro);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(enderecoService.listarEnderecosPorCliente(cliente.getId()).isEmpty());
+    }
+
+    @Test
+    void naoDevePovoarOCacheAoExportarTodosOsClientes() throws Exception {
+        // Act
+        exportacaoClienteService.exportarNdjson(new ByteArrayOutputStream());
+
+        // Assert: a varredura do export não grava nem consulta a região "cliente"
+        assertEquals(0, statistics.getDomainDataRegionStatistics("cliente").getPutCount());
+        assertEquals(0, statistics.getDomainDataRegionStatistics("cliente").getMissCount());
+        assertFalse(entityManagerFactory.getCache().contains(Cliente.class, cliente.getId()));
+    }
+
+    @Test
+    void devePublicarEstatisticasDasRegioesNoMicrometer() {
+        // Act
+        clienteRepository.findById(cliente.getId());
+        clienteRepository.findById(cliente.getId());
+
+        // Assert
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "cliente", "result", "hit").functionCounter());
+    }
+
+    private ClienteComEnderecoDTO novoDTO() {
+        Cliente novo = new Cliente();
+        novo.setNome("João Silva");
+        novo.setEmail("joao.silva@gmail.com");
+        novo.setCpf("123.456.789-09");
+        novo.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(novo);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
@@ -0,0 +1,207 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.bigdata.ibmec.config.LeiturasCoalescidas;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ClienteCacheTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cliente cliente;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(ClienteCache.NOME).clear();
+        clienteRepository.deleteAll();
+
+        cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf("123.456.789-09");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        clienteRepository.save(cliente);
+    }
+
+    @Test
+    void deveGuardarClienteEmCacheComEnderecosCarregados() {
+        // Act
+        ClienteDetalheDTO primeiraBusca = clienteService.buscarClientePorId(cliente.getId());
+        ClienteDetalheDTO segundaBusca = clienteService.buscarClientePorId(cliente.getId());
+
+        // Assert
+        assertSame(primeiraBusca, segundaBusca);
+        assertNotNull(cache().get(cliente.getId()));
+        assertTrue(segundaBusca.getEnderecos().isEmpty());
+    }
+
+    @Test
+    void deveRemoverDoCacheAoAtualizarCliente() {
+        // Arrange
+        clienteService.buscarClientePorId(cliente.getId());
+
+        // Act
+        clienteService.atualizarDadosCliente(cliente.getId(), atualizacao("João Atualizado"));
+
+        // Assert
+        assertNull(cache().get(cliente.getId()));
+        assertEquals("João Atualizado", clienteService.buscarClientePorId(cliente.getId()).getNome());
+    }
+
+    @Test
+    void deveRemoverDoCacheAoAlterarEnderecos() {
+        // Arrange
+        clienteService.buscarClientePorId(cliente.getId());
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+
+        // Act & Assert
+        Endereco novoEndereco = enderecoService.adicionarEndereco(cliente.getId(), endereco);
+        assertNull(cache().get(cliente.getId()));
+        assertEquals(1, clienteService.buscarClientePorId(cliente.getId()).getEnderecos().size());
+
+        enderecoService.deletarEndereco(novoEndereco.getId());
+        assertNull(cache().get(cliente.getId()));
+        assertTrue(clienteService.buscarClientePorId(cliente.getId()).getEnderecos().isEmpty());
+    }
+
+    @Test
+    void deveRemoverDoCacheAoDeletarCliente() {
+        // Arrange
+        clienteService.buscarClientePorId(cliente.getId());
+
+        // Act
+        clienteService.deletarCliente(cliente.getId());
+
+        // Assert
+        assertNull(cache().get(cliente.getId()));
+    }
+
+    @Test
+    void deveGuardarCopiaImutavelComAVersao() {
+        // Act
+        ClienteDetalheDTO encontrado = clienteService.buscarClientePorId(cliente.getId());
+
+        // Assert
+        assertEquals(cliente.getVersao(), encontrado.getVersao());
+        assertThrows(UnsupportedOperationException.class, () -> encontrado.getEnderecos().add(null));
+    }
+
+    @Test
+    void deveRecusarCopiaMaisAntigaQueAJaGuardada() {
+        // Arrange
+        ClienteDetalheDTO antiga = clienteService.buscarClientePorId(cliente.getId());
+        clienteService.atualizarDadosCliente(cliente.getId(), atualizacao("João Atualizado"));
+        ClienteDetalheDTO nova = clienteService.buscarClientePorId(cliente.getId());
+
+        // Act: uma busca lenta que leu antes da atualização termina agora
+        cache().put(cliente.getId(), antiga);
+
+        // Assert
+        assertSame(nova, cache().get(cliente.getId()).get());
+    }
+
+    @Test
+    void deveImpedirQueBuscaAnteriorAoCommitVolteAoCacheDepoisDaRemocao() {
+        // Arrange: lida antes do commit da atualização, que remove a entrada
+        ClienteDetalheDTO antiga = clienteService.buscarClientePorId(cliente.getId());
+        clienteService.atualizarDadosCliente(cliente.getId(), atualizacao("João Atualizado"));
+
+        // Act
+        cache().put(cliente.getId(), antiga);
+
+        // Assert: a cópia antiga não entra; a próxima busca traz a versão gravada
+        assertNull(cache().get(cliente.getId()));
+        assertEquals("João Atualizado", clienteService.buscarClientePorId(cliente.getId()).getNome());
+        assertNotNull(cache().get(cliente.getId()));
+    }
+
+    @Test
+    void deveImpedirQueBuscaAnteriorVolteAoCacheDepoisDeDeletarCliente() {
+        // Arrange
+        ClienteDetalheDTO antiga = clienteService.buscarClientePorId(cliente.getId());
+        clienteService.deletarCliente(cliente.getId());
+
+        // Act
+        cache().put(cliente.getId(), antiga);
+
+        // Assert
+        assertNull(cache().get(cliente.getId()));
+    }
+
+    @Test
+    void deveExporEstatisticasDoCache() {
+        // Act
+        clienteService.buscarClientePorId(cliente.getId());
+        clienteService.buscarClientePorId(cliente.getId());
+
+        // Assert
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", ClienteCache.NOME).tag("result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", ClienteCache.NOME).functionCounter());
+    }
+
+    @Test
+    void deveCoalescerSoAsBuscasQueNaoAcertamOCache() {
+        // Arrange
+        double antes = chamadasNaoCoalescidas();
+
+        // Act
+        clienteService.buscarClientePorId(cliente.getId());
+        clienteService.buscarClientePorId(cliente.getId());
+
+        // Assert: o acerto de cache volta antes de passar pela coalescência
+        assertEquals(antes + 1, chamadasNaoCoalescidas());
+    }
+
+    private double chamadasNaoCoalescidas() {
+        Counter contador = meterRegistry.find(LeiturasCoalescidas.METRICA_CHAMADAS)
+                .tags("operacao", "cliente", "coalescida", "false").counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    private Cliente atualizacao(String nome) {
+        Cliente clienteAtualizado = new Cliente();
+        clienteAtualizado.setNome(nome);
+        clienteAtualizado.setEmail("joao.silva@gmail.com");
+        clienteAtualizado.setCpf("123.456.789-09");
+        clienteAtualizado.setDataNascimento(LocalDate.of(1990, 1, 1));
+        return clienteAtualizado;
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(ClienteCache.NOME);
+    }
+}
@@ -1,7 +1,18 @@
 package com.bigdata.ibmec.service;
 
 import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.ClienteDetalheDTO;
+import com.bigdata.ibmec.DTO.ClienteResumoDTO;
+import com.bigdata.ibmec.DTO.FiltroClienteDTO;
+import com.bigdata.ibmec.DTO.LoteClientesDTO;
+import com.bigdata.ibmec.DTO.PaginaClientesDTO;
+import com.bigdata.ibmec.exceptions.ClienteNotFoundException;
+import com.bigdata.ibmec.exceptions.CpfJaCadastradoException;
+import com.bigdata.ibmec.exceptions.CursorInvalidoException;
 import com.bigdata.ibmec.exceptions.IdadeMinimaException;
+import com.bigdata.ibmec.exceptions.LoteIdsInvalidoException;
+import com.bigdata.ibmec.exceptions.OrdenacaoInvalidaException;
+import com.bigdata.ibmec.exceptions.VersaoDesatualizadaException;
 import com.bigdata.ibmec.model.Cliente;
 import com.bigdata.ibmec.model.Endereco;
 import com.bigdata.ibmec.repository.ClienteRepository;
@@ -11,6 +22,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -28,6 +45,18 @@ class ClienteServiceTest {
     @Mock
     private EnderecoRepository enderecoRepository;
 
+    @Mock
+    private ClienteCache clienteCache;
+
+    @Mock
+    private IndiceUnicidadeCliente indiceUnicidade;
+
+    @Mock
+    private RelatorioCache relatorioCache;
+
+    @Mock
+    private EventosCliente eventosCliente;
+
     @InjectMocks
     private ClienteService clienteService;
 
@@ -42,7 +71,7 @@ class ClienteServiceTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1)); // Maior de 18 anos
         cliente.setEnderecos(new ArrayList<>());
 
@@ -59,7 +88,6 @@ class ClienteServiceTest {
         clienteComEnderecoDTO.setEndereco(endereco);
 
         when(clienteRepository.save(cliente)).thenReturn(cliente);
-        when(enderecoRepository.save(endereco)).thenReturn(endereco);
 
         // Act
         Cliente clienteSalvo = clienteService.adicionarClienteComEndereco(clienteComEnderecoDTO);
@@ -68,7 +96,30 @@ class ClienteServiceTest {
         assertNotNull(clienteSalvo);
         assertEquals("João Silva", clienteSalvo.getNome());
         verify(clienteRepository, times(1)).save(cliente);
-        verify(enderecoRepository, times(1)).save(endereco);
+        verify(enderecoRepository, never()).save(endereco);  // Endereço é salvo em cascata com o cliente
+        assertSame(cliente, endereco.getCliente());
+        verify(indiceUnicidade, times(1)).registrar(cliente);
+        verify(relatorioCache, times(1)).invalidar();
+    }
+
+    @Test
+    void deveFalharAoAdicionarClienteComCpfDuplicadoSemGravar() {
+        // Arrange
+        Cliente cliente = new Cliente();
+        cliente.setCpf("123.456.789-09");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        ClienteComEnderecoDTO clienteComEnderecoDTO = new ClienteComEnderecoDTO();
+        clienteComEnderecoDTO.setCliente(cliente);
+        clienteComEnderecoDTO.setEndereco(new Endereco());
+
+        doThrow(new CpfJaCadastradoException()).when(indiceUnicidade)
+                .verificarDisponivel("123.456.789-09", "joao.silva@gmail.com", null);
+
+        // Act & Assert
+        assertThrows(CpfJaCadastradoException.class, () -> clienteService.adicionarClienteComEndereco(clienteComEnderecoDTO));
+        verify(clienteRepository, never()).save(any());
     }
 
     @Test
@@ -102,31 +153,192 @@ class ClienteServiceTest {
         verify(clienteRepository, times(1)).findAll();
     }
 
+    @Test
+    void deveListarPrimeiraPaginaComProximoCursor() {
+        // Arrange
+        List<Cliente> clientes = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            Cliente cliente = new Cliente();
+            cliente.setId(id);
+            clientes.add(cliente);
+        }
+        when(clienteRepository.findIdsApos(0L, Limit.of(3))).thenReturn(List.of(1L, 2L, 3L));
+        when(clienteRepository.findAllComEnderecosByIdIn(List.of(1L, 2L))).thenReturn(clientes);
+
+        // Act
+        PaginaClientesDTO<Cliente> pagina = clienteService.listarPagina(null, 2);
+
+        // Assert
+        assertEquals(2, pagina.getClientes().size());
+        assertEquals(2L, pagina.getClientes().get(1).getId());
+        assertNotNull(pagina.getProximoCursor());
+        verify(clienteRepository, never()).findAll();
+    }
+
+    @Test
+    void deveContinuarPaginacaoAPartirDoCursor() {
+        // Arrange
+        when(clienteRepository.findIdsApos(0L, Limit.of(2))).thenReturn(List.of(1L, 2L));
+        when(clienteRepository.findAllComEnderecosByIdIn(List.of(1L))).thenReturn(List.of(new Cliente()));
+        String cursor = clienteService.listarPagina(null, 1).getProximoCursor();
+
+        Cliente segundo = new Cliente();
+        segundo.setId(2L);
+        when(clienteRepository.findIdsApos(1L, Limit.of(2))).thenReturn(List.of(2L));
+        when(clienteRepository.findAllComEnderecosByIdIn(List.of(2L))).thenReturn(List.of(segundo));
+
+        // Act
+        PaginaClientesDTO<Cliente> pagina = clienteService.listarPagina(cursor, 1);
+
+        // Assert
+        assertEquals(1, pagina.getClientes().size());
+        assertNull(pagina.getProximoCursor());
+        verify(clienteRepository, times(1)).findIdsApos(1L, Limit.of(2));
+    }
+
+    @Test
+    void deveRetornarPaginaVaziaSemConsultarEnderecos() {
+        // Arrange
+        when(clienteRepository.findIdsApos(0L, Limit.of(11))).thenReturn(List.of());
+
+        // Act
+        PaginaClientesDTO<Cliente> pagina = clienteService.listarPagina(null, 10);
+
+        // Assert
+        assertTrue(pagina.getClientes().isEmpty());
+        assertNull(pagina.getProximoCursor());
+        verify(clienteRepository, never()).findAllComEnderecosByIdIn(anyList());
+    }
+
+    @Test
+    void deveListarPaginaResumidaComUmaConsulta() {
+        // Arrange
+        List<ClienteResumoDTO> resumos = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            resumos.add(new ClienteResumoDTO(id, "Cliente " + id, null, null, null, null, 1L));
+        }
+        when(clienteRepository.findResumosApos(0L, Limit.of(3))).thenReturn(resumos);
+
+        // Act
+        PaginaClientesDTO<ClienteResumoDTO> pagina = clienteService.listarPaginaResumida(null, 2);
+
+        // Assert
+        assertEquals(2, pagina.getClientes().size());
+        assertNotNull(pagina.getProximoCursor());
+        verify(clienteRepository, never()).findAllComEnderecosByIdIn(anyList());
+    }
+
+    @Test
+    void deveFalharComCursorInvalido() {
+        // Act & Assert
+        assertThrows(CursorInvalidoException.class, () -> clienteService.listarPagina("@@invalido@@", 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveBuscarClientesMantendoOrdemDaPagina() {
+        // Arrange
+        Cliente primeiro = new Cliente();
+        primeiro.setId(2L);
+        Cliente segundo = new Cliente();
+        segundo.setId(1L);
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by("nome"));
+
+        when(clienteRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(primeiro, segundo), pageable, 5));
+        when(clienteRepository.findAllComEnderecosByIdIn(List.of(2L, 1L))).thenReturn(List.of(segundo, primeiro));
+
+        // Act
+        Page<Cliente> pagina = clienteService.buscar(new FiltroClienteDTO(), pageable);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), pagina.map(Cliente::getId).getContent());
+        assertEquals(5, pagina.getTotalElements());
+    }
+
+    @Test
+    void deveBuscarClientesPorIdsNaOrdemPedidaComOsNaoEncontrados() {
+        // Arrange
+        Cliente primeiro = new Cliente();
+        primeiro.setId(1L);
+        Cliente terceiro = new Cliente();
+        terceiro.setId(3L);
+        when(clienteRepository.findAllComEnderecosByIdIn(List.of(3L, 2L, 1L))).thenReturn(List.of(primeiro, terceiro));
+
+        // Act
+        LoteClientesDTO lote = clienteService.buscarClientesPorIds(List.of(3L, 2L, 1L, 3L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), lote.getClientes().stream().map(Cliente::getId).toList());
+        assertEquals(List.of(2L), lote.getNaoEncontrados());
+        verify(clienteRepository, never()).findById(any());
+    }
+
+    @Test
+    void deveDividirABuscaPorIdsEmConsultasDeTamanhoLimitado() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= ClienteService.LOTE_IDS_POR_CONSULTA + 10; id++) {
+            ids.add(id);
+        }
+        when(clienteRepository.findAllComEnderecosByIdIn(anyList())).thenReturn(List.of());
+
+        // Act
+        LoteClientesDTO lote = clienteService.buscarClientesPorIds(ids);
+
+        // Assert
+        verify(clienteRepository).findAllComEnderecosByIdIn(ids.subList(0, ClienteService.LOTE_IDS_POR_CONSULTA));
+        verify(clienteRepository).findAllComEnderecosByIdIn(ids.subList(ClienteService.LOTE_IDS_POR_CONSULTA, ids.size()));
+        assertEquals(ids, lote.getNaoEncontrados());
+    }
+
+    @Test
+    void deveFalharAoBuscarLoteVazioOuAcimaDoLimite() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= ClienteService.LOTE_IDS_MAXIMO; id++) {
+            ids.add(id);
+        }
+
+        // Act & Assert
+        assertThrows(LoteIdsInvalidoException.class, () -> clienteService.buscarClientesPorIds(List.of()));
+        assertThrows(LoteIdsInvalidoException.class, () -> clienteService.buscarClientesPorIds(ids));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    void deveFalharAoBuscarComOrdenacaoNaoPermitida() {
+        // Act & Assert
+        assertThrows(OrdenacaoInvalidaException.class,
+                () -> clienteService.buscar(new FiltroClienteDTO(), PageRequest.of(0, 10, Sort.by("telefone"))));
+        verifyNoInteractions(clienteRepository);
+    }
+
     @Test
     void deveBuscarClientePorIdComSucesso() {
         // Arrange
         Cliente cliente = new Cliente();
         cliente.setId(1L);
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findComEnderecosById(1L)).thenReturn(Optional.of(cliente));
 
         // Act
-        Cliente clienteEncontrado = clienteService.buscarClientePorId(1L);
+        ClienteDetalheDTO clienteEncontrado = clienteService.buscarClientePorId(1L);
 
         // Assert
         assertNotNull(clienteEncontrado);
         assertEquals(1L, clienteEncontrado.getId());
-        verify(clienteRepository, times(1)).findById(1L);
+        verify(clienteRepository, times(1)).findComEnderecosById(1L);
     }
 
     @Test
     void deveFalharQuandoClienteNaoForEncontrado() {
         // Arrange
-        when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
+        when(clienteRepository.findComEnderecosById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> clienteService.buscarClientePorId(1L));
-        assertEquals("Cliente não encontrado", thrown.getMessage());
-        verify(clienteRepository, times(1)).findById(1L);
+        ClienteNotFoundException thrown = assertThrows(ClienteNotFoundException.class, () -> clienteService.buscarClientePorId(1L));
+        assertEquals("Cliente com ID 1 não encontrado", thrown.getMessage());
+        verify(clienteRepository, times(1)).findComEnderecosById(1L);
     }
 
     @Test
@@ -150,6 +362,21 @@ class ClienteServiceTest {
         assertEquals("João Atualizado", clienteSalvo.getNome());
         verify(clienteRepository, times(1)).findById(1L);
         verify(clienteRepository, times(1)).save(clienteExistente);
+        verify(clienteCache, times(1)).evict(clienteExistente);
+    }
+
+    @Test
+    void deveFalharAoAtualizarComVersaoDesatualizada() {
+        // Arrange
+        Cliente clienteExistente = new Cliente();
+        clienteExistente.setId(1L);
+        clienteExistente.setVersao(4L);
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(clienteExistente));
+
+        // Act & Assert
+        assertThrows(VersaoDesatualizadaException.class, () -> clienteService.atualizarDadosCliente(1L, new Cliente(), 3L));
+        verify(clienteRepository, never()).save(any());
+        verify(clienteCache, never()).evict(any());
     }
 
     @Test
@@ -164,6 +391,8 @@ class ClienteServiceTest {
 
         // Assert
         verify(clienteRepository, times(1)).delete(cliente);
+        verify(clienteCache, times(1)).evictRemovido(1L);
+        verify(relatorioCache, times(1)).invalidar();
     }
 
     @Test
@@ -172,8 +401,8 @@ class ClienteServiceTest {
         when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> clienteService.deletarCliente(1L));
-        assertEquals("Cliente não encontrado", thrown.getMessage());
+        ClienteNotFoundException thrown = assertThrows(ClienteNotFoundException.class, () -> clienteService.deletarCliente(1L));
+        assertEquals("Cliente com ID 1 não encontrado", thrown.getMessage());
         verify(clienteRepository, times(1)).findById(1L);
     }
 }
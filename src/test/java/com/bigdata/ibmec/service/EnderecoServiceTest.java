@@ -1,7 +1,13 @@
 package com.bigdata.ibmec.service;
 
+import com.bigdata.ibmec.DTO.EnderecoResumoDTO;
+import com.bigdata.ibmec.exceptions.ClienteNotFoundException;
+import com.bigdata.ibmec.exceptions.EnderecoNotFoundException;
+import com.bigdata.ibmec.exceptions.EnderecoSemIdNoLoteException;
+import com.bigdata.ibmec.exceptions.VersaoDesatualizadaException;
 import com.bigdata.ibmec.model.Cliente;
 import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.TipoEventoCliente;
 import com.bigdata.ibmec.repository.ClienteRepository;
 import com.bigdata.ibmec.repository.EnderecoRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +19,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +32,18 @@ class EnderecoServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private ClienteCache clienteCache;
+
+    @Mock
+    private RelatorioCache relatorioCache;
+
+    @Mock
+    private EventosCliente eventosCliente;
+
+    @Mock
+    private CacheSegundoNivel cacheSegundoNivel;
+
     @InjectMocks
     private EnderecoService enderecoService;
 
@@ -62,8 +81,8 @@ class EnderecoServiceTest {
         when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> enderecoService.listarEnderecosPorCliente(1L));
-        assertEquals("Cliente não encontrado", thrown.getMessage());
+        ClienteNotFoundException thrown = assertThrows(ClienteNotFoundException.class, () -> enderecoService.listarEnderecosPorCliente(1L));
+        assertEquals("Cliente com ID 1 não encontrado", thrown.getMessage());
         verify(clienteRepository, times(1)).findById(1L);
     }
 
@@ -77,18 +96,33 @@ class EnderecoServiceTest {
         Endereco endereco = new Endereco();
         endereco.setRua("Rua A");
 
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findComVersaoAvancadaById(1L)).thenReturn(Optional.of(cliente));
         when(enderecoRepository.save(endereco)).thenReturn(endereco);
 
         // Act
         Endereco resultado = enderecoService.adicionarEndereco(1L, endereco);
 
-        // Assert
+        // Assert: a versão avança no próprio cliente travado, sem UPDATE em massa
         assertNotNull(resultado);
         assertEquals("Rua A", resultado.getRua());
         assertEquals(cliente, resultado.getCliente());
-        verify(clienteRepository, times(1)).findById(1L);
+        verify(clienteRepository, times(1)).findComVersaoAvancadaById(1L);
+        verify(clienteRepository, never()).findById(any());
         verify(enderecoRepository, times(1)).save(endereco);
+        verify(clienteCache, times(1)).evict(cliente);
+        verify(relatorioCache, times(1)).invalidar();
+    }
+
+    @Test
+    void deveFalharAoAtualizarEnderecoComVersaoDesatualizada() {
+        // Arrange
+        Endereco enderecoExistente = new Endereco();
+        enderecoExistente.setVersao(2L);
+        when(enderecoRepository.findById(1L)).thenReturn(Optional.of(enderecoExistente));
+
+        // Act & Assert
+        assertThrows(VersaoDesatualizadaException.class, () -> enderecoService.atualizarEndereco(1L, new Endereco(), 1L));
+        verify(enderecoRepository, never()).save(any());
     }
 
     @Test
@@ -97,12 +131,12 @@ class EnderecoServiceTest {
         Endereco endereco = new Endereco();
         endereco.setRua("Rua A");
 
-        when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
+        when(clienteRepository.findComVersaoAvancadaById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> enderecoService.adicionarEndereco(1L, endereco));
-        assertEquals("Cliente não encontrado", thrown.getMessage());
-        verify(clienteRepository, times(1)).findById(1L);
+        ClienteNotFoundException thrown = assertThrows(ClienteNotFoundException.class, () -> enderecoService.adicionarEndereco(1L, endereco));
+        assertEquals("Cliente com ID 1 não encontrado", thrown.getMessage());
+        verify(enderecoRepository, never()).save(any());
     }
 
     @Test
@@ -127,6 +161,20 @@ class EnderecoServiceTest {
         verify(enderecoRepository, times(1)).findAll();
     }
 
+    @Test
+    void deveListarEnderecosResumidos() {
+        // Arrange
+        List<EnderecoResumoDTO> resumos = List.of(new EnderecoResumoDTO(1L, "Rua A", "123", "Centro", "São Paulo", "SP", "01000-000", 1L));
+        when(enderecoRepository.findAllResumos()).thenReturn(resumos);
+
+        // Act
+        List<EnderecoResumoDTO> resultado = enderecoService.listarTodosResumidos();
+
+        // Assert
+        assertEquals(resumos, resultado);
+        verify(enderecoRepository, never()).findAll();
+    }
+
     @Test
     void deveAtualizarEnderecoComSucesso() {
         // Arrange
@@ -159,8 +207,8 @@ class EnderecoServiceTest {
         when(enderecoRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> enderecoService.atualizarEndereco(1L, enderecoAtualizado));
-        assertEquals("Endereço não encontrado", thrown.getMessage());
+        EnderecoNotFoundException thrown = assertThrows(EnderecoNotFoundException.class, () -> enderecoService.atualizarEndereco(1L, enderecoAtualizado));
+        assertEquals("Endereço com ID 1 não encontrado", thrown.getMessage());
         verify(enderecoRepository, times(1)).findById(1L);
     }
 
@@ -185,8 +233,120 @@ class EnderecoServiceTest {
         when(enderecoRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> enderecoService.deletarEndereco(1L));
-        assertEquals("Endereço não encontrado", thrown.getMessage());
+        EnderecoNotFoundException thrown = assertThrows(EnderecoNotFoundException.class, () -> enderecoService.deletarEndereco(1L));
+        assertEquals("Endereço com ID 1 não encontrado", thrown.getMessage());
         verify(enderecoRepository, times(1)).findById(1L);
     }
+
+    @Test
+    void deveAdicionarEnderecosEmLoteAoClienteTravado() {
+        // Arrange
+        Cliente referencia = new Cliente();
+        referencia.setId(1L);
+        Endereco primeiro = new Endereco();
+        Endereco segundo = new Endereco();
+        List<Endereco> enderecos = List.of(primeiro, segundo);
+
+        when(clienteRepository.findComVersaoAvancadaById(1L)).thenReturn(Optional.of(referencia));
+        when(enderecoRepository.saveAll(enderecos)).thenReturn(enderecos);
+
+        // Act
+        List<Endereco> resultado = enderecoService.adicionarEnderecos(1L, enderecos);
+
+        // Assert
+        assertEquals(2, resultado.size());
+        assertSame(referencia, primeiro.getCliente());
+        assertSame(referencia, segundo.getCliente());
+        verify(clienteRepository, never()).findById(any());
+        verify(clienteCache, times(1)).evict(referencia);
+    }
+
+    @Test
+    void deveFalharAoAdicionarEnderecosEmLoteAClienteInexistente() {
+        // Arrange
+        when(clienteRepository.findComVersaoAvancadaById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ClienteNotFoundException.class, () -> enderecoService.adicionarEnderecos(1L, List.of(new Endereco())));
+        verify(enderecoRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void deveAtualizarEnderecosEmLote() {
+        // Arrange
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        Endereco existente = new Endereco();
+        existente.setId(10L);
+        existente.setRua("Rua Antiga");
+        existente.setCliente(cliente);
+
+        Endereco atualizado = new Endereco();
+        atualizado.setId(10L);
+        atualizado.setRua("Rua Nova");
+
+        when(enderecoRepository.findClienteIdsByIdIn(Set.of(10L))).thenReturn(List.of(1L));
+        when(clienteRepository.findAllComVersaoAvancadaByIdIn(Set.of(1L))).thenReturn(List.of(cliente));
+        when(enderecoRepository.findAllComClienteByIdIn(Set.of(10L))).thenReturn(List.of(existente));
+
+        // Act
+        List<Endereco> resultado = enderecoService.atualizarEnderecos(List.of(atualizado));
+
+        // Assert
+        assertEquals("Rua Nova", resultado.get(0).getRua());
+        verify(clienteRepository, times(1)).findAllComVersaoAvancadaByIdIn(Set.of(1L));
+        verify(clienteCache, times(1)).evict(cliente);
+    }
+
+    @Test
+    void deveFalharAoAtualizarLoteComEnderecoInexistente() {
+        // Arrange
+        Endereco atualizado = new Endereco();
+        atualizado.setId(10L);
+        when(enderecoRepository.findAllComClienteByIdIn(Set.of(10L))).thenReturn(List.of());
+
+        // Act & Assert
+        EnderecoNotFoundException thrown = assertThrows(EnderecoNotFoundException.class,
+                () -> enderecoService.atualizarEnderecos(List.of(atualizado)));
+        assertEquals("Endereço com ID 10 não encontrado", thrown.getMessage());
+    }
+
+    @Test
+    void deveRecusarLoteComEnderecoSemIdAntesDeConsultar() {
+        // Arrange
+        Endereco comId = new Endereco();
+        comId.setId(10L);
+
+        // Act & Assert
+        EnderecoSemIdNoLoteException thrown = assertThrows(EnderecoSemIdNoLoteException.class,
+                () -> enderecoService.atualizarEnderecos(List.of(comId, new Endereco())));
+        assertEquals("Cada endereço do lote precisa do id", thrown.getMessage());
+        verifyNoInteractions(enderecoRepository, clienteRepository);
+    }
+
+    @Test
+    void deveDeletarEnderecosDoClienteComoEntidades() {
+        // Arrange
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        List<Endereco> enderecos = new ArrayList<>();
+        for (long id = 10; id <= 12; id++) {
+            Endereco endereco = new Endereco();
+            endereco.setId(id);
+            endereco.setCliente(cliente);
+            enderecos.add(endereco);
+        }
+        cliente.setEnderecos(new ArrayList<>(enderecos));
+        when(clienteRepository.findComVersaoAvancadaById(1L)).thenReturn(Optional.of(cliente));
+
+        // Act
+        int removidos = enderecoService.deletarEnderecosDoCliente(1L);
+
+        // Assert: removidos um a um (sem DELETE em massa) e um evento por endereço, com o id dele
+        assertEquals(3, removidos);
+        assertTrue(cliente.getEnderecos().isEmpty());
+        verify(enderecoRepository).deleteAll(enderecos);
+        verify(clienteCache, times(1)).evict(cliente);
+        verify(eventosCliente).registrarEnderecos(TipoEventoCliente.ENDERECO_REMOVIDO, enderecos);
+    }
 }
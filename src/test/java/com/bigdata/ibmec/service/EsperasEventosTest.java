@@ -0,0 +1,85 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.LoteEventosDTO;
+import com.bigdata.ibmec.exceptions.EsperasEventosEsgotadasException;
+import com.bigdata.ibmec.model.EventoCliente;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import com.bigdata.ibmec.repository.EventoClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Intervalo de consulta longo: só o aviso de commit acorda as esperas dentro do tempo dos testes
+class EsperasEventosTest {
+
+    private final EventoClienteRepository eventoClienteRepository = mock(EventoClienteRepository.class);
+    private EsperasEventos esperasEventos;
+
+    @BeforeEach
+    void setUp() {
+        esperasEventos = new EsperasEventos(2, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(esperasEventos, "eventoClienteRepository", eventoClienteRepository);
+        when(eventoClienteRepository.findUltimaPosicao()).thenReturn(Optional.empty());
+        esperasEventos.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        esperasEventos.encerrar();
+    }
+
+    @Test
+    void deveRecusarEsperaAlemDoLimiteEDevolverAVagaAoConcluir() throws Exception {
+        // Arrange
+        DeferredResult<LoteEventosDTO> curta = esperasEventos.aguardar(0, 100, 100);
+        esperasEventos.aguardar(0, 100, 10_000);
+
+        // Act & Assert
+        assertThrows(EsperasEventosEsgotadasException.class, () -> esperasEventos.aguardar(0, 100, 10_000));
+
+        // Assert: a espera que venceu libera a vaga
+        aguardarResultado(curta);
+        assertEquals(1, esperasEventos.getAguardando());
+        assertNotNull(esperasEventos.aguardar(0, 100, 10_000));
+    }
+
+    @Test
+    void deveResponderComUmaConsultaTodasAsEsperasNaMesmaPosicao() throws Exception {
+        // Arrange: o lote só é buscado depois que a última posição passa da espera
+        EventoCliente evento = new EventoCliente(5L, TipoEventoCliente.CLIENTE_CRIADO, 1L, null, LocalDateTime.now());
+        when(eventoClienteRepository.findApos(eq(4L), any(Limit.class))).thenReturn(List.of(evento));
+        DeferredResult<LoteEventosDTO> primeira = esperasEventos.aguardar(4, 100, 10_000);
+        DeferredResult<LoteEventosDTO> segunda = esperasEventos.aguardar(4, 100, 10_000);
+        when(eventoClienteRepository.findUltimaPosicao()).thenReturn(Optional.of(5L));
+
+        // Act
+        esperasEventos.avisar();
+
+        // Assert
+        assertEquals(5L, aguardarResultado(primeira).getProximaPosicao());
+        assertEquals(5L, aguardarResultado(segunda).getProximaPosicao());
+        verify(eventoClienteRepository, times(1)).findApos(eq(4L), any(Limit.class));
+        assertEquals(0, esperasEventos.getAguardando());
+    }
+
+    private LoteEventosDTO aguardarResultado(DeferredResult<LoteEventosDTO> espera) throws InterruptedException {
+        for (int i = 0; i < 250 && !espera.hasResult(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(espera.hasResult());
+        return (LoteEventosDTO) espera.getResult();
+    }
+}
@@ -0,0 +1,306 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.LoteEventosDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.EventoCliente;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.repository.ConsumidorEventosRepository;
+import com.bigdata.ibmec.repository.EventoClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// O evento aparece assim que a transação confirma, sem espera de visibilidade
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventoClienteServiceTest {
+
+    @Autowired
+    private EventoClienteService eventoClienteService;
+
+    @Autowired
+    private EventosCliente eventosCliente;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private ImportacaoClienteService importacaoClienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EventoClienteRepository eventoClienteRepository;
+
+    @Autowired
+    private ConsumidorEventosRepository consumidorEventosRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+        eventoClienteRepository.deleteAll();
+        consumidorEventosRepository.deleteAll();
+    }
+
+    @Test
+    void devePublicarAsMudancasNaOrdemEmQueAconteceram() {
+        // Arrange
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+        Endereco endereco = enderecoService.adicionarEndereco(cliente.getId(), novoDTO("123.456.789-09", "RJ").getEndereco());
+        enderecoService.atualizarEndereco(endereco.getId(), novoDTO("123.456.789-09", "MG").getEndereco());
+        cliente.setNome("João Atualizado");
+        clienteService.atualizarDadosCliente(cliente.getId(), cliente);
+        enderecoService.deletarEndereco(endereco.getId());
+        clienteService.deletarCliente(cliente.getId());
+
+        // Act
+        LoteEventosDTO lote = eventoClienteService.buscarEventos(0, 100, null);
+
+        // Assert
+        assertEquals(List.of(TipoEventoCliente.CLIENTE_CRIADO, TipoEventoCliente.ENDERECO_CRIADO,
+                        TipoEventoCliente.ENDERECO_ATUALIZADO, TipoEventoCliente.CLIENTE_ATUALIZADO,
+                        TipoEventoCliente.ENDERECO_REMOVIDO, TipoEventoCliente.CLIENTE_REMOVIDO),
+                lote.getEventos().stream().map(EventoCliente::getTipo).toList());
+        assertTrue(lote.getEventos().stream().allMatch(evento -> evento.getClienteId().equals(cliente.getId())));
+        assertEquals(endereco.getId(), lote.getEventos().get(1).getEnderecoId());
+        assertEquals(lote.getEventos().get(5).getId(), lote.getProximaPosicao());
+    }
+
+    @Test
+    void naoDevePularEventoDeTransacaoQueConfirmaDepoisDeOutraMaisNova() throws Exception {
+        // Arrange: a primeira transação registra o evento e fica aberta enquanto a segunda confirma
+        CountDownLatch registrado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Cliente> lenta = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("987.654.321-00", "SP"));
+                    registrado.countDown();
+                    aguardar(liberar);
+                    return cliente;
+                }));
+        assertTrue(registrado.await(5, TimeUnit.SECONDS));
+        ClienteComEnderecoDTO outro = novoDTO("123.456.789-09", "RJ");
+        outro.getCliente().setEmail("maria.souza@gmail.com");
+        Cliente rapido = clienteService.adicionarClienteComEndereco(outro);
+
+        // Act: o consumidor lê antes da transação lenta confirmar
+        LoteEventosDTO primeiro = eventoClienteService.buscarEventos(0, 100, "indice-busca");
+        liberar.countDown();
+        Cliente lento = lenta.get(5, TimeUnit.SECONDS);
+        LoteEventosDTO segundo = eventoClienteService.buscarEventos(primeiro.getProximaPosicao(), 100, "indice-busca");
+
+        // Assert: o evento da transação lenta ganha posição depois da já lida, em vez de ficar para trás dela
+        assertEquals(List.of(rapido.getId()), primeiro.getEventos().stream().map(EventoCliente::getClienteId).toList());
+        assertEquals(List.of(lento.getId()), segundo.getEventos().stream().map(EventoCliente::getClienteId).toList());
+        assertEquals(primeiro.getProximaPosicao() + 1, segundo.getProximaPosicao());
+    }
+
+    @Test
+    void naoDevePublicarMudancaDesfeita() {
+        // Act: estado com mais de 2 caracteres estoura a coluna no commit e desfaz a transação inteira
+        assertThrows(RuntimeException.class,
+                () -> clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SPX")));
+
+        // Assert
+        assertEquals(0, eventoClienteRepository.count());
+    }
+
+    @Test
+    void deveExigirTransacaoParaGravarEvento() {
+        // Act & Assert
+        assertThrows(IllegalTransactionStateException.class,
+                () -> eventosCliente.registrar(TipoEventoCliente.CLIENTE_CRIADO, 1L, null));
+    }
+
+    @Test
+    void devePublicarUmEventoPorClienteImportado() throws Exception {
+        // Arrange: tamanho de lote 2 nos testes, então são dois lotes
+        String ndjson = linhaNdjson("123.456.789-09", "um@gmail.com") + "\n"
+                + linhaNdjson("987.654.321-00", "dois@gmail.com") + "\n"
+                + linhaNdjson("111.444.777-35", "tres@gmail.com") + "\n";
+
+        // Act
+        importacaoClienteService.importarNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        List<EventoCliente> eventos = eventoClienteService.buscarEventos(0, 100, null).getEventos();
+        assertEquals(3, eventos.size());
+        assertTrue(eventos.stream().allMatch(evento -> evento.getTipo() == TipoEventoCliente.CLIENTE_CRIADO));
+    }
+
+    @Test
+    void deveContinuarDaProximaPosicaoEmLotes() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+            clienteService.deletarCliente(cliente.getId());
+        }
+
+        // Act
+        LoteEventosDTO primeiro = eventoClienteService.buscarEventos(0, 4, null);
+        LoteEventosDTO segundo = eventoClienteService.buscarEventos(primeiro.getProximaPosicao(), 4, null);
+        LoteEventosDTO terceiro = eventoClienteService.buscarEventos(segundo.getProximaPosicao(), 4, null);
+        LoteEventosDTO vazio = eventoClienteService.buscarEventos(terceiro.getProximaPosicao(), 4, null);
+
+        // Assert
+        assertEquals(4, primeiro.getEventos().size());
+        assertEquals(4, segundo.getEventos().size());
+        assertEquals(2, terceiro.getEventos().size());
+        assertTrue(vazio.getEventos().isEmpty());
+        assertEquals(terceiro.getProximaPosicao(), vazio.getProximaPosicao());
+    }
+
+    @Test
+    void deveEsperarPorEventoNovoNoLongPoll() throws Exception {
+        // Arrange: nada novo ainda, então a resposta fica pendente sem prender a thread que chamou
+        DeferredResult<LoteEventosDTO> espera = eventoClienteService.aguardarEventos(0, 100, 10_000, null);
+        assertFalse(espera.hasResult());
+
+        // Act
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+
+        // Assert: o commit acorda a espera bem antes do fim do prazo
+        LoteEventosDTO lote = aguardarResultado(espera, 5_000);
+        assertEquals(1, lote.getEventos().size());
+        assertEquals(cliente.getId(), lote.getEventos().get(0).getClienteId());
+    }
+
+    @Test
+    void deveResponderLoteVazioAoFimDaEspera() throws Exception {
+        // Act
+        DeferredResult<LoteEventosDTO> espera = eventoClienteService.aguardarEventos(7, 100, 200, null);
+
+        // Assert
+        LoteEventosDTO lote = aguardarResultado(espera, 5_000);
+        assertTrue(lote.getEventos().isEmpty());
+        assertEquals(7L, lote.getProximaPosicao());
+    }
+
+    @Test
+    void deveDescartarSoOQueTodosOsConsumidoresJaLeram() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+            clienteService.deletarCliente(cliente.getId());
+        }
+        List<EventoCliente> eventos = eventoClienteService.buscarEventos(0, 100, null).getEventos();
+        eventoClienteService.buscarEventos(eventos.get(3).getId(), 100, "indice-busca");
+        eventoClienteService.buscarEventos(eventos.get(1).getId(), 100, "data-warehouse");
+
+        // Act
+        int descartados = eventoClienteService.descartar();
+
+        // Assert: o data warehouse ainda não leu do terceiro em diante
+        assertEquals(2, descartados);
+        assertEquals(eventos.get(2).getId(), eventoClienteRepository.findAll().stream()
+                .mapToLong(EventoCliente::getId).min().orElseThrow());
+
+        // Act: posição mais antiga que a confirmada não volta a segurar eventos
+        eventoClienteService.buscarEventos(0, 100, "data-warehouse");
+        eventoClienteService.buscarEventos(eventos.get(5).getId(), 100, "indice-busca");
+        eventoClienteService.buscarEventos(eventos.get(5).getId(), 100, "data-warehouse");
+
+        // Assert
+        assertEquals(4, eventoClienteService.descartar());
+        assertEquals(0, eventoClienteRepository.count());
+    }
+
+    @Test
+    void deveExporOFluxoPorHttp() throws Exception {
+        // Arrange
+        clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+
+        // Act & Assert
+        MvcResult resultado = mockMvc.perform(get("/eventos").param("posicao", "0").param("consumidor", "indice-busca"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eventos[0].tipo").value("CLIENTE_CRIADO"))
+                .andExpect(jsonPath("$.proximaPosicao").isNumber());
+        mockMvc.perform(get("/eventos").param("consumidor", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private LoteEventosDTO aguardarResultado(DeferredResult<LoteEventosDTO> espera, long prazoMs) throws InterruptedException {
+        long fim = System.currentTimeMillis() + prazoMs;
+        while (!espera.hasResult() && System.currentTimeMillis() < fim) {
+            Thread.sleep(20);
+        }
+        assertTrue(espera.hasResult());
+        return (LoteEventosDTO) espera.getResult();
+    }
+
+    private void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String linhaNdjson(String cpf, String email) {
+        return "{\"cliente\":{\"nome\":\"João Silva\",\"email\":\"" + email + "\",\"cpf\":\"" + cpf + "\","
+                + "\"dataNascimento\":\"1990-01-01\"},"
+                + "\"endereco\":{\"rua\":\"Rua A\",\"numero\":\"123\",\"bairro\":\"Centro\",\"cidade\":\"São Paulo\","
+                + "\"estado\":\"SP\",\"cep\":\"01000-000\"}}";
+    }
+
+    private ClienteComEnderecoDTO novoDTO(String cpf, String estado) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado(estado);
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(cliente);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
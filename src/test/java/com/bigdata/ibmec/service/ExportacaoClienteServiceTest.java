@@ -0,0 +1,98 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ExportacaoClienteServiceTest {
+
+    @Autowired
+    private ExportacaoClienteService exportacaoClienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    void deveExportarUmClientePorLinhaComEnderecos() throws Exception {
+        // Arrange: mais clientes que o tamanho do lote para passar pela limpeza do contexto
+        int quantidade = ExportacaoClienteService.TAMANHO_LOTE + 3;
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente " + i);
+            cliente.setEmail("cliente" + i + "@gmail.com");
+            cliente.setCpf(Cpfs.gerar(i));
+            cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+            for (int j = 0; j < i % 3; j++) {
+                Endereco endereco = new Endereco();
+                endereco.setRua("Rua " + j);
+                endereco.setNumero("1");
+                endereco.setBairro("Centro");
+                endereco.setCidade("São Paulo");
+                endereco.setEstado("SP");
+                endereco.setCep("01000-000");
+                endereco.setCliente(cliente);
+                cliente.getEnderecos().add(endereco);
+            }
+            clientes.add(cliente);
+        }
+        clienteRepository.saveAll(clientes);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long total = exportacaoClienteService.exportarNdjson(saida);
+
+        // Assert
+        String conteudo = saida.toString(StandardCharsets.UTF_8);
+        String[] linhas = conteudo.split("\n");
+        assertEquals(quantidade, total);
+        assertEquals(quantidade, linhas.length);
+        assertTrue(conteudo.endsWith("\n"));
+
+        JsonNode primeira = objectMapper.readTree(linhas[0]);
+        assertEquals("Cliente 0", primeira.get("nome").asText());
+        assertEquals(0, primeira.get("enderecos").size());
+
+        JsonNode ultima = objectMapper.readTree(linhas[quantidade - 1]);
+        assertEquals("Cliente " + (quantidade - 1), ultima.get("nome").asText());
+        assertEquals((quantidade - 1) % 3, ultima.get("enderecos").size());
+        assertEquals(ultima.get("id").asLong(), ultima.get("enderecos").get(0).get("clienteId").asLong());
+    }
+
+    @Test
+    void deveExportarArquivoVazioSemClientes() throws Exception {
+        // Arrange
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long total = exportacaoClienteService.exportarNdjson(saida);
+
+        // Assert
+        assertEquals(0, total);
+        assertEquals(0, saida.size());
+    }
+}
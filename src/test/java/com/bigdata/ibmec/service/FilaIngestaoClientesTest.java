@@ -0,0 +1,276 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.StatusIngestaoDTO;
+import com.bigdata.ibmec.exceptions.FilaIngestaoCheiaException;
+import com.bigdata.ibmec.exceptions.IdadeMinimaException;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Sem iniciar(), os trabalhadores não sobem e os pedidos ficam pendentes, como numa parada antes da gravação
+// Os testes de gravação sobem os trabalhadores contra repositório e transações simulados
+class FilaIngestaoClientesTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final IndiceUnicidadeCliente indiceUnicidade = mock(IndiceUnicidadeCliente.class);
+    private final ClienteRepository clienteRepository = mock(ClienteRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private FilaIngestaoClientes fila;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fila = novaFila();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        fila.encerrar();
+    }
+
+    @Test
+    void deveRecusarQuandoFilaEstiverCheia() {
+        // Arrange
+        fila.enfileirar(novoDTO("111.111.112-00"));
+        fila.enfileirar(novoDTO("222.222.223-03"));
+
+        // Act & Assert
+        assertThrows(FilaIngestaoCheiaException.class, () -> fila.enfileirar(novoDTO("333.333.334-14")));
+        assertEquals(2, fila.getPendentes());
+    }
+
+    @Test
+    void deveValidarIdadeAntesDeEnfileirar() {
+        // Arrange
+        ClienteComEnderecoDTO menor = novoDTO("111.111.112-00");
+        menor.getCliente().setDataNascimento(LocalDate.now().minusYears(17));
+
+        // Act & Assert
+        assertThrows(IdadeMinimaException.class, () -> fila.enfileirar(menor));
+        assertEquals(0, fila.getPendentes());
+    }
+
+    @Test
+    void deveRecuperarPedidosPendentesDoJournalAposReinicio() throws Exception {
+        // Arrange
+        StatusIngestaoDTO status = fila.enfileirar(novoDTO("111.111.112-00"));
+        fila.encerrar();
+
+        // Uma queda no meio da escrita deixa uma linha incompleta no fim do arquivo
+        Files.writeString(diretorio.resolve("ingestao.journal"), "{\"tipo\":\"ENFILEI",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        fila = novaFila();
+
+        // Assert
+        assertEquals(1, fila.getPendentes());
+        assertEquals(StatusIngestaoDTO.Situacao.PENDENTE, fila.buscarStatus(status.getId()).getSituacao());
+    }
+
+    @Test
+    void deveManterNoJournalTodosOsPedidosEnfileiradosEmParalelo() throws Exception {
+        // Arrange: várias threads registrando ao mesmo tempo dividem as sincronizações em disco
+        JournalIngestao journal = new JournalIngestao(diretorio.resolve("paralelo.journal"), objectMapper);
+        journal.abrir();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            tarefas.add(threads.submit(() -> journal.registrarEnfileirado(UUID.randomUUID(), novoDTO("111.111.112-00"))));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(10, TimeUnit.SECONDS);
+        }
+        threads.shutdown();
+        journal.close();
+
+        // Assert
+        JournalIngestao reaberto = new JournalIngestao(diretorio.resolve("paralelo.journal"), objectMapper);
+        assertEquals(200, reaberto.abrir().pendentes().size());
+        assertEquals(200, reaberto.getPendentes());
+        reaberto.close();
+    }
+
+    @Test
+    void deveDescartarNaRecuperacaoPedidoRecusadoPorFalhaNaSincronizacao() throws Exception {
+        // Arrange: a linha do pedido é escrita, mas o primeiro force() falha e o pedido é recusado
+        JournalIngestao journal = spy(new JournalIngestao(diretorio.resolve("falha.journal"), objectMapper));
+        journal.abrir();
+        doThrow(new IOException("disco indisponível")).doCallRealMethod().when(journal).forcar(any());
+        UUID recusado = UUID.randomUUID();
+        UUID aceito = UUID.randomUUID();
+
+        // Act
+        assertThrows(UncheckedIOException.class, () -> journal.registrarEnfileirado(recusado, novoDTO("111.111.112-00")));
+        journal.registrarEnfileirado(aceito, novoDTO("222.222.223-03"));
+        journal.close();
+
+        // Assert: depois do reinício só o pedido que recebeu 202 volta
+        JournalIngestao reaberto = new JournalIngestao(diretorio.resolve("falha.journal"), objectMapper);
+        List<JournalIngestao.Entrada> pendentes = reaberto.abrir().pendentes();
+        assertEquals(List.of(aceito), pendentes.stream().map(JournalIngestao.Entrada::id).toList());
+        assertEquals(1, reaberto.getPendentes());
+        reaberto.close();
+    }
+
+    @Test
+    void deveManterPendenteERetentarQuandoAFalhaForTransitoria() throws Exception {
+        // Arrange: o banco recusa as duas primeiras gravações (lote e individual) e depois volta
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(clienteRepository.saveAll(anyList())).thenThrow(new CannotAcquireLockException("lock timeout"));
+        when(clienteRepository.save(any(Cliente.class)))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenAnswer(invocation -> {
+                    Cliente cliente = invocation.getArgument(0);
+                    cliente.setId(42L);
+                    return cliente;
+                });
+        StatusIngestaoDTO status = fila.enfileirar(novoDTO("111.111.112-00"));
+
+        // Act
+        fila.iniciar();
+
+        // Assert: não é rejeitado; volta para a fila e grava na retentativa
+        StatusIngestaoDTO concluido = aguardarConclusao(status.getId());
+        assertEquals(StatusIngestaoDTO.Situacao.GRAVADO, concluido.getSituacao());
+        assertEquals(42L, concluido.getClienteId());
+        verify(clienteRepository, times(2)).save(any(Cliente.class));
+        aguardarJournalVazio();
+    }
+
+    @Test
+    void deveRejeitarQuandoORegistroViolaConstraint() throws Exception {
+        // Arrange
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(clienteRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("cpf duplicado"));
+        when(clienteRepository.save(any(Cliente.class))).thenThrow(new DataIntegrityViolationException("cpf duplicado"));
+        StatusIngestaoDTO status = fila.enfileirar(novoDTO("111.111.112-00"));
+
+        // Act
+        fila.iniciar();
+
+        // Assert: erro do próprio registro não é retentado
+        StatusIngestaoDTO concluido = aguardarConclusao(status.getId());
+        assertEquals(StatusIngestaoDTO.Situacao.REJEITADO, concluido.getSituacao());
+        assertTrue(concluido.getErro().contains("cpf duplicado"));
+        verify(clienteRepository, times(1)).save(any(Cliente.class));
+    }
+
+    @Test
+    void deveConcluirPedidoMesmoQuandoOJournalFalhaAposOCommit() throws Exception {
+        // Arrange: a primeira escrita das conclusões no journal falha depois do commit no banco
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        JournalIngestao journal = spy((JournalIngestao) ReflectionTestUtils.getField(fila, "journal"));
+        doThrow(new UncheckedIOException(new IOException("disco cheio"))).doCallRealMethod()
+                .when(journal).registrarConcluidos(anyList());
+        ReflectionTestUtils.setField(fila, "journal", journal);
+        StatusIngestaoDTO status = fila.enfileirar(novoDTO("111.111.112-00"));
+
+        // Act
+        fila.iniciar();
+
+        // Assert: a situação não fica presa em PENDENTE e a conclusão chega ao journal na volta seguinte
+        assertEquals(StatusIngestaoDTO.Situacao.GRAVADO, aguardarConclusao(status.getId()).getSituacao());
+        aguardarJournalVazio();
+        verify(journal, atLeast(2)).registrarConcluidos(anyList());
+    }
+
+    @Test
+    void deveClassificarErrosDoRegistroEFalhasTransitorias() {
+        // Assert
+        assertTrue(FilaIngestaoClientes.erroDoRegistro(new DataIntegrityViolationException("unique")));
+        assertTrue(FilaIngestaoClientes.erroDoRegistro(new TransactionSystemException("commit",
+                new ConstraintViolationException("nome vazio", Set.of()))));
+        assertFalse(FilaIngestaoClientes.erroDoRegistro(new CannotAcquireLockException("deadlock")));
+        assertFalse(FilaIngestaoClientes.erroDoRegistro(new CannotCreateTransactionException("sem conexão")));
+    }
+
+    private StatusIngestaoDTO aguardarConclusao(UUID id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            StatusIngestaoDTO status = fila.buscarStatus(id);
+            if (status.getSituacao() != StatusIngestaoDTO.Situacao.PENDENTE) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Pedido " + id + " não foi concluído a tempo");
+    }
+
+    private void aguardarJournalVazio() throws InterruptedException {
+        for (int i = 0; i < 100 && fila.getPendentes() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, fila.getPendentes());
+    }
+
+    private FilaIngestaoClientes novaFila() throws Exception {
+        FilaIngestaoClientes nova = new FilaIngestaoClientes(2, 10, 1,
+                diretorio.resolve("ingestao.journal").toString(), Duration.ofMillis(10), Duration.ofMillis(50), objectMapper);
+        ReflectionTestUtils.setField(nova, "indiceUnicidade", indiceUnicidade);
+        ReflectionTestUtils.setField(nova, "clienteRepository", clienteRepository);
+        ReflectionTestUtils.setField(nova, "relatorioCache", mock(RelatorioCache.class));
+        ReflectionTestUtils.setField(nova, "eventosCliente", mock(EventosCliente.class));
+        ReflectionTestUtils.setField(nova, "transactionManager", transactionManager);
+        nova.recuperar();
+        return nova;
+    }
+
+    private ClienteComEnderecoDTO novoDTO(String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail(cpf + "@gmail.com");
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(cliente);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
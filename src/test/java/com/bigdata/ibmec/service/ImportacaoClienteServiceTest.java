@@ -0,0 +1,120 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ResultadoImportacaoDTO;
+import com.bigdata.ibmec.DTO.ResultadoRegistroDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ImportacaoClienteServiceTest {
+
+    @Autowired
+    private ImportacaoClienteService importacaoClienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    void deveImportarClientesEmLotes() throws Exception {
+        // Arrange (tamanho do lote nos testes é 2, então três registros geram dois lotes)
+        String arquivo = registro("Ana Souza", "ana@gmail.com", "111.111.112-00", "1990-01-01") + "\n"
+                + registro("Bruno Lima", "bruno@gmail.com", "222.222.223-03", "1985-06-10") + "\n"
+                + "\n"
+                + registro("Carla Dias", "carla@gmail.com", "333.333.334-14", "1970-12-31") + "\n";
+
+        // Act
+        ResultadoImportacaoDTO resultado = importar(arquivo);
+
+        // Assert
+        assertEquals(3, resultado.getTotalProcessados());
+        assertEquals(3, resultado.getTotalImportados());
+        assertEquals(0, resultado.getTotalRejeitados());
+        assertEquals(List.of(1, 2, 4), resultado.getRegistros().stream().map(ResultadoRegistroDTO::getLinha).toList());
+        assertEquals(3, clienteRepository.count());
+
+        Cliente ana = clienteRepository.findByCpf("111.111.112-00").orElseThrow();
+        assertEquals(ana.getId(), resultado.getRegistros().get(0).getClienteId());
+    }
+
+    @Test
+    void deveRejeitarRegistrosInvalidosSemInterromperImportacao() throws Exception {
+        // Arrange
+        String arquivo = "{ isto não é json\n"
+                + registro("Ana Souza", "email-invalido", "111.111.112-00", "1990-01-01") + "\n"
+                + registro("Menor Idade", "menor@gmail.com", "444.444.445-25", "2020-01-01") + "\n"
+                + registro("Bruno Lima", "bruno@gmail.com", "222.222.223-03", "1985-06-10") + "\n";
+
+        // Act
+        ResultadoImportacaoDTO resultado = importar(arquivo);
+
+        // Assert
+        assertEquals(4, resultado.getTotalProcessados());
+        assertEquals(1, resultado.getTotalImportados());
+        assertEquals(3, resultado.getTotalRejeitados());
+        assertTrue(resultado.getRegistros().get(0).getErros().get(0).startsWith("JSON inválido"));
+        assertTrue(resultado.getRegistros().get(1).getErros().stream().anyMatch(e -> e.contains("E-mail deve ser válido")));
+        assertEquals(List.of("O cliente deve ter pelo menos 18 anos."), resultado.getRegistros().get(2).getErros());
+        assertTrue(resultado.getRegistros().get(3).isImportado());
+        assertEquals(1, clienteRepository.count());
+    }
+
+    @Test
+    void deveIsolarRegistroDuplicadoDentroDoLote() throws Exception {
+        // Arrange: o segundo registro repete o CPF do primeiro e derruba a transação do lote
+        String arquivo = registro("Ana Souza", "ana@gmail.com", "111.111.112-00", "1990-01-01") + "\n"
+                + registro("Ana Copia", "copia@gmail.com", "111.111.112-00", "1990-01-01") + "\n";
+
+        // Act
+        ResultadoImportacaoDTO resultado = importar(arquivo);
+
+        // Assert
+        assertEquals(1, resultado.getTotalImportados());
+        assertEquals(1, resultado.getTotalRejeitados());
+        assertTrue(resultado.getRegistros().get(0).isImportado());
+        assertFalse(resultado.getRegistros().get(1).isImportado());
+        assertEquals(1, clienteRepository.count());
+    }
+
+    @Test
+    void deveRejeitarClienteJaCadastradoSemAbrirTransacaoDoLote() throws Exception {
+        // Arrange
+        importar(registro("Ana Souza", "ana@gmail.com", "111.111.112-00", "1990-01-01") + "\n");
+        String arquivo = registro("Ana Nova", "ana.nova@gmail.com", "111.111.112-00", "1990-01-01") + "\n"
+                + registro("Bruno Lima", "ana@gmail.com", "222.222.223-03", "1985-06-10") + "\n";
+
+        // Act
+        ResultadoImportacaoDTO resultado = importar(arquivo);
+
+        // Assert
+        assertEquals(0, resultado.getTotalImportados());
+        assertEquals(List.of("CPF já cadastrado"), resultado.getRegistros().get(0).getErros());
+        assertEquals(List.of("E-mail já cadastrado"), resultado.getRegistros().get(1).getErros());
+        assertEquals(1, clienteRepository.count());
+    }
+
+    private ResultadoImportacaoDTO importar(String arquivo) throws Exception {
+        return importacaoClienteService.importarNdjson(new ByteArrayInputStream(arquivo.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String registro(String nome, String email, String cpf, String dataNascimento) {
+        return "{\"cliente\":{\"nome\":\"" + nome + "\",\"email\":\"" + email + "\",\"cpf\":\"" + cpf
+                + "\",\"dataNascimento\":\"" + dataNascimento + "\",\"telefone\":\"(11) 91234-5678\"},"
+                + "\"endereco\":{\"rua\":\"Rua A\",\"numero\":\"123\",\"bairro\":\"Centro\",\"cidade\":\"São Paulo\","
+                + "\"estado\":\"SP\",\"cep\":\"01000-000\"}}";
+    }
+}
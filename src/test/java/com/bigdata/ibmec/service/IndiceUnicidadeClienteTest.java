@@ -0,0 +1,119 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.exceptions.CpfJaCadastradoException;
+import com.bigdata.ibmec.exceptions.EmailJaCadastradoException;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IndiceUnicidadeClienteTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IndiceUnicidadeCliente indiceUnicidade = new IndiceUnicidadeCliente(1000, 0.01);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clienteRepository.streamCpfs()).thenReturn(Stream.of("123.456.789-09"));
+        when(clienteRepository.streamEmails()).thenReturn(Stream.of("Joao.Silva@gmail.com"));
+        indiceUnicidade.aquecer();
+    }
+
+    @Test
+    void deveAceitarValoresNovosSemConsultarOBanco() {
+        // Act
+        indiceUnicidade.verificarDisponivel("987.654.321-00", "maria@gmail.com", null);
+
+        // Assert
+        verify(clienteRepository, never()).findByCpf(anyString());
+        verify(clienteRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void deveConfirmarNoBancoQuandoCpfPodeExistir() {
+        // Arrange
+        when(clienteRepository.findByCpf("123.456.789-09")).thenReturn(Optional.of(cliente(1L)));
+
+        // Act & Assert
+        assertThrows(CpfJaCadastradoException.class,
+                () -> indiceUnicidade.verificarDisponivel("123.456.789-09", "novo@gmail.com", null));
+    }
+
+    @Test
+    void deveDetectarEmailDuplicadoIgnorandoMaiusculas() {
+        // Arrange
+        when(clienteRepository.findByEmail("joao.silva@gmail.com")).thenReturn(Optional.of(cliente(1L)));
+
+        // Act & Assert
+        assertThrows(EmailJaCadastradoException.class,
+                () -> indiceUnicidade.verificarDisponivel("987.654.321-00", "joao.silva@gmail.com", null));
+    }
+
+    @Test
+    void devePermitirQueOProprioClienteMantenhaSeuCpf() {
+        // Arrange
+        when(clienteRepository.findByCpf("123.456.789-09")).thenReturn(Optional.of(cliente(1L)));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> indiceUnicidade.verificarDisponivel("123.456.789-09", null, 1L));
+    }
+
+    @Test
+    void deveConsiderarValoresRegistradosAposAquecimento() {
+        // Arrange
+        Cliente novo = cliente(2L);
+        novo.setCpf("555.555.556-36");
+        indiceUnicidade.registrar(novo);
+        when(clienteRepository.findByCpf("555.555.556-36")).thenReturn(Optional.of(novo));
+
+        // Act & Assert
+        assertThrows(CpfJaCadastradoException.class,
+                () -> indiceUnicidade.verificarDisponivel("555.555.556-36", null, null));
+    }
+
+    @Test
+    void deveManterTaxaDeFalsosPositivosProximaDaConfigurada() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar(String.format("%011d", i));
+        }
+
+        // Act
+        long falsosPositivos = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filtro.podeConter(String.format("%011d", i))) {
+                falsosPositivos++;
+            }
+        }
+
+        // Assert: todos os inseridos são encontrados e os falsos positivos ficam perto de 1%
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.podeConter(String.format("%011d", i)));
+        }
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    private Cliente cliente(Long id) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        return cliente;
+    }
+}
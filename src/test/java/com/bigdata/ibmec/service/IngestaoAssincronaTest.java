@@ -0,0 +1,106 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.DTO.StatusIngestaoDTO;
+import com.bigdata.ibmec.exceptions.CpfJaCadastradoException;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IngestaoAssincronaTest {
+
+    @Autowired
+    private FilaIngestaoClientes filaIngestaoClientes;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    void deveGravarPedidosEnfileiradosEmSegundoPlano() throws Exception {
+        // Act
+        UUID primeiro = filaIngestaoClientes.enfileirar(novoDTO("Ana Souza", "111.111.112-00")).getId();
+        UUID segundo = filaIngestaoClientes.enfileirar(novoDTO("Bruno Lima", "222.222.223-03")).getId();
+
+        // Assert
+        StatusIngestaoDTO statusPrimeiro = aguardarConclusao(primeiro);
+        StatusIngestaoDTO statusSegundo = aguardarConclusao(segundo);
+        assertEquals(StatusIngestaoDTO.Situacao.GRAVADO, statusPrimeiro.getSituacao());
+        assertEquals(StatusIngestaoDTO.Situacao.GRAVADO, statusSegundo.getSituacao());
+
+        Cliente ana = clienteRepository.findByCpf("111.111.112-00").orElseThrow();
+        assertEquals(ana.getId(), statusPrimeiro.getClienteId());
+        assertEquals(0, filaIngestaoClientes.getPendentes());
+    }
+
+    @Test
+    void deveRejeitarSoUmDosPedidosComCpfDuplicado() throws Exception {
+        // Act: em geral os dois chegam antes de qualquer gravação e a pré-checagem não vê o duplicado
+        UUID primeiro = filaIngestaoClientes.enfileirar(novoDTO("Ana Souza", "111.111.112-00")).getId();
+        UUID copia;
+        try {
+            copia = filaIngestaoClientes.enfileirar(novoDTO("Ana Copia", "111.111.112-00")).getId();
+        } catch (CpfJaCadastradoException e) {
+            // O trabalhador gravou o primeiro antes da cópia chegar: a pré-checagem já recusa na entrada
+            assertEquals(StatusIngestaoDTO.Situacao.GRAVADO, aguardarConclusao(primeiro).getSituacao());
+            assertEquals(1, clienteRepository.count());
+            return;
+        }
+
+        // Assert: com mais de um trabalhador, qualquer um dos dois pode gravar primeiro
+        List<StatusIngestaoDTO> statuses = List.of(aguardarConclusao(primeiro), aguardarConclusao(copia));
+        assertEquals(1, statuses.stream().filter(s -> s.getSituacao() == StatusIngestaoDTO.Situacao.GRAVADO).count());
+        StatusIngestaoDTO rejeitado = statuses.stream()
+                .filter(s -> s.getSituacao() == StatusIngestaoDTO.Situacao.REJEITADO)
+                .findFirst().orElseThrow();
+        assertNotNull(rejeitado.getErro());
+        assertEquals(1, clienteRepository.count());
+    }
+
+    private StatusIngestaoDTO aguardarConclusao(UUID id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            StatusIngestaoDTO status = filaIngestaoClientes.buscarStatus(id);
+            if (status.getSituacao() != StatusIngestaoDTO.Situacao.PENDENTE) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Pedido " + id + " não foi gravado a tempo");
+    }
+
+    private ClienteComEnderecoDTO novoDTO(String nome, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setEmail(nome.toLowerCase().replace(' ', '.') + "@gmail.com");
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(cliente);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
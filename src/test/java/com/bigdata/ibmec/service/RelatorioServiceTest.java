@@ -0,0 +1,111 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClientesPorEstadoDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.github.benmanes.caffeine.cache.Policy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RelatorioServiceTest {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cliente cliente;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+        cache().clear();
+
+        cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf("123.456.789-09");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.getEnderecos().add(novoEndereco(cliente, "SP"));
+        clienteRepository.save(cliente);
+    }
+
+    @Test
+    void deveResponderDoCacheSemConsultarOBanco() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<ClientesPorEstadoDTO> primeira = relatorioService.clientesPorEstado();
+        statistics.clear();
+
+        // Act
+        List<ClientesPorEstadoDTO> segunda = relatorioService.clientesPorEstado();
+
+        // Assert
+        assertSame(primeira, segunda);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deveInvalidarOsRelatoriosAoGravarEndereco() {
+        // Arrange
+        assertEquals(List.of(new ClientesPorEstadoDTO("SP", 1L)), relatorioService.clientesPorEstado());
+
+        // Act
+        enderecoService.adicionarEndereco(cliente.getId(), novoEndereco(null, "RJ"));
+
+        // Assert
+        assertNull(cache().get("estados"));
+        assertEquals(List.of(new ClientesPorEstadoDTO("RJ", 1L), new ClientesPorEstadoDTO("SP", 1L)),
+                relatorioService.clientesPorEstado());
+    }
+
+    @Test
+    void deveUsarTtlProprioMaisCurtoQueODosClientes() {
+        // Act
+        Policy.FixedExpiration<Object, Object> expiracao = cache().getNativeCache().policy().expireAfterWrite().orElseThrow();
+
+        // Assert
+        assertEquals(Duration.ofSeconds(30), expiracao.getExpiresAfter());
+    }
+
+    private CaffeineCache cache() {
+        return (CaffeineCache) cacheManager.getCache(RelatorioCache.NOME);
+    }
+
+    private Endereco novoEndereco(Cliente dono, String estado) {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("Cidade " + estado);
+        endereco.setEstado(estado);
+        endereco.setCep("01000-000");
+        endereco.setCliente(dono);
+        return endereco;
+    }
+}
@@ -0,0 +1,240 @@
+package com.bigdata.ibmec.service;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.repository.EnderecoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TransacaoServicosTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(ClienteCache.NOME).clear();
+        clienteRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void deveGravarClienteEEnderecoEmUmaTransacaoComUmFlush() {
+        // Act
+        clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+
+        // Assert: uma transação, um flush e apenas os dois inserts (sem merge/select do endereço)
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(1, statistics.getFlushCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void naoDeveDeixarClienteOrfaoQuandoEnderecoFalha() {
+        // Arrange: estado com mais de 2 caracteres estoura a coluna no banco, depois do insert do cliente
+        ClienteComEnderecoDTO dto = novoDTO("123.456.789-09", "SPX");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> clienteService.adicionarClienteComEndereco(dto));
+        assertEquals(0, clienteRepository.count());
+        assertEquals(0, enderecoRepository.count());
+    }
+
+    @Test
+    void deveLerSemFlushEmTransacaoSomenteLeitura() {
+        // Arrange
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+        statistics.clear();
+
+        // Act
+        clienteService.buscarClientePorId(cliente.getId());
+        assertEquals(1, enderecoService.listarEnderecosPorCliente(cliente.getId()).size());
+
+        // Assert
+        assertEquals(0, statistics.getFlushCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void deveAtualizarClienteComUmaLeituraEUmUpdate() {
+        // Arrange
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+        Cliente clienteAtualizado = novoDTO("123.456.789-09", "SP").getCliente();
+        clienteAtualizado.setNome("João Atualizado");
+        entityManagerFactory.getCache().evictAll();  // força a leitura no banco em vez do cache de segundo nível
+        statistics.clear();
+
+        // Act
+        clienteService.atualizarDadosCliente(cliente.getId(), clienteAtualizado);
+
+        // Assert: save() sobre entidade gerenciada não gera novo select, e o update sai no único flush
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(1, statistics.getFlushCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deveAvancarVersaoDoClienteAoAlterarEnderecos() {
+        // Arrange
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+        Long versaoInicial = clienteService.buscarVersao(cliente.getId());
+
+        // Act
+        Endereco endereco = enderecoService.adicionarEndereco(cliente.getId(), novoDTO("123.456.789-09", "RJ").getEndereco());
+        Long versaoAposInclusao = clienteService.buscarVersao(cliente.getId());
+        enderecoService.atualizarEndereco(endereco.getId(), novoDTO("123.456.789-09", "MG").getEndereco(), endereco.getVersao());
+        Long versaoAposAtualizacao = clienteService.buscarVersao(cliente.getId());
+
+        // Assert: o ETag do cliente (e da lista de endereços) muda junto com os endereços
+        assertEquals(0L, versaoInicial);
+        assertEquals(1L, versaoAposInclusao);
+        assertEquals(2L, versaoAposAtualizacao);
+        assertEquals(1L, enderecoRepository.findById(endereco.getId()).orElseThrow().getVersao());
+        assertEquals(2L, clienteRepository.findById(cliente.getId()).orElseThrow().getVersao());
+        cliente.setNome("João Atualizado");
+        assertEquals(3L, clienteService.atualizarDadosCliente(cliente.getId(), cliente, 2L).getVersao());
+    }
+
+    @Test
+    void deveAceitarEdicoesSimultaneasDeEnderecosDiferentesDoMesmoCliente() throws Exception {
+        // Arrange: cliente com dois endereços
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+        Endereco primeiro = cliente.getEnderecos().get(0);
+        Endereco segundo = enderecoService.adicionarEndereco(cliente.getId(), novoDTO("123.456.789-09", "RJ").getEndereco());
+        Long versaoInicial = clienteService.buscarVersao(cliente.getId());
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act: a segunda edição começa enquanto a primeira ainda não fez commit
+            Future<Endereco> segundaEdicao = transacao.execute(status -> {
+                enderecoService.atualizarEndereco(primeiro.getId(), novoDTO("123.456.789-09", "MG").getEndereco());
+                Future<Endereco> edicao = executor.submit(() ->
+                        enderecoService.atualizarEndereco(segundo.getId(), novoDTO("123.456.789-09", "ES").getEndereco()));
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return edicao;
+            });
+
+            // Assert: a segunda espera o lock da linha do cliente e grava em seguida, sem conflito de versão
+            assertEquals("ES", segundaEdicao.get(10, TimeUnit.SECONDS).getEstado());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(versaoInicial + 2, clienteService.buscarVersao(cliente.getId()));
+        assertEquals("MG", enderecoRepository.findById(primeiro.getId()).orElseThrow().getEstado());
+        assertEquals("ES", enderecoRepository.findById(segundo.getId()).orElseThrow().getEstado());
+    }
+
+    @Test
+    void deveOperarEnderecosEmLoteSemCarregarAListaDoCliente() {
+        // Arrange: a lista de endereços do cliente já está no cache de segundo nível
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("123.456.789-09", "SP"));
+        assertEquals(1, enderecoService.listarEnderecosPorCliente(cliente.getId()).size());
+        statistics.clear();
+
+        // Act
+        List<Endereco> novos = enderecoService.adicionarEnderecos(cliente.getId(), List.of(
+                novoDTO("123.456.789-09", "RJ").getEndereco(),
+                novoDTO("123.456.789-09", "MG").getEndereco(),
+                novoDTO("123.456.789-09", "ES").getEndereco()));
+
+        // Assert: o cliente lido travado (versão avançada só nele) e os inserts, sem ler a lista
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(3, statistics.getEntityInsertCount());
+        assertEquals(1L, clienteService.buscarVersao(cliente.getId()));
+        assertEquals(4, enderecoService.listarEnderecosPorCliente(cliente.getId()).size());
+
+        // Act: atualização em lote com uma consulta para todos os endereços
+        novos.forEach(endereco -> endereco.setCidade("Vitória"));
+        statistics.clear();
+        enderecoService.atualizarEnderecos(novos);
+
+        // Assert: os clientes dos endereços, o travamento deles e uma consulta para todos os endereços
+        assertEquals(3, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(3, statistics.getEntityUpdateCount());
+        assertEquals(2L, clienteService.buscarVersao(cliente.getId()));
+
+        // Act: remoção de todos os endereços do cliente
+        statistics.clear();
+        int removidos = enderecoService.deletarEnderecosDoCliente(cliente.getId());
+
+        // Assert: o cliente travado e o update da versão, a lista (do cache) e os DELETEs em um lote JDBC,
+        // sem operação em massa esvaziando as regiões de endereço e de cliente
+        assertEquals(4, removidos);
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(4, statistics.getEntityDeleteCount());
+        assertEquals(0, enderecoRepository.count());
+        assertTrue(enderecoService.listarEnderecosPorCliente(cliente.getId()).isEmpty());
+    }
+
+    private ClienteComEnderecoDTO novoDTO(String cpf, String estado) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado(estado);
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(cliente);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
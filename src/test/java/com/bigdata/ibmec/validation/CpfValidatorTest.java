@@ -0,0 +1,41 @@
+package com.bigdata.ibmec.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfValidatorTest {
+
+    @Test
+    void deveAceitarCpfComDigitosVerificadoresCorretos() {
+        // Act & Assert
+        assertEquals(CpfValidator.VALIDO, CpfValidator.verificar("529.982.247-25"));
+        // No primeiro dígito deste o resto é 10, que vira 0
+        assertEquals(CpfValidator.VALIDO, CpfValidator.verificar("123.456.789-09"));
+    }
+
+    @Test
+    void deveRecusarDigitosVerificadoresErrados() {
+        // Act & Assert
+        assertEquals(CpfValidator.DIGITOS_INVALIDOS, CpfValidator.verificar("123.456.789-00"));
+        assertEquals(CpfValidator.DIGITOS_INVALIDOS, CpfValidator.verificar("529.982.247-52"));
+    }
+
+    @Test
+    void deveRecusarSequenciaDeDigitosIguais() {
+        // Act & Assert: 111.111.111-11 fecha a conta, mas não é um CPF emitido
+        assertEquals(CpfValidator.DIGITOS_INVALIDOS, CpfValidator.verificar("111.111.111-11"));
+        assertEquals(CpfValidator.DIGITOS_INVALIDOS, CpfValidator.verificar("000.000.000-00"));
+    }
+
+    @Test
+    void deveRecusarFormatoInvalido() {
+        // Act & Assert
+        assertEquals(CpfValidator.FORMATO_INVALIDO, CpfValidator.verificar("12345678909"));
+        assertEquals(CpfValidator.FORMATO_INVALIDO, CpfValidator.verificar("123.456.789.09"));
+        assertEquals(CpfValidator.FORMATO_INVALIDO, CpfValidator.verificar("123.456.78a-09"));
+        assertEquals(CpfValidator.FORMATO_INVALIDO, CpfValidator.verificar(" 123.456.789-09"));
+        assertEquals(CpfValidator.FORMATO_INVALIDO, CpfValidator.verificar(""));
+        assertFalse(CpfValidator.valido(null));
+    }
+}
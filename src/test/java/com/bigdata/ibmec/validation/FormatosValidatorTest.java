@@ -0,0 +1,35 @@
+package com.bigdata.ibmec.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Telefone e CEP aceitam exatamente o que os @Pattern anteriores aceitavam
+class FormatosValidatorTest {
+
+    @Test
+    void deveAceitarTelefoneComOitoOuNoveDigitos() {
+        // Act & Assert
+        assertTrue(TelefoneValidator.valido("(11) 91234-5678"));
+        assertTrue(TelefoneValidator.valido("(11) 1234-5678"));
+    }
+
+    @Test
+    void deveRecusarTelefoneForaDoFormato() {
+        // Act & Assert
+        assertFalse(TelefoneValidator.valido("11912345678"));
+        assertFalse(TelefoneValidator.valido("(11)91234-5678"));
+        assertFalse(TelefoneValidator.valido("(11) 912345678"));
+        assertFalse(TelefoneValidator.valido("(1a) 91234-5678"));
+        assertFalse(TelefoneValidator.valido("(11) 123-45678"));
+    }
+
+    @Test
+    void deveValidarCep() {
+        // Act & Assert
+        assertTrue(CepValidator.valido("01000-000"));
+        assertFalse(CepValidator.valido("01000000"));
+        assertFalse(CepValidator.valido("0100-0000"));
+        assertFalse(CepValidator.valido("01000-00x"));
+    }
+}
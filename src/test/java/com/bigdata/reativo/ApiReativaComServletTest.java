@@ -0,0 +1,158 @@
+package com.bigdata.reativo;
+
+import com.bigdata.ibmec.DTO.ClienteComEnderecoDTO;
+import com.bigdata.ibmec.IbmecApplication;
+import com.bigdata.ibmec.model.Cliente;
+import com.bigdata.ibmec.model.Endereco;
+import com.bigdata.ibmec.model.EventoCliente;
+import com.bigdata.ibmec.model.TipoEventoCliente;
+import com.bigdata.ibmec.repository.ClienteRepository;
+import com.bigdata.ibmec.service.ClienteService;
+import com.bigdata.ibmec.service.EnderecoService;
+import com.bigdata.ibmec.service.EventoClienteService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// As duas aplicações lado a lado sobre a mesma base H2 em memória, cada uma vendo o que a outra grava
+@SpringBootTest(classes = IbmecApplication.class)
+class ApiReativaComServletTest {
+
+    private static ConfigurableApplicationContext reativa;
+    private static WebTestClient webTestClient;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EventoClienteService eventoClienteService;
+
+    @BeforeAll
+    static void iniciarReativa() {
+        // Mesmo banco jdbc:h2:mem:blog da aplicação servlet nos testes, com o esquema do Hibernate; os argumentos
+        // têm precedência sobre o reativo.properties dos testes, que aponta para um banco só da API reativa
+        reativa = new SpringApplicationBuilder(IbmecReativoApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reativo")
+                .run("--server.port=0",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///blog;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=admin", "--spring.r2dbc.password=admin",
+                        "--spring.sql.init.mode=never");
+        String porta = reativa.getEnvironment().getProperty("local.server.port");
+        webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + porta).build();
+    }
+
+    @AfterAll
+    static void pararReativa() {
+        reativa.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    void deveEnxergarNaApiReativaOQueAServletGravou() {
+        // Arrange
+        Cliente cliente = clienteService.adicionarClienteComEndereco(novoDTO("SP"));
+
+        // Act & Assert
+        webTestClient.get().uri("/clientes/{id}", cliente.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("João Silva")
+                .jsonPath("$.versao").isEqualTo(0)
+                .jsonPath("$.enderecos.length()").isEqualTo(1);
+
+        // Act: novo endereço pela servlet avança a versão do cliente
+        enderecoService.adicionarEndereco(cliente.getId(), novoDTO("RJ").getEndereco());
+
+        // Assert
+        webTestClient.get().uri("/clientes/{id}", cliente.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.versao").isEqualTo(1)
+                .jsonPath("$.enderecos.length()").isEqualTo(2)
+                .jsonPath("$.enderecos[1].estado").isEqualTo("RJ");
+
+        // Act: remoção pela servlet some também da reativa
+        clienteService.deletarCliente(cliente.getId());
+
+        // Assert
+        webTestClient.get().uri("/clientes/{id}", cliente.getId()).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deveEnxergarNaServletOQueAApiReativaGravouComOsEventosNaMesmaSequencia() {
+        // Arrange: um evento da servlet antes, para a reativa continuar o mesmo contador
+        Cliente daServlet = clienteService.adicionarClienteComEndereco(novoDTO("SP"));
+        ClienteComEnderecoDTO dto = novoDTO("RJ");
+        dto.getCliente().setCpf("529.982.247-25");
+        dto.getCliente().setEmail("maria.souza@gmail.com");
+
+        // Act
+        Long id = webTestClient.post().uri("/clientes").bodyValue(dto).exchange()
+                .expectStatus().isOk()
+                .expectBody(Cliente.class).returnResult().getResponseBody().getId();
+        webTestClient.post().uri("/enderecos/cliente/{id}", id).bodyValue(novoDTO("MG").getEndereco()).exchange()
+                .expectStatus().isOk();
+
+        // Assert: mesma linha, versão avançada no banco e eventos depois do da servlet
+        assertEquals(Optional.of(1L), clienteRepository.findVersaoById(id));
+        assertEquals(2, enderecoService.listarEnderecosPorCliente(id).size());
+        List<EventoCliente> eventos = eventoClienteService.buscarEventos(0, EventoClienteService.LIMITE_MAXIMO, null).getEventos();
+        List<EventoCliente> daReativa = eventos.stream().filter(evento -> evento.getClienteId().equals(id)).toList();
+        assertEquals(List.of(TipoEventoCliente.CLIENTE_CRIADO, TipoEventoCliente.ENDERECO_CRIADO),
+                daReativa.stream().map(EventoCliente::getTipo).toList());
+        EventoCliente criacaoServlet = eventos.stream()
+                .filter(evento -> evento.getClienteId().equals(daServlet.getId())).findFirst().orElseThrow();
+        assertTrue(daReativa.get(0).getId() > criacaoServlet.getId());
+
+        // Act & Assert: CPF já gravado pela servlet é recusado pela constraint do banco
+        webTestClient.post().uri("/clientes").bodyValue(novoDTO("SP")).exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    private ClienteComEnderecoDTO novoDTO(String estado) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@gmail.com");
+        cliente.setCpf("123.456.789-09");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado(estado);
+        endereco.setCep("01000-000");
+
+        ClienteComEnderecoDTO dto = new ClienteComEnderecoDTO();
+        dto.setCliente(cliente);
+        dto.setEndereco(endereco);
+        return dto;
+    }
+}
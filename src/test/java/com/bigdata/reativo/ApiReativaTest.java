@@ -0,0 +1,286 @@
+package com.bigdata.reativo;
+
+import com.bigdata.ibmec.Cpfs;
+import com.bigdata.reativo.model.Cliente;
+import com.bigdata.reativo.model.Endereco;
+import com.bigdata.reativo.repository.ClienteRepository;
+import com.bigdata.reativo.repository.EnderecoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// As leituras usam uma base populada pelos repositórios; as escritas passam pela API, com as regras e a outbox
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.config.name=reativo")
+class ApiReativaTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        enderecoRepository.deleteAll().then(clienteRepository.deleteAll())
+                .then(databaseClient.sql("DELETE FROM evento_cliente").then())
+                .block();
+    }
+
+    @Test
+    void deveBuscarClientePorIdComEnderecos() {
+        // Arrange
+        Cliente cliente = salvarCliente(1L, "João Silva", "123.456.789-09");
+        salvarEndereco(1L, cliente.getId(), "SP");
+
+        // Act & Assert
+        webTestClient.get().uri("/clientes/{id}", cliente.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("João Silva")
+                .jsonPath("$.versao").isEqualTo(0)
+                .jsonPath("$.dataCadastro").exists()
+                .jsonPath("$.enderecos.length()").isEqualTo(1)
+                .jsonPath("$.enderecos[0].cidade").isEqualTo("São Paulo");
+        webTestClient.get().uri("/clientes/{id}", 999_999L).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deveListarTodosEmFluxoComEnderecos() {
+        // Arrange
+        for (long i = 1; i <= 5; i++) {
+            salvarCliente(i, "Cliente " + i, Cpfs.gerar((int) i + 100));
+            salvarEndereco(i, i, "SP");
+        }
+
+        // Act
+        var clientes = webTestClient.get().uri("/clientes?tamanho=3")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Cliente.class)
+                .getResponseBody();
+
+        // Assert: em ordem de id, cada um já com o endereço
+        StepVerifier.create(clientes)
+                .assertNext(cliente -> {
+                    assertEquals("Cliente 1", cliente.getNome());
+                    assertEquals(1, cliente.getEnderecos().size());
+                })
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void deveListarEnderecosDoCliente() {
+        // Arrange
+        Cliente cliente = salvarCliente(1L, "João Silva", "123.456.789-09");
+        salvarEndereco(1L, cliente.getId(), "SP");
+        salvarEndereco(2L, cliente.getId(), "RJ");
+
+        // Act & Assert
+        webTestClient.get().uri("/enderecos/cliente/{id}", cliente.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].estado").isEqualTo("RJ");
+        webTestClient.get().uri("/enderecos/cliente/{id}", 999_999L).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deveCriarClienteComEnderecoEGravarOEventoNaOutbox() {
+        // Act
+        Cliente criado = criarCliente("João Silva", "123.456.789-09", LocalDate.of(1990, 1, 1), novoEndereco("SP"))
+                .expectStatus().isOk()
+                .expectBody(Cliente.class).returnResult().getResponseBody();
+
+        // Assert
+        assertNotNull(criado.getId());
+        webTestClient.get().uri("/clientes/{id}", criado.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.versao").isEqualTo(0)
+                .jsonPath("$.dataCadastro").exists()
+                .jsonPath("$.enderecos.length()").isEqualTo(1);
+        assertEquals(List.of("CLIENTE_CRIADO:" + criado.getId()), eventos());
+    }
+
+    @Test
+    void deveRecusarClienteMenorDeIdadeSemGravarNada() {
+        // Act & Assert: mesma regra e mesma resposta da API servlet
+        criarCliente("Ana Souza", "123.456.789-09", LocalDate.now().minusYears(17), novoEndereco("SP"))
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("O cliente deve ter pelo menos 18 anos.");
+        StepVerifier.create(clienteRepository.count()).expectNext(0L).verifyComplete();
+        assertEquals(List.of(), eventos());
+    }
+
+    @Test
+    void deveRecusarCpfTelefoneECepForaDoFormato() {
+        // Arrange
+        Endereco endereco = novoEndereco("SP");
+        endereco.setCep("01000000");
+
+        // Act & Assert
+        webTestClient.post().uri("/clientes")
+                .bodyValue(Map.of("cliente", Map.of(
+                                "nome", "João Silva",
+                                "email", "joao@gmail.com",
+                                "cpf", "12345678909",
+                                "dataNascimento", "1990-01-01",
+                                "telefone", "21999999999"),
+                        "endereco", endereco))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("CEP deve seguir o formato XXXXX-XXX; "
+                        + "CPF deve seguir o formato XXX.XXX.XXX-XX; Telefone deve seguir o formato (XX) XXXXX-XXXX");
+        StepVerifier.create(clienteRepository.count()).expectNext(0L).verifyComplete();
+    }
+
+    @Test
+    void deveRecusarCpfDuplicadoPelaConstraintDoBanco() {
+        // Arrange
+        criarCliente("João Silva", "123.456.789-09", LocalDate.of(1990, 1, 1), novoEndereco("SP")).expectStatus().isOk();
+
+        // Act & Assert: a transação inteira volta, inclusive o evento
+        criarCliente("João Copia", "123.456.789-09", LocalDate.of(1990, 1, 1), novoEndereco("SP"))
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        StepVerifier.create(clienteRepository.count()).expectNext(1L).verifyComplete();
+        assertEquals(1, eventos().size());
+    }
+
+    @Test
+    void deveAvancarVersaoDoClienteAoMudarEnderecos() {
+        // Arrange
+        Cliente criado = criarCliente("João Silva", "123.456.789-09", LocalDate.of(1990, 1, 1), novoEndereco("SP"))
+                .expectBody(Cliente.class).returnResult().getResponseBody();
+
+        // Act
+        Endereco novo = webTestClient.post().uri("/enderecos/cliente/{id}", criado.getId())
+                .bodyValue(novoEndereco("RJ"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Endereco.class).returnResult().getResponseBody();
+        webTestClient.put().uri("/enderecos/{id}", novo.getId())
+                .bodyValue(novoEndereco("MG"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri("/enderecos/{id}", novo.getId()).exchange()
+                .expectStatus().isNoContent();
+
+        // Assert
+        webTestClient.get().uri("/clientes/{id}", criado.getId()).exchange()
+                .expectBody()
+                .jsonPath("$.versao").isEqualTo(3)
+                .jsonPath("$.enderecos.length()").isEqualTo(1);
+        assertEquals(List.of("CLIENTE_CRIADO:" + criado.getId(), "ENDERECO_CRIADO:" + criado.getId(),
+                "ENDERECO_ATUALIZADO:" + criado.getId(), "ENDERECO_REMOVIDO:" + criado.getId()), eventos());
+        webTestClient.post().uri("/enderecos/cliente/{id}", 999_999L)
+                .bodyValue(novoEndereco("RJ"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deveAtualizarEDeletarCliente() {
+        // Arrange
+        Cliente criado = criarCliente("João Silva", "123.456.789-09", LocalDate.of(1990, 1, 1), novoEndereco("SP"))
+                .expectBody(Cliente.class).returnResult().getResponseBody();
+
+        // Act & Assert
+        webTestClient.put().uri("/clientes/{id}", criado.getId())
+                .bodyValue(Map.of("nome", "João Souza", "email", "joao@gmail.com", "cpf", "123.456.789-09",
+                        "dataNascimento", "1990-01-01"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("João Souza")
+                .jsonPath("$.versao").isEqualTo(1);
+        webTestClient.delete().uri("/clientes/{id}", criado.getId()).exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/clientes/{id}", criado.getId()).exchange()
+                .expectStatus().isNotFound();
+        StepVerifier.create(enderecoRepository.count()).expectNext(0L).verifyComplete();
+        assertEquals(List.of("CLIENTE_CRIADO:" + criado.getId(), "CLIENTE_ATUALIZADO:" + criado.getId(),
+                "CLIENTE_REMOVIDO:" + criado.getId()), eventos());
+        webTestClient.delete().uri("/clientes/{id}", criado.getId()).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private WebTestClient.ResponseSpec criarCliente(String nome, String cpf, LocalDate dataNascimento, Endereco endereco) {
+        Map<String, Object> cliente = Map.of(
+                "nome", nome,
+                "email", cpf.replaceAll("\\D", "") + "@gmail.com",
+                "cpf", cpf,
+                "dataNascimento", dataNascimento.toString());
+        return webTestClient.post().uri("/clientes")
+                .bodyValue(Map.of("cliente", cliente, "endereco", endereco))
+                .exchange();
+    }
+
+    // Eventos da outbox em ordem de posição, como tipo:cliente
+    private List<String> eventos() {
+        return databaseClient.sql("SELECT tipo, cliente_id FROM evento_cliente ORDER BY id")
+                .map(linha -> linha.get("tipo", String.class) + ":" + linha.get("cliente_id", Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    private Endereco novoEndereco(String estado) {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado(estado);
+        endereco.setCep("01000-000");
+        return endereco;
+    }
+
+    private Cliente salvarCliente(Long id, String nome, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNome(nome);
+        cliente.setEmail(cpf.replaceAll("\\D", "") + "@gmail.com");
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setDataCadastro(LocalDateTime.now());
+        return clienteRepository.save(cliente).block();
+    }
+
+    private Endereco salvarEndereco(Long id, Long clienteId, String estado) {
+        Endereco endereco = new Endereco();
+        endereco.setId(id);
+        endereco.setRua("Rua A");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado(estado);
+        endereco.setCep("01000-000");
+        endereco.setClienteId(clienteId);
+        return enderecoRepository.save(endereco).block();
+    }
+}
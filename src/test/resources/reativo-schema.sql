@@ -0,0 +1,41 @@
+-- Mesmo esquema que o Hibernate gera para a aplicação servlet (ddl-auto), usado pelos testes da API reativa
+CREATE SEQUENCE IF NOT EXISTS cliente_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS endereco_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS cliente (
+    id BIGINT PRIMARY KEY,
+    versao BIGINT DEFAULT 0 NOT NULL,
+    nome VARCHAR(100),
+    email VARCHAR(255) UNIQUE,
+    cpf VARCHAR(255) UNIQUE,
+    data_nascimento DATE,
+    telefone VARCHAR(255),
+    data_cadastro TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS endereco (
+    id BIGINT PRIMARY KEY,
+    versao BIGINT DEFAULT 0 NOT NULL,
+    rua VARCHAR(255),
+    numero VARCHAR(255),
+    bairro VARCHAR(100),
+    cidade VARCHAR(100),
+    estado VARCHAR(2),
+    cep VARCHAR(255),
+    cliente_id BIGINT REFERENCES cliente (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_endereco_cliente ON endereco (cliente_id);
+
+CREATE TABLE IF NOT EXISTS evento_cliente (
+    id BIGINT PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    cliente_id BIGINT NOT NULL,
+    endereco_id BIGINT,
+    criado_em TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS contador_eventos (
+    nome VARCHAR(50) PRIMARY KEY,
+    valor BIGINT NOT NULL
+);